@@ -0,0 +1,323 @@
+package eventmanager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Periodic, compressed backups of a {@link DatabaseHelper}: full snapshots plus deltas holding only the
+ * events that changed since the previous cycle, as reported on the store's {@link EventBus}.
+ * <p>
+ * Each file is a gzip-compressed serialized stream: a snapshot holds the event list, a delta the changed events
+ * and the IDs removed. Events are serialized under the store's monitor, compression and file I/O happen
+ * afterwards on the backup thread, and a cycle with no changes does nothing. Writes through
+ * {@link DatabaseHelper#saveEvents} are not announced, so they reach the backups only with the next snapshot.
+ */
+public class BackupManager {
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String DELTA_PREFIX = "delta-";
+    private static final String SUFFIX = ".gz";
+
+    private final DatabaseHelper databaseHelper;
+    private final Path directory;
+    private final int retainSnapshots;
+    private final int deltasPerSnapshot;
+    // Upper-cased IDs of events added, changed or removed since the last cycle
+    private final Set<String> dirtyIds = ConcurrentHashMap.newKeySet();
+    private final Runnable unsubscribe;
+    private ScheduledExecutorService executor;
+    private LocalDateTime lastStamp = LocalDateTime.MIN;
+    private int deltasSinceSnapshot = -1;
+
+    public BackupManager(DatabaseHelper databaseHelper) {
+        this(databaseHelper, Path.of("data", "backups"), 7, 24);
+    }
+
+    /**
+     * Keeps the newest {@code retainSnapshots} snapshots (and the deltas after them) and starts a fresh
+     * snapshot once {@code deltasPerSnapshot} deltas have accumulated, which bounds restore time.
+     */
+    public BackupManager(DatabaseHelper databaseHelper, Path directory, int retainSnapshots, int deltasPerSnapshot) {
+        if (retainSnapshots < 1 || deltasPerSnapshot < 1) {
+            throw new IllegalArgumentException("Backup retention and snapshot interval must be positive.");
+        }
+        this.databaseHelper = databaseHelper;
+        this.directory = directory;
+        this.retainSnapshots = retainSnapshots;
+        this.deltasPerSnapshot = deltasPerSnapshot;
+        this.unsubscribe = databaseHelper.getEventBus().subscribeAll(this::markDirty);
+    }
+
+    private void markDirty(DomainEvent change) {
+        dirtyIds.add(key(change.event().getEventId()));
+        if (change instanceof DomainEvent.EventUpdated updated && updated.previousId() != null) {
+            dirtyIds.add(key(updated.previousId()));
+        }
+    }
+
+    /**
+     * Runs a backup cycle every {@code period} on a background thread.
+     */
+    public synchronized void start(long period, TimeUnit unit) {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "event-backup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                runCycle();
+            } catch (IllegalStateException e) {
+                System.err.println("Backup failed: " + e.getMessage());
+            }
+        }, 0, period, unit);
+    }
+
+    /**
+     * Stops the schedule and writes whatever changed since the last cycle.
+     */
+    public void stop() {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = executor;
+            executor = null;
+        }
+        if (running != null) {
+            running.shutdown();
+            try {
+                running.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        unsubscribe.run();
+        runCycle();
+    }
+
+    /**
+     * Writes a snapshot when one is due, otherwise a delta of the changed events, otherwise nothing.
+     * Returns the file written, or {@code null}.
+     */
+    public synchronized Path runCycle() {
+        if (deltasSinceSnapshot < 0) {
+            deltasSinceSnapshot = listFiles(SNAPSHOT_PREFIX).isEmpty() ? deltasPerSnapshot : 0;
+        }
+        if (deltasSinceSnapshot >= deltasPerSnapshot) {
+            return snapshot();
+        }
+        byte[] payload;
+        Map<String, UniversityEvent> current = new LinkedHashMap<>();
+        synchronized (databaseHelper) {
+            if (dirtyIds.isEmpty()) {
+                return null;
+            }
+            for (String id : dirtyIds) {
+                current.put(id, databaseHelper.findEventById(id).orElse(null));
+            }
+            List<UniversityEvent> upserts = new ArrayList<>();
+            List<String> removedIds = new ArrayList<>();
+            current.forEach((id, event) -> {
+                if (event == null) {
+                    removedIds.add(id);
+                } else {
+                    upserts.add(event);
+                }
+            });
+            payload = serialize(new Delta(upserts, removedIds));
+            dirtyIds.removeAll(current.keySet());
+        }
+        Path file = write(DELTA_PREFIX, payload, current.keySet());
+        deltasSinceSnapshot++;
+        return file;
+    }
+
+    /**
+     * Writes a full snapshot now and prunes backups beyond the retention limit.
+     */
+    public synchronized Path snapshot() {
+        byte[] payload;
+        Set<String> covered;
+        synchronized (databaseHelper) {
+            covered = new HashSet<>(dirtyIds);
+            payload = serialize(databaseHelper.loadEvents());
+            dirtyIds.removeAll(covered);
+        }
+        Path file = write(SNAPSHOT_PREFIX, payload, covered);
+        deltasSinceSnapshot = 0;
+        prune();
+        return file;
+    }
+
+    /**
+     * Backup files, oldest first.
+     */
+    public List<Path> listBackups() {
+        List<Path> files = new ArrayList<>(listFiles(SNAPSHOT_PREFIX));
+        files.addAll(listFiles(DELTA_PREFIX));
+        files.sort((a, b) -> stampOf(a).compareTo(stampOf(b)));
+        return files;
+    }
+
+    /**
+     * Rebuilds the store as it was at {@code pointInTime}: the newest snapshot taken at or before it,
+     * with every later delta up to that moment applied in order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<UniversityEvent> restore(LocalDateTime pointInTime) {
+        Path base = null;
+        for (Path snapshot : listFiles(SNAPSHOT_PREFIX)) {
+            if (!stampOf(snapshot).isAfter(pointInTime)) {
+                base = snapshot;
+            }
+        }
+        if (base == null) {
+            throw new NoSuchElementException("No backup exists at or before " + pointInTime);
+        }
+        Map<String, UniversityEvent> events = new LinkedHashMap<>();
+        for (UniversityEvent event : (List<UniversityEvent>) read(base)) {
+            events.put(key(event.getEventId()), event);
+        }
+        LocalDateTime from = stampOf(base);
+        for (Path deltaFile : listFiles(DELTA_PREFIX)) {
+            LocalDateTime stamp = stampOf(deltaFile);
+            if (stamp.isAfter(from) && !stamp.isAfter(pointInTime)) {
+                Delta delta = (Delta) read(deltaFile);
+                delta.removedIds().forEach(events::remove);
+                delta.upserts().forEach(event -> events.put(key(event.getEventId()), event));
+            }
+        }
+        return new ArrayList<>(events.values());
+    }
+
+    private void prune() {
+        List<Path> snapshots = listFiles(SNAPSHOT_PREFIX);
+        if (snapshots.size() <= retainSnapshots) {
+            return;
+        }
+        LocalDateTime oldestKept = stampOf(snapshots.get(snapshots.size() - retainSnapshots));
+        try {
+            for (Path file : listBackups()) {
+                if (stampOf(file).isBefore(oldestKept)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to prune old backups", e);
+        }
+    }
+
+    /**
+     * Writes one backup file. If that fails, {@code covered} is marked dirty again so the next cycle still
+     * carries those changes.
+     */
+    private Path write(String prefix, byte[] payload, Set<String> covered) {
+        LocalDateTime stamp = LocalDateTime.now();
+        // File names must sort in write order even when two cycles land in the same millisecond
+        if (!stamp.isAfter(lastStamp)) {
+            stamp = lastStamp.plusNanos(1_000_000);
+        }
+        lastStamp = stamp;
+        Path file = directory.resolve(prefix + STAMP.format(stamp) + SUFFIX);
+        Path temp = directory.resolve(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream out = new FastGzipOutputStream(Files.newOutputStream(temp))) {
+                out.write(payload);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirtyIds.addAll(covered);
+            throw new IllegalStateException("Unable to write backup " + file.getFileName(), e);
+        }
+        return file;
+    }
+
+    private static byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to serialize backup", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object read(Path file) {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file));
+             ObjectInputStream ois = new ObjectInputStream(in)) {
+            return ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Unable to read backup " + file.getFileName(), e);
+        }
+    }
+
+    private List<Path> listFiles(String prefix) {
+        if (Files.notExists(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> {
+                String name = f.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to list backups", e);
+        }
+    }
+
+    private static LocalDateTime stampOf(Path file) {
+        String name = file.getFileName().toString();
+        String stamp = name.substring(name.indexOf('-') + 1, name.length() - SUFFIX.length());
+        return LocalDateTime.parse(stamp, STAMP);
+    }
+
+    private static String key(String eventId) {
+        return eventId.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Events present after the cycle's changes, and the IDs that no longer exist.
+     */
+    private record Delta(List<UniversityEvent> upserts, List<String> removedIds) implements Serializable {
+    }
+
+    /**
+     * Favours low CPU per cycle over the last few percent of compression.
+     */
+    private static class FastGzipOutputStream extends GZIPOutputStream {
+        FastGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 64 * 1024);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package eventmanager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks a full roster in through several simulated entrances at once, each scanning every badge,
+ * so most scans race another door for the same person.
+ * Usage: java -cp bin eventmanager.CheckInBenchmark [entrances] [participants]
+ */
+public class CheckInBenchmark {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int entrances = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int participants = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+
+        Path scratch = Files.createTempDirectory("checkin-bench");
+        DatabaseHelper databaseHelper = new DatabaseHelper(scratch.resolve("events.dat"));
+        UniversityEvent event = new UniversityEvent("EVT-0001", "Inter-Faculty Cultural Night",
+                LocalDate.now(), LocalTime.of(18, 0), "Bintumani Conference Center", "Sam", "Cultural Show");
+        for (int i = 1; i <= participants; i++) {
+            event.addParticipant(new Participant(String.format("PAR-%05d", i), "Guest " + i,
+                    Participant.ParticipantType.STUDENT));
+        }
+        databaseHelper.addEvent(event);
+        Path log = scratch.resolve("attendance.log");
+        CheckInDesk desk = new CheckInDesk(databaseHelper, log);
+        desk.checkIn("EVT-0001", "PAR-00001"); // opens the event outside the timed section
+
+        String[] badges = new String[participants];
+        for (int i = 0; i < participants; i++) {
+            badges[i] = String.format("PAR-%05d", i + 1);
+        }
+        AtomicLong admitted = new AtomicLong(1);
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int e = 0; e < entrances; e++) {
+            int offset = e * participants / entrances;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < participants; i++) {
+                    if (desk.checkIn("EVT-0001", badges[(offset + i) % participants]) == CheckInDesk.Result.CHECKED_IN) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        long scans = (long) entrances * participants;
+        System.out.printf("%d entrances, %d scans in %.1f ms: %.0f ns per scan, %d admitted once each (present %d)%n",
+                entrances, scans, elapsed / 1e6, (double) elapsed / scans, admitted.get(),
+                desk.getPresentCount("EVT-0001"));
+        desk.close();
+
+        CheckInDesk reopened = new CheckInDesk(databaseHelper, log);
+        System.out.println("After replaying " + Files.readAllLines(log).size() + " log lines: present "
+                + reopened.getPresentCount("EVT-0001") + " / " + reopened.getRegisteredCount("EVT-0001"));
+        reopened.close();
+    }
+}
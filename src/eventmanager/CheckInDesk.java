@@ -0,0 +1,476 @@
+package eventmanager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Door check-in for registered participants.
+ * <p>
+ * Each event opened for check-in gets a concurrent index from participant ID to a seat, and per occurrence a
+ * lock-free bitset of the seats present. A seat stands for one registration: a participant ID that is given
+ * up and later handed to someone else gets a new seat, so the newcomer does not inherit the old presence. A
+ * weekly series is checked in per week, against the occurrence on the day of the scan. A scan is a
+ * map lookup plus one compare-and-set, so any number of entrances can check people in concurrently. Rosters
+ * are kept in step through the store's {@link EventBus}, and each check-in is appended to an attendance log
+ * next to the store file by a background writer, leaving events.dat untouched.
+ */
+public class CheckInDesk {
+    private static final int PAGE_SEATS = 4096;
+    private static final int MAX_PAGES = 1024;
+    // Occurrence of an event without a date
+    private static final LocalDate NO_DATE = LocalDate.MIN;
+    // Placeholder for the occurrence of presence logged before occurrences were recorded
+    private static final LocalDate FIRST_OCCURRENCE = LocalDate.MAX;
+    // Queued by close() after the last real line; compared by identity
+    private static final String END_OF_LOG = new String("END");
+
+    public enum Result {
+        CHECKED_IN, ALREADY_PRESENT, NOT_REGISTERED, UNKNOWN_EVENT
+    }
+
+    private final DatabaseHelper databaseHelper;
+    private final Path logFile;
+    private final Map<String, Attendance> open = new ConcurrentHashMap<>();
+    // Presence replayed from the log for events not opened yet in this session: event, occurrence, identities
+    private final Map<String, Map<LocalDate, Set<String>>> logged = new HashMap<>();
+    private final BlockingQueue<String> logQueue = new LinkedBlockingQueue<>();
+    private final Thread logWriter;
+    private final Runnable unsubscribe;
+    private volatile DayWindow dayWindow;
+
+    public CheckInDesk(DatabaseHelper databaseHelper) {
+        this(databaseHelper, databaseHelper.getDataFile().resolveSibling("attendance.log"));
+    }
+
+    public CheckInDesk(DatabaseHelper databaseHelper, Path logFile) {
+        this.databaseHelper = databaseHelper;
+        this.logFile = logFile;
+        replayLog();
+        EventBus bus = databaseHelper.getEventBus();
+        List<Runnable> subscriptions = List.of(
+                bus.subscribe(DomainEvent.ParticipantAdded.class, e -> withOpen(e.event().getEventId(),
+                        a -> a.register(e.participant().getParticipantId(), e.participant().getFullName()))),
+                bus.subscribe(DomainEvent.ParticipantRemoved.class, e -> withOpen(e.event().getEventId(),
+                        a -> a.unregister(e.participant().getParticipantId()))),
+                bus.subscribe(DomainEvent.EventUpdated.class, e -> {
+                    rename(e.previousId(), e.event().getEventId());
+                    // The date or recurrence may have changed
+                    withOpen(e.event().getEventId(), a -> a.today = null);
+                }),
+                bus.subscribe(DomainEvent.EventDeleted.class, e -> open.remove(key(e.event().getEventId()))));
+        this.unsubscribe = () -> subscriptions.forEach(Runnable::run);
+        this.logWriter = new Thread(this::writeLog, "attendance-log");
+        logWriter.setDaemon(true);
+        logWriter.start();
+    }
+
+    /**
+     * Marks {@code participantId} present at today's occurrence of {@code eventId}. Safe to call from any number
+     * of threads.
+     */
+    public Result checkIn(String eventId, String participantId) {
+        return checkIn(eventId, participantId, today());
+    }
+
+    /**
+     * Marks {@code participantId} present at the occurrence of {@code eventId} held on {@code day}, or else the
+     * latest one before it, so a late entry still counts for the session it belongs to.
+     */
+    public Result checkIn(String eventId, String participantId, LocalDate day) {
+        Attendance attendance = attendance(eventId);
+        if (attendance == null) {
+            return Result.UNKNOWN_EVENT;
+        }
+        Seat seat = attendance.seat(participantId);
+        if (seat == null) {
+            return Result.NOT_REGISTERED;
+        }
+        Presence presence = attendance.presenceFor(day);
+        if (!presence.markPresent(seat.slot)) {
+            return Result.ALREADY_PRESENT;
+        }
+        logQueue.add(Instant.now() + "," + attendance.eventId + presence.logText + seat.logText);
+        return Result.CHECKED_IN;
+    }
+
+    public boolean isPresent(String eventId, String participantId) {
+        return isPresent(eventId, participantId, today());
+    }
+
+    public boolean isPresent(String eventId, String participantId, LocalDate day) {
+        Attendance attendance = attendance(eventId);
+        Seat seat = attendance == null ? null : attendance.seat(participantId);
+        return seat != null && attendance.presenceFor(day).isPresent(seat.slot);
+    }
+
+    /**
+     * Name of a registered participant, for the door display; {@code null} if not registered.
+     */
+    public String nameOf(String eventId, String participantId) {
+        Attendance attendance = attendance(eventId);
+        Seat seat = attendance == null ? null : attendance.seat(participantId);
+        return seat == null ? null : seat.fullName;
+    }
+
+    public int getPresentCount(String eventId) {
+        return getPresentCount(eventId, today());
+    }
+
+    public int getPresentCount(String eventId, LocalDate day) {
+        Attendance attendance = attendance(eventId);
+        return attendance == null ? 0 : attendance.presenceFor(day).present.get();
+    }
+
+    public int getRegisteredCount(String eventId) {
+        Attendance attendance = attendance(eventId);
+        return attendance == null ? 0 : attendance.seats.size();
+    }
+
+    /**
+     * Stops listening to the store and waits until every log line queued so far is written.
+     */
+    public void close() throws InterruptedException {
+        unsubscribe.run();
+        logQueue.add(END_OF_LOG);
+        logWriter.join();
+    }
+
+    /**
+     * Today's date, looked up through the time zone only when the clock leaves the day last seen.
+     */
+    private LocalDate today() {
+        long now = System.currentTimeMillis();
+        DayWindow window = dayWindow;
+        if (window == null || now < window.startsAt || now >= window.endsAt) {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate day = LocalDate.now(zone);
+            window = new DayWindow(day, day.atStartOfDay(zone).toInstant().toEpochMilli(),
+                    day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+            dayWindow = window;
+        }
+        return window.day();
+    }
+
+    private Attendance attendance(String eventId) {
+        if (eventId == null) {
+            return null;
+        }
+        String key = key(eventId);
+        Attendance attendance = open.get(key);
+        return attendance != null ? attendance : openEvent(key);
+    }
+
+    /**
+     * Builds the seat index of an event from its roster and takes over any presence already in the log; done
+     * once per event.
+     */
+    private Attendance openEvent(String key) {
+        synchronized (databaseHelper) {
+            Attendance existing = open.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            UniversityEvent event = databaseHelper.findEventById(key).orElse(null);
+            if (event == null) {
+                return null;
+            }
+            Attendance attendance = new Attendance(event);
+            ParticipantRoster roster = event.roster();
+            for (int i = 0; i < roster.size(); i++) {
+                attendance.register(roster.idAt(i), roster.nameAt(i));
+            }
+            Map<LocalDate, Set<String>> present;
+            synchronized (logged) {
+                present = logged.remove(key);
+            }
+            if (present != null) {
+                present.forEach((day, identities) -> {
+                    LocalDate occurrence = day.equals(FIRST_OCCURRENCE) ? occurrenceKey(event.getDate()) : day;
+                    for (String identity : identities) {
+                        attendance.markLogged(occurrence, identity);
+                    }
+                });
+            }
+            open.put(key, attendance);
+            return attendance;
+        }
+    }
+
+    private void withOpen(String eventId, Consumer<Attendance> action) {
+        Attendance attendance = open.get(key(eventId));
+        if (attendance != null) {
+            action.accept(attendance);
+        }
+    }
+
+    private void rename(String previousId, String eventId) {
+        if (previousId == null || key(previousId).equals(key(eventId))) {
+            return;
+        }
+        Attendance attendance = open.remove(key(previousId));
+        if (attendance != null) {
+            attendance.eventId = eventId;
+            open.put(key(eventId), attendance);
+        }
+        synchronized (logged) {
+            Map<LocalDate, Set<String>> present = logged.remove(key(previousId));
+            if (present != null) {
+                logged.put(key(eventId), present);
+            }
+        }
+        logQueue.add(Instant.now() + "," + previousId + "," + eventId + ",RENAME");
+    }
+
+    /**
+     * Reads back the log. Lines are {@code time,event,occurrence,participant,identity,IN}; lines written before
+     * occurrences and identities were recorded ({@code time,event,participant,IN}) count for the first
+     * occurrence and match the participant ID alone.
+     */
+    private void replayLog() {
+        if (Files.notExists(logFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (parts.length == 6 && "IN".equals(parts[5])) {
+                    try {
+                        logPresence(parts[1], LocalDate.parse(parts[2]), parts[4]);
+                    } catch (DateTimeException e) {
+                        // a damaged line: skip it
+                    }
+                } else if (parts.length == 4 && "IN".equals(parts[3])) {
+                    logPresence(parts[1], FIRST_OCCURRENCE, key(parts[2]));
+                } else if (parts.length == 4 && "RENAME".equals(parts[3])) {
+                    Map<LocalDate, Set<String>> present = logged.remove(key(parts[1]));
+                    if (present != null) {
+                        logged.put(key(parts[2]), present);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read attendance log", e);
+        }
+    }
+
+    private void logPresence(String eventId, LocalDate occurrence, String identity) {
+        logged.computeIfAbsent(key(eventId), k -> new HashMap<>())
+                .computeIfAbsent(occurrence, d -> new HashSet<>())
+                .add(identity);
+    }
+
+    private void writeLog() {
+        List<String> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(logQueue.take());
+            } catch (InterruptedException e) {
+                // Only close() stops the writer, so a line is never abandoned half-written
+                continue;
+            }
+            logQueue.drainTo(batch);
+            running = !batch.removeIf(line -> line == END_OF_LOG);
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (String line : batch) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                System.err.println("Unable to append to attendance log: " + e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    private static LocalDate occurrenceKey(LocalDate date) {
+        return date == null ? NO_DATE : date;
+    }
+
+    private static String key(String id) {
+        return id.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * One registration: a participant ID held by one person, under a slot no other registration of the event
+     * uses in this session. The identity, the ID plus a hash of the name, tells a registration in the log apart
+     * from a later one reusing its ID.
+     */
+    private static final class Seat {
+        final int slot;
+        final String fullName;
+        final String identity;
+        // The participant part of a check-in line, built once instead of on every scan
+        final String logText;
+
+        Seat(int slot, String participantId, String fullName) {
+            this.slot = slot;
+            this.fullName = fullName;
+            this.identity = key(participantId) + "#" + Integer.toHexString(String.valueOf(fullName).hashCode());
+            this.logText = "," + participantId + "," + identity + ",IN";
+        }
+    }
+
+    private record DayWindow(LocalDate day, long startsAt, long endsAt) {
+    }
+
+    /**
+     * Occurrence that scans on a given day count for.
+     */
+    private record Today(LocalDate day, LocalDate occurrence) {
+    }
+
+    private static class Attendance {
+        // The store's instance, updated in place on edits
+        final UniversityEvent event;
+        volatile String eventId;
+        final Map<String, Seat> seats = new ConcurrentHashMap<>();
+        final AtomicInteger nextSlot = new AtomicInteger();
+        final Map<LocalDate, Presence> occurrences = new ConcurrentHashMap<>();
+        volatile Today today;
+
+        Attendance(UniversityEvent event) {
+            this.event = event;
+            this.eventId = event.getEventId();
+        }
+
+        Seat seat(String participantId) {
+            return participantId == null ? null : seats.get(key(participantId.trim()));
+        }
+
+        void register(String participantId, String fullName) {
+            if (participantId == null) {
+                return;
+            }
+            int slot = nextSlot.getAndIncrement();
+            if (slot < PAGE_SEATS * MAX_PAGES) {
+                seats.put(key(participantId), new Seat(slot, participantId, fullName));
+            }
+        }
+
+        void unregister(String participantId) {
+            Seat seat = participantId == null ? null : seats.remove(key(participantId));
+            if (seat != null) {
+                occurrences.values().forEach(presence -> presence.clear(seat.slot));
+            }
+        }
+
+        /**
+         * Presence at the occurrence held on {@code day}, or else the latest one before it; the occurrence is
+         * worked out once per day.
+         */
+        Presence presenceFor(LocalDate day) {
+            Today cached = today;
+            if (cached == null || !cached.day().equals(day)) {
+                LocalDate occurrence;
+                if (!event.isRecurring() || event.getDate() == null || !day.isAfter(event.getDate())) {
+                    occurrence = occurrenceKey(event.getDate());
+                } else {
+                    List<LocalDate> held = event.occurrencesBetween(event.getDate(), day);
+                    occurrence = held.get(held.size() - 1);
+                }
+                cached = new Today(day, occurrence);
+                today = cached;
+            }
+            return occurrences.computeIfAbsent(cached.occurrence(), Presence::new);
+        }
+
+        /**
+         * Replays a logged check-in; an identity without a name hash is from an old log and matches the ID alone.
+         */
+        void markLogged(LocalDate occurrence, String identity) {
+            int hash = identity.indexOf('#');
+            Seat seat = seats.get(hash < 0 ? identity : identity.substring(0, hash));
+            if (seat != null && (hash < 0 || seat.identity.equals(identity))) {
+                occurrences.computeIfAbsent(occurrence, Presence::new).markPresent(seat.slot);
+            }
+        }
+    }
+
+    /**
+     * Seats present at one occurrence, in pages of bits that are allocated on first use.
+     */
+    private static class Presence {
+        final LocalDate day;
+        final String logText;
+        final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(MAX_PAGES);
+        final AtomicInteger present = new AtomicInteger();
+
+        Presence(LocalDate day) {
+            this.day = day;
+            this.logText = "," + day;
+        }
+
+        boolean isPresent(int slot) {
+            AtomicLongArray page = pages.get(slot / PAGE_SEATS);
+            return page != null && (page.get((slot % PAGE_SEATS) >>> 6) & (1L << slot)) != 0;
+        }
+
+        /**
+         * Returns {@code false} if the seat was already present.
+         */
+        boolean markPresent(int slot) {
+            AtomicLongArray page = pages.get(slot / PAGE_SEATS);
+            if (page == null) {
+                pages.compareAndSet(slot / PAGE_SEATS, null, new AtomicLongArray(PAGE_SEATS / 64));
+                page = pages.get(slot / PAGE_SEATS);
+            }
+            int word = (slot % PAGE_SEATS) >>> 6;
+            long mask = 1L << slot;
+            long old;
+            do {
+                old = page.get(word);
+                if ((old & mask) != 0) {
+                    return false;
+                }
+            } while (!page.compareAndSet(word, old, old | mask));
+            present.incrementAndGet();
+            return true;
+        }
+
+        void clear(int slot) {
+            AtomicLongArray page = pages.get(slot / PAGE_SEATS);
+            if (page == null) {
+                return;
+            }
+            int word = (slot % PAGE_SEATS) >>> 6;
+            long mask = 1L << slot;
+            long old;
+            do {
+                old = page.get(word);
+                if ((old & mask) == 0) {
+                    return;
+                }
+            } while (!page.compareAndSet(word, old, old & ~mask));
+            present.decrementAndGet();
+        }
+    }
+}
@@ -1,74 +1,1384 @@
 package eventmanager;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Lightweight persistence layer that stores events on disk using Java serialization.
+ * Lightweight persistence layer that stores events on disk in the checksummed {@link EventFileFormat}.
+ * Files in the original Java serialization format are still read and are converted on the next save.
+ * <p>
+ * Several processes may share one file: every change runs under an exclusive lock on a sidecar
+ * {@code .lock} file and first catches up with saves made elsewhere, and {@link #reloadIfChanged()}
+ * (driven by a {@link StoreWatcher}) pulls in only the events another process changed.
  */
 public class DatabaseHelper {
     private static final String DATA_DIRECTORY = "data";
     private static final String DATA_FILE = DATA_DIRECTORY + "/events.dat";
+    // FileLock is held per JVM, so helpers in one process sharing a file must also take turns among themselves
+    private static final Map<Path, Object> PROCESS_LOCKS = new ConcurrentHashMap<>();
+    private static final Metrics.Timer LOAD_TIMER = Metrics.timer("store.load");
+    private static final Metrics.Timer SAVE_TIMER = Metrics.timer("store.save");
+    private static final Metrics.Timer RELOAD_TIMER = Metrics.timer("store.reload");
+    private static final Metrics.Timer QUERY_TIMER = Metrics.timer("store.query");
+    private static final Metrics.Timer CONFLICT_TIMER = Metrics.timer("store.conflictCheck");
+    private static final Metrics.Counter WAITLISTED = Metrics.counter("store.waitlisted");
+    private static final String VENUE_CAPACITY_PREFIX = "venue.capacity.";
+
+    /**
+     * Expected version that makes a compare-and-set operation skip the version check.
+     */
+    public static final long ANY_VERSION = -1;
+
+    // Venue and start time; only events in the same slot can clash
+    private record Slot(int venueCode, LocalTime time) {
+    }
+
+    private final Path dataFile;
+    // In-memory copy of the store, loaded on first use and kept in step with every save.
+    private List<UniversityEvent> events;
+    private long revision;
+    // The store in EventQuery.ORDER as of orderedRevision, so a page is a seek and a short scan
+    private List<UniversityEvent> ordered;
+    private long orderedRevision;
+    private RecoveryReport recoveryReport;
+    // Generation stamp of the file as this helper last read or wrote it, and the record checksums of that file
+    private long generation = -1;
+    private Map<String, Integer> checksums = new HashMap<>();
+    private int lockDepth;
+    private final EventBus eventBus = new EventBus();
+    private final SeatLedger seats = new SeatLedger();
+    // Single registrations decided by the ledger, waiting for the next holder of the store to save them together
+    private final Queue<Admission> admissions = new ConcurrentLinkedQueue<>();
+    // Fair, so a registrar that just saved cannot barge ahead and save its next registration alone
+    private final ReentrantLock admissionTurn = new ReentrantLock(true);
+    // Venue code to seats; venues without an entry have no limit
+    private final Map<Integer, Integer> venueCapacities = new ConcurrentHashMap<>();
+    // Seats of configured venues no event has used yet, by lower-cased name; moved to venueCapacities on first use
+    private final Map<String, Integer> pendingVenueCapacities = new ConcurrentHashMap<>();
 
     public DatabaseHelper() {
+        this(Path.of(DATA_FILE));
+    }
+
+    /**
+     * Uses the given file instead of {@code data/events.dat}, e.g. for scripted jobs and benchmarks.
+     */
+    public DatabaseHelper(Path dataFile) {
+        this.dataFile = dataFile;
         ensureStoragePresent();
+        registerGauges();
+    }
+
+    /**
+     * Constructor for subclasses that keep their events somewhere other than the local data file.
+     */
+    protected DatabaseHelper(boolean localStorage) {
+        this.dataFile = Path.of(DATA_FILE);
+        if (localStorage) {
+            ensureStoragePresent();
+            registerGauges();
+        }
+    }
+
+    private void registerGauges() {
+        Metrics.gauge("store.events", () -> {
+            synchronized (this) {
+                return events == null ? 0 : events.size();
+            }
+        });
+        Metrics.gauge("store.participants", () -> {
+            synchronized (this) {
+                return events == null ? 0 : events.stream().mapToLong(UniversityEvent::getParticipantCount).sum();
+            }
+        });
+        Metrics.gauge("store.fileBytes", this::fileSize);
+    }
+
+    private long fileSize() {
+        try {
+            return Files.size(dataFile);
+        } catch (IOException e) {
+            return -1;
+        }
     }
 
     private void ensureStoragePresent() {
         try {
-            Files.createDirectories(Path.of(DATA_DIRECTORY));
-            Path filePath = Path.of(DATA_FILE);
-            if (Files.notExists(filePath)) {
-                Files.createFile(filePath);
+            Path directory = dataFile.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            if (Files.notExists(dataFile)) {
+                Files.createFile(dataFile);
                 saveEvents(new ArrayList<>());
             }
+        } catch (FileAlreadyExistsException e) {
+            // another instance created it first
         } catch (IOException e) {
             throw new IllegalStateException("Unable to bootstrap local storage", e);
         }
     }
 
-    @SuppressWarnings("unchecked")
     public synchronized List<UniversityEvent> loadEvents() {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(DATA_FILE))) {
+        return new ArrayList<>(store());
+    }
+
+    /**
+     * Report from the last load that had to salvage a damaged file, or {@code null} if it loaded cleanly.
+     */
+    public synchronized RecoveryReport getRecoveryReport() {
+        store();
+        return recoveryReport;
+    }
+
+    /**
+     * Path of the file this helper stores its events in.
+     */
+    public Path getDataFile() {
+        return dataFile;
+    }
+
+    private List<UniversityEvent> readEvents() {
+        try {
+            generation = -1;
+            checksums = new HashMap<>();
+            if (Files.size(dataFile) == 0) {
+                return new ArrayList<>();
+            }
+            if (EventFileFormat.isLegacy(dataFile)) {
+                return readLegacyEvents();
+            }
+            List<UniversityEvent> loaded = new ArrayList<>();
+            Map<String, Integer> loadedChecksums = new HashMap<>();
+            long[] loadedGeneration = {-1};
+            RecoveryReport report = EventFileFormat.scan(dataFile, new EventFileFormat.Visitor() {
+                @Override
+                public void begin(long stamp) {
+                    loadedGeneration[0] = stamp;
+                }
+
+                @Override
+                public boolean wants(String eventId, int crc) {
+                    return true;
+                }
+
+                @Override
+                public void accept(UniversityEvent event, int crc) {
+                    loaded.add(event);
+                    loadedChecksums.put(key(event.getEventId()), crc);
+                }
+            });
+            if (report != null) {
+                recover(loaded, report);
+            } else {
+                generation = loadedGeneration[0];
+                checksums = loadedChecksums;
+            }
+            return loaded;
+        } catch (IOException e) {
+            // Never fall back to an empty list here: the next save would overwrite the user's data
+            throw new IllegalStateException("Unable to read " + dataFile, e);
+        }
+    }
+
+    /**
+     * Reads a file in the original Java serialization format; it is rewritten in the framed format on the next save.
+     */
+    @SuppressWarnings("unchecked")
+    private List<UniversityEvent> readLegacyEvents() throws IOException {
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(dataFile)))) {
             Object data = ois.readObject();
             if (data instanceof List<?>) {
                 return new ArrayList<>((List<UniversityEvent>) data);
             }
-            return new ArrayList<>();
-        } catch (IOException | ClassNotFoundException e) {
-            // If the file is empty or corrupted, start with a blank slate.
-            return new ArrayList<>();
+        } catch (ClassNotFoundException | IOException | ClassCastException e) {
+            // The legacy format cannot be salvaged record by record; keep the file aside for manual repair
         }
+        // The whole legacy stream is one unreadable record as far as the report is concerned
+        recover(new ArrayList<>(), new RecoveryReport(0, 1, -1, Files.size(dataFile), List.of(), null));
+        return new ArrayList<>();
+    }
+
+    /**
+     * Moves the damaged file aside and writes the salvaged events in its place.
+     */
+    private void recover(List<UniversityEvent> salvaged, RecoveryReport report) throws IOException {
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path quarantine = dataFile.resolveSibling(dataFile.getFileName() + ".corrupt-" + stamp);
+        Files.move(dataFile, quarantine, StandardCopyOption.REPLACE_EXISTING);
+        writeFile(salvaged);
+        recoveryReport = new RecoveryReport(report.recovered(), report.damaged(), report.expected(),
+                report.bytesSkipped(), report.lostEventIds(), quarantine);
+        System.err.println("Recovered damaged " + dataFile + ": " + recoveryReport);
     }
 
     public synchronized void saveEvents(List<UniversityEvent> events) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(DATA_FILE))) {
-            oos.writeObject(events);
-            oos.flush();
+        locked(() -> {
+            try {
+                writeFile(events);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to save events", e);
+            }
+            if (this.events != events) {
+                this.events = new ArrayList<>(events);
+            }
+            seats.syncAll(this.events, this::capacityOf);
+            revision++;
+            return null;
+        });
+    }
+
+    /**
+     * Replaces the whole store with {@code replacement} in one save. Unlike {@link #saveEvents}, which writes
+     * silently, events that stay keep their stored instance and every difference is announced on the bus;
+     * events whose saved record is unchanged are left alone.
+     */
+    public synchronized void replaceEvents(List<UniversityEvent> replacement) {
+        locked(() -> {
+            Set<String> present = new HashSet<>();
+            List<UniversityEvent> changed = new ArrayList<>();
+            for (UniversityEvent event : replacement) {
+                String id = key(event.getEventId());
+                if (!present.add(id)) {
+                    throw new IllegalArgumentException("Another event already uses the ID " + event.getEventId() + ".");
+                }
+                if (!Integer.valueOf(EventFileFormat.checksum(event)).equals(checksums.get(id))) {
+                    changed.add(event);
+                }
+            }
+            Map<String, UniversityEvent> held = byKey(store());
+            Undo undo = new Undo().keepMembers();
+            for (UniversityEvent event : changed) {
+                UniversityEvent current = held.get(key(event.getEventId()));
+                if (current != null) {
+                    undo.touch(current);
+                }
+            }
+            List<DomainEvent> notices = new ArrayList<>();
+            mergeFresh(held, changed, notices);
+            dropMissing(present, notices);
+            if (!notices.isEmpty()) {
+                save(undo);
+                notices.forEach(eventBus::publish);
+            }
+            return null;
+        });
+    }
+
+    private void writeFile(List<UniversityEvent> events) throws IOException {
+        // Count on from the file as well, in case this helper wrote without having loaded it
+        long onDisk = Files.exists(dataFile) ? EventFileFormat.readGeneration(dataFile) : -1;
+        long next = Math.max(Math.max(generation, onDisk), 0) + 1;
+        FlightEvents.Save flight = new FlightEvents.Save();
+        flight.begin();
+        long start = System.nanoTime();
+        try {
+            checksums = EventFileFormat.write(dataFile, events, next);
+        } finally {
+            SAVE_TIMER.record(System.nanoTime() - start);
+        }
+        generation = next;
+        if (flight.shouldCommit()) {
+            flight.events = events.size();
+            flight.bytes = fileSize();
+            flight.generation = next;
+            flight.commit();
+        }
+    }
+
+    /**
+     * Brings the in-memory list up to date with a save made by another process, decoding only the records
+     * whose checksum changed. Changed instances are updated in place and every difference is announced on
+     * the bus. Returns whether anything was reloaded.
+     */
+    public synchronized boolean reloadIfChanged() {
+        if (events == null) {
+            return false;
+        }
+        try {
+            if (EventFileFormat.readGeneration(dataFile) == generation) {
+                return false;
+            }
+            FlightEvents.Load flight = new FlightEvents.Load();
+            flight.begin();
+            long start = System.nanoTime();
+            boolean reloaded;
+            try {
+                reloaded = reloadChanged();
+            } finally {
+                RELOAD_TIMER.record(System.nanoTime() - start);
+            }
+            if (flight.shouldCommit()) {
+                flight.events = events.size();
+                flight.bytes = fileSize();
+                flight.incremental = true;
+                flight.commit();
+            }
+            return reloaded;
         } catch (IOException e) {
-            throw new IllegalStateException("Unable to save events", e);
+            throw new IllegalStateException("Unable to reload " + dataFile, e);
+        }
+    }
+
+    private boolean reloadChanged() throws IOException {
+        Map<String, UniversityEvent> held = byKey(events);
+        Map<String, Integer> found = new HashMap<>();
+        List<UniversityEvent> fresh = new ArrayList<>();
+        long[] stamp = {-1};
+        RecoveryReport report = EventFileFormat.scan(dataFile, new EventFileFormat.Visitor() {
+            @Override
+            public void begin(long fileGeneration) {
+                stamp[0] = fileGeneration;
+            }
+
+            @Override
+            public boolean wants(String eventId, int crc) {
+                String key = key(eventId);
+                found.put(key, crc);
+                return !held.containsKey(key) || !Integer.valueOf(crc).equals(checksums.get(key));
+            }
+
+            @Override
+            public void accept(UniversityEvent event, int crc) {
+                fresh.add(event);
+            }
+        });
+        if (report != null || stamp[0] < 0) {
+            // Not a clean framed file: go through the full load, which salvages and quarantines it
+            System.err.println("External change to " + dataFile + " could not be read incrementally; reloading it");
+            return reloadAll(held);
+        }
+        List<DomainEvent> notices = new ArrayList<>();
+        mergeFresh(held, fresh, notices);
+        dropMissing(found.keySet(), notices);
+        generation = stamp[0];
+        checksums = found;
+        seats.syncAll(events, this::capacityOf);
+        if (notices.isEmpty()) {
+            return false;
+        }
+        revision++;
+        notices.forEach(eventBus::publish);
+        return true;
+    }
+
+    /**
+     * Full load for a file the incremental path cannot read, salvaging and quarantining it if damaged. The result
+     * is still merged into {@code held} like an incremental reload, so callers keep their instances and every
+     * difference is announced; an event counts as changed when its record differs from the one last seen.
+     */
+    private boolean reloadAll(Map<String, UniversityEvent> held) {
+        Map<String, Integer> seen = checksums;
+        List<UniversityEvent> reloaded = readEvents();
+        Set<String> present = new HashSet<>();
+        List<UniversityEvent> changed = new ArrayList<>();
+        for (UniversityEvent event : reloaded) {
+            String key = key(event.getEventId());
+            present.add(key);
+            UniversityEvent current = held.get(key);
+            Integer was = seen.get(key);
+            if (current == null || EventFileFormat.checksum(event)
+                    != (was != null ? was : EventFileFormat.checksum(current))) {
+                changed.add(event);
+            }
+        }
+        List<DomainEvent> notices = new ArrayList<>();
+        mergeFresh(held, changed, notices);
+        dropMissing(present, notices);
+        seats.syncAll(events, this::capacityOf);
+        revision++;
+        notices.forEach(eventBus::publish);
+        return true;
+    }
+
+    /**
+     * Takes over {@code fresh} copies of events: a held event is updated in place, so callers keep working with
+     * the same instance, and an unknown one is appended. Every difference is added to {@code notices}.
+     */
+    private void mergeFresh(Map<String, UniversityEvent> held, Collection<UniversityEvent> fresh,
+                            List<DomainEvent> notices) {
+        for (UniversityEvent event : fresh) {
+            UniversityEvent current = held.get(key(event.getEventId()));
+            if (current == null) {
+                events.add(event);
+                notices.add(new DomainEvent.EventAdded(event));
+                continue;
+            }
+            // copyFrom swaps in a new roster, so the old one can still be read afterwards
+            ParticipantRoster before = current.roster();
+            ParticipantRoster after = event.roster();
+            Set<String> beforeIds = participantIds(before);
+            Set<String> afterIds = participantIds(after);
+            current.copyFrom(event);
+            current.nextVersion();
+            notices.add(new DomainEvent.EventUpdated(current, current.getEventId()));
+            for (int i = 0; i < before.size(); i++) {
+                if (!afterIds.contains(key(before.idAt(i)))) {
+                    notices.add(new DomainEvent.ParticipantRemoved(current, before.get(i)));
+                }
+            }
+            for (int i = 0; i < after.size(); i++) {
+                if (!beforeIds.contains(key(after.idAt(i)))) {
+                    notices.add(new DomainEvent.ParticipantAdded(current, after.get(i)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the held events whose upper-cased ID is not in {@code present}, with a notice for each.
+     */
+    private void dropMissing(Set<String> present, List<DomainEvent> notices) {
+        events.removeIf(event -> {
+            if (present.contains(key(event.getEventId()))) {
+                return false;
+            }
+            notices.add(new DomainEvent.EventDeleted(event));
+            return true;
+        });
+    }
+
+    private static Map<String, UniversityEvent> byKey(List<UniversityEvent> events) {
+        Map<String, UniversityEvent> byKey = new HashMap<>();
+        for (UniversityEvent event : events) {
+            byKey.put(key(event.getEventId()), event);
+        }
+        return byKey;
+    }
+
+    /**
+     * Runs {@code change} under the exclusive lock on the shared file, after catching up with any save another
+     * process made since this helper last read or wrote it. Nested calls reuse the lock already held.
+     */
+    private <T> T locked(Supplier<T> change) {
+        if (lockDepth > 0) {
+            return change.get();
+        }
+        Path lockFile = dataFile.resolveSibling(dataFile.getFileName() + ".lock");
+        synchronized (PROCESS_LOCKS.computeIfAbsent(lockFile.toAbsolutePath().normalize(), path -> new Object())) {
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Held until the channel is closed
+                channel.lock();
+                lockDepth++;
+                try {
+                    reloadIfChanged();
+                    return change.get();
+                } finally {
+                    lockDepth--;
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to lock " + dataFile, e);
+            }
+        }
+    }
+
+    private static Set<String> participantIds(ParticipantRoster roster) {
+        Set<String> ids = new HashSet<>(roster.size() * 2);
+        for (int i = 0; i < roster.size(); i++) {
+            ids.add(key(roster.idAt(i)));
         }
+        return ids;
+    }
+
+    private static String key(String eventId) {
+        return eventId == null ? "" : eventId.toUpperCase();
+    }
+
+    /**
+     * Bus on which every add, update, delete and registration is announced after it has been saved.
+     */
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Counter bumped on every save, so callers can cheaply tell whether the store changed.
+     */
+    public synchronized long getRevision() {
+        return revision;
     }
 
     public synchronized Optional<UniversityEvent> findEventById(String eventId) {
-        return loadEvents().stream()
+        return store().stream()
                 .filter(ev -> ev.getEventId().equalsIgnoreCase(eventId))
                 .findFirst();
     }
 
+    /**
+     * One page of the events matching {@code query}, in {@link EventQuery#ORDER}, starting after {@code cursor}
+     * ({@code null} for the first page). A sorted copy of the store is kept until the next save, so a page is a
+     * binary search for the cursor and a scan until it is full. The cursor is a position rather than an offset,
+     * so events added or removed between pages are not skipped twice.
+     */
+    public synchronized EventQuery.Page queryEvents(EventQuery query, String cursor) {
+        return QUERY_TIMER.time(() -> findPage(query, cursor));
+    }
+
+    private EventQuery.Page findPage(EventQuery query, String cursor) {
+        List<UniversityEvent> sorted = ordered();
+        int from = 0;
+        if (cursor != null) {
+            int found = Collections.binarySearch(sorted, EventQuery.parseCursor(cursor), EventQuery.ORDER);
+            from = found >= 0 ? found + 1 : -found - 1;
+        }
+        int size = query.getPageSize();
+        List<UniversityEvent> page = new ArrayList<>(Math.min(size, sorted.size() - from));
+        for (int i = from; i < sorted.size(); i++) {
+            UniversityEvent event = sorted.get(i);
+            if (!query.test(event)) {
+                continue;
+            }
+            if (page.size() == size) {
+                // One more match: another page follows
+                return new EventQuery.Page(page, EventQuery.cursorOf(page.get(size - 1)));
+            }
+            page.add(event);
+        }
+        return new EventQuery.Page(page, null);
+    }
+
+    private List<UniversityEvent> ordered() {
+        List<UniversityEvent> current = store();
+        if (ordered == null || orderedRevision != revision) {
+            ordered = new ArrayList<>(current);
+            ordered.sort(EventQuery.ORDER);
+            orderedRevision = revision;
+        }
+        return ordered;
+    }
+
+    /**
+     * Every event matching {@code query}, fetched a page at a time as the stream is consumed.
+     */
+    public Stream<UniversityEvent> streamEvents(EventQuery query) {
+        Iterator<UniversityEvent> pages = new Iterator<>() {
+            private Iterator<UniversityEvent> current = Collections.emptyIterator();
+            private String cursor;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && !exhausted) {
+                    EventQuery.Page page = queryEvents(query, cursor);
+                    current = page.events().iterator();
+                    cursor = page.nextCursor();
+                    exhausted = !page.hasMore();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public UniversityEvent next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Roster of one event, for results of a query made {@link EventQuery#withoutParticipants()}.
+     */
+    public synchronized List<Participant> loadParticipants(String eventId) {
+        return List.copyOf(requireEvent(eventId).getParticipants());
+    }
+
     public synchronized boolean hasConflictingEvent(String eventId, java.time.LocalDate date, String venue) {
-        return loadEvents().stream()
-                .filter(ev -> !ev.getEventId().equalsIgnoreCase(eventId))
-                .anyMatch(ev -> ev.getVenue().equalsIgnoreCase(venue)
-                        && ev.getDate().equals(date));
+        int venueCode = Vocabulary.VENUES.find(venue);
+        if (venue != null && venueCode == Vocabulary.NONE) {
+            // No stored event is held at a venue the dictionary has never seen
+            return false;
+        }
+        FlightEvents.ClashCheck flight = new FlightEvents.ClashCheck();
+        flight.begin();
+        boolean conflict = CONFLICT_TIMER.time(() -> store().stream()
+                .filter(ev -> ev.getVenueCode() == venueCode && ev.occursOn(date))
+                .anyMatch(ev -> !ev.getEventId().equalsIgnoreCase(eventId)));
+        if (flight.shouldCommit()) {
+            flight.eventId = eventId;
+            flight.candidates = store().size();
+            flight.clash = conflict;
+            flight.commit();
+        }
+        return conflict;
     }
-}
 
+    public synchronized void addEvent(UniversityEvent event) {
+        locked(() -> {
+            if (findEventById(event.getEventId()).isPresent()) {
+                throw new IllegalArgumentException("Another event already uses this ID.");
+            }
+            checkSeries(event);
+            Undo undo = new Undo().keepMembers();
+            store().add(event);
+            save(undo);
+            eventBus.publish(new DomainEvent.EventAdded(event));
+            return null;
+        });
+    }
+
+    /**
+     * Adds several events with a single save; fails without changes if any ID is already taken.
+     */
+    public synchronized void addEvents(List<UniversityEvent> batch) {
+        locked(() -> {
+            Set<String> ids = new HashSet<>();
+            for (UniversityEvent event : batch) {
+                if (!ids.add(event.getEventId().toUpperCase()) || findEventById(event.getEventId()).isPresent()) {
+                    throw new IllegalArgumentException("Another event already uses the ID " + event.getEventId() + ".");
+                }
+                checkSeries(event);
+            }
+            Undo undo = new Undo().keepMembers();
+            store().addAll(batch);
+            save(undo);
+            batch.forEach(event -> eventBus.publish(new DomainEvent.EventAdded(event)));
+            return null;
+        });
+    }
+
+    /**
+     * Adds the events of {@code batch} that have an ID, name and date and neither reuse an ID nor clash with a
+     * stored event or an earlier event of the batch, with a single save. The result is aligned with
+     * {@code batch}: {@code null} for an added event, otherwise why it was left out.
+     */
+    public synchronized List<String> importEvents(List<UniversityEvent> batch) {
+        return locked(() -> {
+            List<String> problems = findImportProblems(store(), batch);
+            List<UniversityEvent> accepted = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                if (problems.get(i) == null) {
+                    accepted.add(batch.get(i));
+                }
+            }
+            if (!accepted.isEmpty()) {
+                Undo undo = new Undo().keepMembers();
+                store().addAll(accepted);
+                save(undo);
+                accepted.forEach(event -> eventBus.publish(new DomainEvent.EventAdded(event)));
+            }
+            return problems;
+        });
+    }
+
+    /**
+     * Screens an import against {@code stored} through an ID index and a venue/time slot index, so each
+     * incoming event is only compared with the events in its own slot.
+     */
+    static List<String> findImportProblems(Collection<UniversityEvent> stored, List<UniversityEvent> batch) {
+        FlightEvents.ClashCheck flight = new FlightEvents.ClashCheck();
+        flight.begin();
+        List<String> problems = CONFLICT_TIMER.time(() -> {
+            Set<String> ids = new HashSet<>(stored.size() + batch.size());
+            Map<Slot, List<UniversityEvent>> slots = new HashMap<>();
+            for (UniversityEvent event : stored) {
+                ids.add(key(event.getEventId()));
+                slots.computeIfAbsent(new Slot(event.getVenueCode(), event.getTime()), slot -> new ArrayList<>())
+                        .add(event);
+            }
+            List<String> found = new ArrayList<>(batch.size());
+            for (UniversityEvent event : batch) {
+                String missing = event.getEventId() == null || event.getEventId().isBlank() ? "no event ID"
+                        : event.getName() == null || event.getName().isBlank() ? "no name"
+                        : event.getDate() == null ? "no date" : null;
+                if (missing != null) {
+                    found.add(missing);
+                    continue;
+                }
+                if (ids.contains(key(event.getEventId()))) {
+                    found.add("ID " + event.getEventId() + " already in use");
+                    continue;
+                }
+                try {
+                    checkSeries(event);
+                } catch (IllegalArgumentException e) {
+                    found.add(e.getMessage());
+                    continue;
+                }
+                List<UniversityEvent> sameSlot = slots.computeIfAbsent(
+                        new Slot(event.getVenueCode(), event.getTime()), slot -> new ArrayList<>());
+                UniversityEvent clash = sameSlot.stream().filter(event::clashesWith).findFirst().orElse(null);
+                if (clash != null) {
+                    found.add("clashes with " + clash.getEventId() + " (" + clash.getName() + ") at "
+                            + clash.getVenue());
+                    continue;
+                }
+                ids.add(key(event.getEventId()));
+                sameSlot.add(event);
+                found.add(null);
+            }
+            return found;
+        });
+        if (flight.shouldCommit()) {
+            flight.eventId = "";
+            flight.candidates = stored.size();
+            flight.clash = problems.stream().anyMatch(Objects::nonNull);
+            flight.commit();
+        }
+        return problems;
+    }
+
+    /**
+     * Applies {@code change} to every event matching {@code filter} and saves once. Returns the changed events.
+     */
+    public synchronized List<UniversityEvent> updateMatching(Predicate<UniversityEvent> filter,
+                                                             Consumer<UniversityEvent> change) {
+        return locked(() -> {
+            List<UniversityEvent> changed = new ArrayList<>();
+            List<DomainEvent> notices = new ArrayList<>();
+            Undo undo = new Undo();
+            for (UniversityEvent event : store()) {
+                if (filter.test(event)) {
+                    String previousId = event.getEventId();
+                    undo.touch(event);
+                    change.accept(event);
+                    event.nextVersion();
+                    changed.add(event);
+                    notices.add(new DomainEvent.EventUpdated(event, previousId));
+                }
+            }
+            if (!changed.isEmpty()) {
+                save(undo);
+                notices.forEach(eventBus::publish);
+            }
+            return changed;
+        });
+    }
+
+    /**
+     * Copies the editable fields of {@code changes} onto the stored event and returns the stored instance.
+     */
+    public synchronized UniversityEvent updateEvent(String eventId, UniversityEvent changes) {
+        return updateEvent(eventId, ANY_VERSION, changes);
+    }
+
+    /**
+     * Compare-and-set form of {@link #updateEvent(String, UniversityEvent)}: writes only if the stored event is
+     * still at {@code expectedVersion}, otherwise throws {@link StaleEventException} and changes nothing.
+     * The check and the write happen under one short lock, so callers hold nothing while the user decides.
+     */
+    public synchronized UniversityEvent updateEvent(String eventId, long expectedVersion, UniversityEvent changes) {
+        return locked(() -> {
+            UniversityEvent target = requireEvent(eventId);
+            checkVersion(target, expectedVersion);
+            if (!target.getEventId().equalsIgnoreCase(changes.getEventId())
+                    && findEventById(changes.getEventId()).isPresent()) {
+                throw new IllegalArgumentException("Another event already uses this ID.");
+            }
+            checkSeries(changes);
+            Undo undo = new Undo();
+            undo.touch(target);
+            applyChanges(target, changes);
+            List<DomainEvent> notices = new ArrayList<>();
+            notices.add(new DomainEvent.EventUpdated(target, eventId));
+            fillFromWaitlist(target, notices);
+            save(undo);
+            notices.forEach(eventBus::publish);
+            return target;
+        });
+    }
+
+    /**
+     * Applies several edits as one change: each entry carries the ID and {@linkplain UniversityEvent#getVersion()
+     * version} of a stored event and the fields it should have, IDs themselves cannot be changed this way. The
+     * edited events are checked for venue clashes in one pass over a venue/time index, and either every edit is
+     * saved with a single write or, on a clash, unknown ID or {@linkplain StaleEventException stale version},
+     * none is. Returns the stored instances in the order given.
+     */
+    public synchronized List<UniversityEvent> updateEvents(List<UniversityEvent> changes) {
+        return locked(() -> {
+            Map<String, UniversityEvent> stored = new HashMap<>();
+            for (UniversityEvent event : store()) {
+                stored.put(key(event.getEventId()), event);
+            }
+            Map<String, UniversityEvent> edits = new LinkedHashMap<>();
+            for (UniversityEvent change : changes) {
+                String id = key(change.getEventId());
+                if (!stored.containsKey(id)) {
+                    throw new NoSuchElementException("No event with ID " + change.getEventId());
+                }
+                checkVersion(stored.get(id), change.getVersion());
+                if (edits.put(id, change) != null) {
+                    throw new IllegalArgumentException("Event " + change.getEventId() + " is edited twice.");
+                }
+                checkSeries(change);
+            }
+            String clash = findBulkClash(edits);
+            if (clash != null) {
+                throw new IllegalArgumentException(clash);
+            }
+            List<UniversityEvent> updated = new ArrayList<>(edits.size());
+            List<DomainEvent> notices = new ArrayList<>();
+            Undo undo = new Undo();
+            edits.forEach((id, change) -> {
+                UniversityEvent target = stored.get(id);
+                undo.touch(target);
+                applyChanges(target, change);
+                updated.add(target);
+                notices.add(new DomainEvent.EventUpdated(target, target.getEventId()));
+            });
+            for (UniversityEvent event : updated) {
+                fillFromWaitlist(event, notices);
+            }
+            if (!updated.isEmpty()) {
+                save(undo);
+                notices.forEach(eventBus::publish);
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * Describes the first clash an edited event would have with the store as it would be after the edits,
+     * or returns {@code null}.
+     */
+    private String findBulkClash(Map<String, UniversityEvent> edits) {
+        FlightEvents.ClashCheck flight = new FlightEvents.ClashCheck();
+        flight.begin();
+        String clash = CONFLICT_TIMER.time(() -> {
+            Map<Slot, List<UniversityEvent>> slots = new HashMap<>();
+            for (UniversityEvent event : store()) {
+                UniversityEvent after = edits.getOrDefault(key(event.getEventId()), event);
+                slots.computeIfAbsent(new Slot(after.getVenueCode(), after.getTime()), slot -> new ArrayList<>())
+                        .add(after);
+            }
+            for (UniversityEvent edited : edits.values()) {
+                for (UniversityEvent other : slots.get(new Slot(edited.getVenueCode(), edited.getTime()))) {
+                    if (other != edited && edited.clashesWith(other)) {
+                        return edited.getEventId() + " would clash with " + other.getEventId() + " ("
+                                + other.getName() + ") at " + other.getVenue() + ".";
+                    }
+                }
+            }
+            return null;
+        });
+        if (flight.shouldCommit()) {
+            flight.eventId = "";
+            flight.candidates = store().size();
+            flight.clash = clash != null;
+            flight.commit();
+        }
+        return clash;
+    }
+
+    private static void checkSeries(UniversityEvent event) {
+        if (event.isRecurring()) {
+            event.getRecurrence().checkStart(event.getDate());
+        }
+    }
+
+    private static void checkVersion(UniversityEvent event, long expectedVersion) {
+        if (expectedVersion != ANY_VERSION && event.getVersion() != expectedVersion) {
+            throw new StaleEventException(event.getEventId(), expectedVersion, event.getVersion());
+        }
+    }
+
+    private static void applyChanges(UniversityEvent target, UniversityEvent changes) {
+        target.setEventId(changes.getEventId());
+        target.setName(changes.getName());
+        target.setDate(changes.getDate());
+        target.setTime(changes.getTime());
+        target.setVenue(changes.getVenue());
+        target.setOrganizer(changes.getOrganizer());
+        target.setCategory(changes.getCategory());
+        target.setRecurrence(changes.getRecurrence());
+        target.setCapacity(changes.getCapacity());
+        target.nextVersion();
+    }
+
+    public synchronized void deleteEvent(String eventId) {
+        locked(() -> {
+            UniversityEvent target = requireEvent(eventId);
+            Undo undo = new Undo().keepMembers();
+            store().remove(target);
+            save(undo);
+            eventBus.publish(new DomainEvent.EventDeleted(target));
+            return null;
+        });
+    }
+
+    /**
+     * Deletes several events with a single save; fails without changes if any ID is unknown. Returns the
+     * deleted events.
+     */
+    public synchronized List<UniversityEvent> deleteEvents(Collection<String> eventIds) {
+        return locked(() -> {
+            Set<String> remaining = new HashSet<>();
+            for (String eventId : eventIds) {
+                remaining.add(key(eventId));
+            }
+            Set<UniversityEvent> doomed = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<UniversityEvent> deleted = new ArrayList<>(remaining.size());
+            for (UniversityEvent event : store()) {
+                if (remaining.remove(key(event.getEventId()))) {
+                    doomed.add(event);
+                    deleted.add(event);
+                }
+            }
+            if (!remaining.isEmpty()) {
+                throw new NoSuchElementException("No event with ID " + remaining.iterator().next());
+            }
+            if (!deleted.isEmpty()) {
+                Undo undo = new Undo().keepMembers();
+                store().removeIf(doomed::contains);
+                save(undo);
+                deleted.forEach(event -> eventBus.publish(new DomainEvent.EventDeleted(event)));
+            }
+            return deleted;
+        });
+    }
+
+    /**
+     * Registers a participant under the next free participant ID of the event, or puts them on its waitlist
+     * (with a {@value UniversityEvent#WAITLIST_ID_PREFIX} ID) when every seat is taken or others are already
+     * waiting.
+     */
+    public Participant registerParticipant(String eventId, String fullName, Participant.ParticipantType type) {
+        return registerParticipant(eventId, ANY_VERSION, fullName, type);
+    }
+
+    /**
+     * Compare-and-set form of {@link #registerParticipant(String, String, Participant.ParticipantType)}: fails
+     * with {@link StaleEventException} if the event moved on from {@code expectedVersion}.
+     * <p>
+     * Whether the registrant gets a seat or a waitlist place is decided by the lock-free {@link SeatLedger}
+     * before the store is locked. The registration is then queued, and whichever registrar holds the store next
+     * writes every queued registration with a single save, so concurrent registrars share one write instead of
+     * queuing for one each. A claimed seat is still checked against the roster under the lock, which keeps seats
+     * taken by other processes sharing the file from being sold twice.
+     */
+    public Participant registerParticipant(String eventId, long expectedVersion, String fullName,
+                                           Participant.ParticipantType type) {
+        if (!seats.isReady()) {
+            synchronized (this) {
+                store();
+            }
+        }
+        FlightEvents.Registration flight = new FlightEvents.Registration();
+        flight.begin();
+        Admission admission = new Admission(eventId, expectedVersion, fullName, type, seats.tryClaim(key(eventId)));
+        admissions.add(admission);
+        commitAdmissions(admission);
+        if (admission.failure != null) {
+            throw admission.failure;
+        }
+        Participant registered = admission.participant;
+        if (flight.shouldCommit()) {
+            flight.eventId = eventId;
+            flight.requested = 1;
+            flight.registered = registered.getParticipantId().startsWith(UniversityEvent.WAITLIST_ID_PREFIX) ? 0 : 1;
+            flight.commit();
+        }
+        return registered;
+    }
+
+    /**
+     * Writes every queued registration with one save, unless {@code own} was already written by the registrar
+     * that held the store before; either way it is settled when this returns. Registrars take turns in arrival
+     * order, so those already settled step aside before the next one drains, letting the queue fill meanwhile.
+     */
+    private void commitAdmissions(Admission own) {
+        if (Thread.holdsLock(this)) {
+            // Taking the turn now could deadlock with a registrar that has it and waits for this monitor
+            if (!own.settled) {
+                drainAdmissions();
+            }
+            return;
+        }
+        admissionTurn.lock();
+        try {
+            synchronized (this) {
+                if (!own.settled) {
+                    drainAdmissions();
+                }
+            }
+        } finally {
+            admissionTurn.unlock();
+        }
+    }
+
+    private void drainAdmissions() {
+        try {
+            locked(() -> {
+                List<Admission> batch = new ArrayList<>();
+                for (Admission admission; (admission = admissions.poll()) != null; ) {
+                    batch.add(admission);
+                }
+                List<DomainEvent> notices = new ArrayList<>();
+                Undo undo = new Undo();
+                for (Admission admission : batch) {
+                    try {
+                        UniversityEvent event = requireEvent(admission.eventId);
+                        checkVersion(event, admission.expectedVersion);
+                        if (event.hasParticipantNamed(admission.fullName) || event.isWaitlisted(admission.fullName)) {
+                            throw new IllegalArgumentException(
+                                    "This participant is already registered for this event.");
+                        }
+                        undo.touch(event);
+                        admission.participant = admit(event, admission.claimed, admission.fullName, admission.type,
+                                notices);
+                        event.nextVersion();
+                    } catch (RuntimeException e) {
+                        if (admission.claimed) {
+                            seats.release(key(admission.eventId));
+                        }
+                        admission.failure = e;
+                    }
+                }
+                batch.forEach(admission -> admission.settled = true);
+                if (!notices.isEmpty()) {
+                    try {
+                        save(undo);
+                    } catch (RuntimeException e) {
+                        // Rosters and seats are back as they were, so none of the batch was registered
+                        batch.forEach(admission -> admission.failure = e);
+                        return null;
+                    }
+                    notices.forEach(eventBus::publish);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // The store could not be locked; nothing was drained, so fail what is queued rather than leave it
+            for (Admission admission; (admission = admissions.poll()) != null; ) {
+                if (admission.claimed) {
+                    seats.release(key(admission.eventId));
+                }
+                admission.failure = e;
+                admission.settled = true;
+            }
+        }
+    }
+
+    /**
+     * Saves the store; if the write fails, puts back what {@code undo} recorded before rethrowing, so memory
+     * keeps matching the file.
+     */
+    private void save(Undo undo) {
+        try {
+            saveEvents(store());
+        } catch (RuntimeException e) {
+            undo.restore();
+            throw e;
+        }
+    }
+
+    /**
+     * The in-memory state a change is about to alter. Events are {@linkplain #touch touched} before they are
+     * modified; the store's membership is only kept when {@linkplain #keepMembers asked for}, as that copies it.
+     */
+    private final class Undo {
+        private final Map<UniversityEvent, UniversityEvent> before = new IdentityHashMap<>();
+        private List<UniversityEvent> members;
+
+        Undo keepMembers() {
+            members = new ArrayList<>(store());
+            return this;
+        }
+
+        void touch(UniversityEvent event) {
+            before.computeIfAbsent(event, UniversityEvent::snapshot);
+        }
+
+        void restore() {
+            before.forEach(UniversityEvent::restore);
+            if (members != null) {
+                events.clear();
+                events.addAll(members);
+            }
+            // Seats committed for roster entries that were just taken back are returned by the resync
+            seats.syncAll(events, DatabaseHelper.this::capacityOf);
+        }
+    }
+
+    /**
+     * A registration waiting to be written, and what became of it.
+     */
+    private static final class Admission {
+        final String eventId;
+        final long expectedVersion;
+        final String fullName;
+        final Participant.ParticipantType type;
+        final boolean claimed;
+        Participant participant;
+        RuntimeException failure;
+        boolean settled;
+
+        Admission(String eventId, long expectedVersion, String fullName, Participant.ParticipantType type,
+                  boolean claimed) {
+            this.eventId = eventId;
+            this.expectedVersion = expectedVersion;
+            this.fullName = fullName;
+            this.type = type;
+            this.claimed = claimed;
+        }
+    }
+
+    /**
+     * Registers a whole batch with a single save. The result is aligned with {@code batch}; an entry is
+     * {@code null} when that registration was rejected as a duplicate or for an unknown event, and carries a
+     * waitlist ID when the event was full.
+     */
+    public synchronized List<Participant> registerParticipants(List<Registration> batch) {
+        FlightEvents.Registration flight = new FlightEvents.Registration();
+        flight.begin();
+        List<Participant> result = locked(() -> {
+            List<Participant> registered = new ArrayList<>(batch.size());
+            List<DomainEvent> notices = new ArrayList<>();
+            Undo undo = new Undo();
+            for (Registration registration : batch) {
+                UniversityEvent event = findEventById(registration.eventId()).orElse(null);
+                if (event == null || event.hasParticipantNamed(registration.fullName())
+                        || event.isWaitlisted(registration.fullName())) {
+                    registered.add(null);
+                    continue;
+                }
+                undo.touch(event);
+                boolean claimed = seats.tryClaim(key(event.getEventId()));
+                registered.add(admit(event, claimed, registration.fullName(), registration.type(), notices));
+                event.nextVersion();
+            }
+            if (!notices.isEmpty()) {
+                save(undo);
+                notices.forEach(eventBus::publish);
+            }
+            return registered;
+        });
+        if (flight.shouldCommit()) {
+            flight.eventId = "";
+            flight.requested = batch.size();
+            flight.registered = (int) result.stream()
+                    .filter(p -> p != null && !p.getParticipantId().startsWith(UniversityEvent.WAITLIST_ID_PREFIX))
+                    .count();
+            flight.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Seats the registrant with the seat {@code claimed} from the ledger if the roster confirms it and nobody is
+     * waiting ahead of them; otherwise returns the claim and puts them at the end of the waitlist.
+     */
+    private Participant admit(UniversityEvent event, boolean claimed, String fullName,
+                              Participant.ParticipantType type, List<DomainEvent> notices) {
+        String key = key(event.getEventId());
+        if (claimed && event.getWaitlist().isEmpty() && hasRoom(event)) {
+            Participant participant = new Participant(ParticipantRoster.formatId(event.nextParticipantNumber()),
+                    fullName, type);
+            event.addParticipant(participant);
+            seats.commit(key);
+            notices.add(new DomainEvent.ParticipantAdded(event, participant));
+            return participant;
+        }
+        if (claimed) {
+            seats.release(key);
+        }
+        Participant waiting = new Participant(
+                ParticipantRoster.formatId(UniversityEvent.WAITLIST_ID_PREFIX, event.nextWaitlistNumber()),
+                fullName, type);
+        event.addToWaitlist(waiting);
+        WAITLISTED.increment();
+        notices.add(new DomainEvent.Waitlisted(event, waiting));
+        // A seat given back by a rejected registration may be free for the head of the queue, possibly this one
+        int from = notices.size();
+        fillFromWaitlist(event, notices);
+        for (int i = from; i < notices.size(); i++) {
+            if (notices.get(i) instanceof DomainEvent.WaitlistPromoted promoted && promoted.waitlisted() == waiting) {
+                return promoted.participant();
+            }
+        }
+        return waiting;
+    }
+
+    /**
+     * Moves people from the head of the waitlist onto the roster while seats are free, each under a new
+     * participant ID.
+     */
+    private void fillFromWaitlist(UniversityEvent event, List<DomainEvent> notices) {
+        String key = key(event.getEventId());
+        seats.sync(key, event.getParticipantCount(), capacityOf(event));
+        while (!event.getWaitlist().isEmpty() && hasRoom(event) && seats.tryClaim(key)) {
+            Participant waiting = event.pollWaitlist();
+            Participant participant = new Participant(ParticipantRoster.formatId(event.nextParticipantNumber()),
+                    waiting.getFullName(), waiting.getType());
+            event.addParticipant(participant);
+            event.nextVersion();
+            seats.commit(key);
+            notices.add(new DomainEvent.ParticipantAdded(event, participant));
+            notices.add(new DomainEvent.WaitlistPromoted(event, waiting, participant));
+        }
+    }
+
+    private boolean hasRoom(UniversityEvent event) {
+        int capacity = capacityOf(event);
+        return capacity == 0 || event.getParticipantCount() < capacity;
+    }
+
+    /**
+     * Removes a participant, or takes a {@value UniversityEvent#WAITLIST_ID_PREFIX} ID off the waitlist. A seat
+     * freed on the roster goes to whoever has waited longest.
+     */
+    public synchronized void removeParticipant(String eventId, String participantId) {
+        locked(() -> {
+            UniversityEvent event = requireEvent(eventId);
+            Undo undo = new Undo();
+            undo.touch(event);
+            Participant participant = event.getParticipants().stream()
+                    .filter(p -> p.getParticipantId().equalsIgnoreCase(participantId))
+                    .findFirst()
+                    .orElse(null);
+            List<DomainEvent> notices = new ArrayList<>();
+            if (participant != null) {
+                event.removeParticipant(participant);
+                notices.add(new DomainEvent.ParticipantRemoved(event, participant));
+            } else {
+                Participant waiting = event.getWaitlist().stream()
+                        .filter(p -> p.getParticipantId().equalsIgnoreCase(participantId))
+                        .findFirst()
+                        .orElseThrow(() -> new NoSuchElementException("No participant with ID " + participantId));
+                event.removeFromWaitlist(participantId);
+                notices.add(new DomainEvent.LeftWaitlist(event, waiting));
+            }
+            fillFromWaitlist(event, notices);
+            event.nextVersion();
+            save(undo);
+            notices.forEach(eventBus::publish);
+            return null;
+        });
+    }
+
+    /**
+     * Seats the event offers: its own capacity if set, else that of its venue; 0 means no limit.
+     */
+    public int capacityOf(UniversityEvent event) {
+        if (event.getCapacity() > 0) {
+            return event.getCapacity();
+        }
+        Integer capacity = venueCapacities.get(event.getVenueCode());
+        if (capacity == null) {
+            if (pendingVenueCapacities.isEmpty() || event.getVenue() == null) {
+                return 0;
+            }
+            String name = event.getVenue().toLowerCase(Locale.ROOT);
+            capacity = pendingVenueCapacities.get(name);
+            if (capacity == null) {
+                return 0;
+            }
+            venueCapacities.put(event.getVenueCode(), capacity);
+            pendingVenueCapacities.remove(name, capacity);
+        }
+        return capacity;
+    }
+
+    /**
+     * Sets the seats of a venue for events that have no capacity of their own; 0 removes the limit. Rosters
+     * already above a lowered limit are kept, they just take nobody new.
+     */
+    public synchronized void setVenueCapacity(String venue, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        // Settings name venues that may never be used; they only enter the dictionary with an event
+        int venueCode = Vocabulary.VENUES.find(venue);
+        if (venueCode == Vocabulary.NONE) {
+            if (capacity == 0) {
+                pendingVenueCapacities.remove(venue.toLowerCase(Locale.ROOT));
+            } else {
+                pendingVenueCapacities.put(venue.toLowerCase(Locale.ROOT), capacity);
+            }
+        } else if (capacity == 0) {
+            venueCapacities.remove(venueCode);
+        } else {
+            venueCapacities.put(venueCode, capacity);
+        }
+        if (events != null) {
+            seats.syncAll(events, this::capacityOf);
+        }
+    }
+
+    /**
+     * Reads venue capacities from settings entries of the form {@code venue.capacity.<venue>=<seats>}.
+     */
+    public void setVenueCapacities(Properties settings) {
+        for (String name : settings.stringPropertyNames()) {
+            if (!name.startsWith(VENUE_CAPACITY_PREFIX)) {
+                continue;
+            }
+            String venue = name.substring(VENUE_CAPACITY_PREFIX.length());
+            try {
+                setVenueCapacity(venue, Integer.parseInt(settings.getProperty(name).trim()));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Ignoring " + name + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Seats still free at the event, read without waiting for the store; {@link Integer#MAX_VALUE} when it has
+     * no limit and -1 when the event is unknown or not loaded yet.
+     */
+    public int seatsLeft(String eventId) {
+        return seats.seatsLeft(key(eventId));
+    }
+
+    private UniversityEvent requireEvent(String eventId) {
+        return findEventById(eventId)
+                .orElseThrow(() -> new NoSuchElementException("No event with ID " + eventId));
+    }
+
+    private List<UniversityEvent> store() {
+        if (events == null) {
+            FlightEvents.Load flight = new FlightEvents.Load();
+            flight.begin();
+            events = LOAD_TIMER.time(this::readEvents);
+            seats.syncAll(events, this::capacityOf);
+            if (flight.shouldCommit()) {
+                flight.events = events.size();
+                flight.bytes = fileSize();
+                flight.recovered = recoveryReport != null;
+                flight.commit();
+            }
+        }
+        return events;
+    }
+}
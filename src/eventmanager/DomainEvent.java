@@ -0,0 +1,47 @@
+package eventmanager;
+
+/**
+ * Change notifications published by {@link DatabaseHelper} through its {@link EventBus}.
+ */
+public interface DomainEvent {
+
+    /**
+     * The event whose state changed.
+     */
+    UniversityEvent event();
+
+    record EventAdded(UniversityEvent event) implements DomainEvent {
+    }
+
+    /**
+     * {@code previousId} is the ID the event had before the update, which differs when the ID was edited.
+     */
+    record EventUpdated(UniversityEvent event, String previousId) implements DomainEvent {
+    }
+
+    record EventDeleted(UniversityEvent event) implements DomainEvent {
+    }
+
+    record ParticipantAdded(UniversityEvent event, Participant participant) implements DomainEvent {
+    }
+
+    record ParticipantRemoved(UniversityEvent event, Participant participant) implements DomainEvent {
+    }
+
+    /**
+     * The event was full and {@code participant} joined its waitlist.
+     */
+    record Waitlisted(UniversityEvent event, Participant participant) implements DomainEvent {
+    }
+
+    record LeftWaitlist(UniversityEvent event, Participant participant) implements DomainEvent {
+    }
+
+    /**
+     * {@code waitlisted} got a seat and is now on the roster as {@code participant}; published right after the
+     * {@link ParticipantAdded} for it.
+     */
+    record WaitlistPromoted(UniversityEvent event, Participant waitlisted, Participant participant)
+            implements DomainEvent {
+    }
+}
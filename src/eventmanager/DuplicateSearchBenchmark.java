@@ -0,0 +1,94 @@
+package eventmanager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Times likely-duplicate lookups in {@link ParticipantNameIndex} against a brute-force scan of every name.
+ * Usage: java -cp bin eventmanager.DuplicateSearchBenchmark [participants] [events]
+ */
+public class DuplicateSearchBenchmark {
+    private static final String[] FIRST = { "John", "Jon", "Maria", "Mariah", "Ahmed", "Achmed", "Wei", "Li",
+            "Sophie", "Sofie", "Lukas", "Lucas", "Anna", "Ana", "Mohammed", "Muhammad", "Katherine", "Catherine",
+            "Olga", "Pierre", "Sean", "Shaun", "Elena", "Helena", "Jose", "Giulia", "Fatima", "Yusuf", "Nina", "Tom" };
+    private static final String[] LAST = { "Smith", "Smyth", "Garcia", "Nguyen", "Mueller", "Muller", "Kowalski",
+            "Rossi", "Dubois", "Khan", "Chen", "Ivanova", "Johansson", "Silva", "Okafor", "Tanaka", "Murphy",
+            "Schmidt", "Schmitt", "Novak", "Costa", "Meyer", "Meier", "Haddad", "Jensen", "Brown", "Braun" };
+
+    public static void main(String[] args) {
+        int participants = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        int eventCount = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        Random random = new Random(7);
+
+        List<UniversityEvent> events = new ArrayList<>();
+        for (int i = 0; i < eventCount; i++) {
+            events.add(new UniversityEvent(String.format("EVT-%04d", i + 1), "Event " + i,
+                    LocalDate.of(2025, 1, 1).plusDays(i), LocalTime.of(10, 0), "Main Hall", "Organizer", "Seminar"));
+        }
+        for (int i = 0; i < participants; i++) {
+            String name = FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)] + " "
+                    + Integer.toString(random.nextInt(46_656), 36);
+            events.get(i % eventCount).addParticipant(new Participant(ParticipantRoster.formatId(i / eventCount + 1),
+                    name, Participant.ParticipantType.STUDENT));
+        }
+
+        long start = System.nanoTime();
+        ParticipantNameIndex index = new ParticipantNameIndex();
+        index.rebuild(events);
+        System.out.printf("indexed %,d names in %.0f ms%n", index.size(), (System.nanoTime() - start) / 1e6);
+
+        List<String> queries = new ArrayList<>();
+        for (UniversityEvent event : events.subList(0, Math.min(50, eventCount))) {
+            queries.add(misspell(event.getParticipants().get(0).getFullName(), random));
+        }
+        // warm-up, then timed rounds
+        for (int round = 0; round < 3; round++) {
+            for (String query : queries) {
+                index.findSimilar(query, null, 0.6, 5);
+            }
+        }
+        start = System.nanoTime();
+        int found = 0;
+        for (String query : queries) {
+            found += index.findSimilar(query, null, 0.6, 5).isEmpty() ? 0 : 1;
+        }
+        double indexedMillis = (System.nanoTime() - start) / 1e6 / queries.size();
+        start = System.nanoTime();
+        for (String query : queries) {
+            index.findSimilar(query, events.get(0), 0.6, 5);
+        }
+        double perEventMillis = (System.nanoTime() - start) / 1e6 / queries.size();
+
+        start = System.nanoTime();
+        for (String query : queries.subList(0, 5)) {
+            bruteForce(events, query);
+        }
+        double bruteMillis = (System.nanoTime() - start) / 1e6 / 5;
+
+        System.out.printf("queries=%d matched=%d%n", queries.size(), found);
+        System.out.printf("index, all events: %.2f ms per lookup%n", indexedMillis);
+        System.out.printf("index, one event:  %.2f ms per lookup%n", perEventMillis);
+        System.out.printf("brute force:       %.2f ms per lookup%n", bruteMillis);
+    }
+
+    // Drops one letter and doubles the spaces, the kind of slip the index should forgive
+    private static String misspell(String name, Random random) {
+        int drop = 1 + random.nextInt(name.length() - 2);
+        return (name.substring(0, drop) + name.substring(drop + 1)).replace(" ", "  ");
+    }
+
+    private static int bruteForce(List<UniversityEvent> events, String query) {
+        int hits = 0;
+        for (UniversityEvent event : events) {
+            for (Participant participant : event.getParticipants()) {
+                if (ParticipantNameIndex.similarity(query, participant.getFullName()) >= 0.6) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,245 @@
+package eventmanager;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Responsiveness monitor for the Event Dispatch Thread.
+ * <p>
+ * A replacement {@link EventQueue} times every dispatch; a watchdog thread samples the EDT's stack while a
+ * dispatch runs past the threshold and writes each stall, with its most frequent stacks, to a rolling log.
+ * The EDT itself only reads the clock and sets a few volatile fields per event; all I/O is on the watchdog.
+ * Time spent inside a nested event loop (a modal dialog waiting for the user) is not counted as a stall.
+ */
+public class EdtMonitor {
+    public static final long DEFAULT_THRESHOLD_MILLIS = 250;
+    public static final String THRESHOLD_PROPERTY = "ui.stall.threshold.ms";
+
+    private static final long SAMPLE_MILLIS = 20;
+    // A dispatch that never returns is logged once it has been stuck this long
+    private static final long HUNG_MILLIS = 5_000;
+    private static final long MAX_LOG_BYTES = 1024 * 1024;
+    private static final int STACK_DEPTH = 14;
+    private static final int STACKS_PER_STALL = 3;
+
+    private record Stall(long sequence, long millis, String event) {
+    }
+
+    private final long thresholdNanos;
+    private final Path logFile;
+    private final AtomicInteger stalls = new AtomicInteger();
+    private final Metrics.Counter stallCounter = Metrics.counter("ui.edtStalls");
+    private final ConcurrentLinkedQueue<Stall> finished = new ConcurrentLinkedQueue<>();
+    private volatile IntConsumer listener = count -> { };
+
+    // Written by the EDT around each dispatch, read by the watchdog
+    private volatile Thread edt;
+    private volatile long sequence;
+    private volatile long dispatchStart;
+    // EDT only: the dispatches in progress, outermost first; a start moves later by the time spent nested
+    private int depth;
+    private long issued;
+    private long[] starts = new long[4];
+    private long[] sequences = new long[4];
+
+    // Owned by the watchdog: stacks sampled during the dispatch numbered sampledSequence
+    private long sampledSequence = -1;
+    private final List<StackTraceElement[]> samples = new ArrayList<>();
+    private boolean hungLogged;
+
+    private EdtMonitor(long thresholdMillis, Path logFile) {
+        this.thresholdNanos = thresholdMillis * 1_000_000;
+        this.logFile = logFile;
+    }
+
+    /**
+     * Starts monitoring with the threshold from {@code settings} ({@value #THRESHOLD_PROPERTY}); returns
+     * {@code null} when the threshold is zero or negative, i.e. monitoring is switched off.
+     */
+    public static EdtMonitor install(java.util.Properties settings, Path logFile) {
+        long threshold;
+        try {
+            threshold = Long.parseLong(settings.getProperty(THRESHOLD_PROPERTY,
+                    Long.toString(DEFAULT_THRESHOLD_MILLIS)).trim());
+        } catch (NumberFormatException e) {
+            threshold = DEFAULT_THRESHOLD_MILLIS;
+        }
+        if (threshold <= 0) {
+            return null;
+        }
+        EdtMonitor monitor = new EdtMonitor(threshold, logFile);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(monitor.new MonitoringQueue());
+        Thread watchdog = new Thread(monitor::watch, "edt-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+        return monitor;
+    }
+
+    public int getStallCount() {
+        return stalls.get();
+    }
+
+    public long getThresholdMillis() {
+        return thresholdNanos / 1_000_000;
+    }
+
+    public Path getLogFile() {
+        return logFile;
+    }
+
+    /**
+     * {@code listener} receives the new stall count on the EDT after each stall.
+     */
+    public void setListener(IntConsumer listener) {
+        this.listener = listener;
+    }
+
+    private class MonitoringQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            int level = depth++;
+            if (level == starts.length) {
+                starts = Arrays.copyOf(starts, level * 2);
+                sequences = Arrays.copyOf(sequences, level * 2);
+            }
+            edt = Thread.currentThread();
+            long seq = ++issued;
+            long start = System.nanoTime();
+            starts[level] = start;
+            sequences[level] = seq;
+            sequence = seq;
+            dispatchStart = start;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                long end = System.nanoTime();
+                long took = end - starts[level];
+                depth = level;
+                if (level > 0) {
+                    // Back in the outer dispatch, which was waiting rather than working while this one ran
+                    starts[level - 1] += end - start;
+                    sequence = sequences[level - 1];
+                    dispatchStart = starts[level - 1];
+                } else {
+                    dispatchStart = 0;
+                }
+                if (took >= thresholdNanos) {
+                    finished.add(new Stall(seq, took / 1_000_000, describe(event)));
+                    int count = stalls.incrementAndGet();
+                    stallCounter.increment();
+                    EventQueue.invokeLater(() -> listener.accept(count));
+                }
+            }
+        }
+
+        @Override
+        public AWTEvent getNextEvent() throws InterruptedException {
+            int level = depth;
+            if (level == 0) {
+                return super.getNextEvent();
+            }
+            // A modal loop waiting for input: the dispatch that opened it is idle too
+            long paused = System.nanoTime();
+            dispatchStart = 0;
+            try {
+                return super.getNextEvent();
+            } finally {
+                starts[level - 1] += System.nanoTime() - paused;
+                dispatchStart = starts[level - 1];
+            }
+        }
+    }
+
+    private void watch() {
+        while (true) {
+            try {
+                Thread.sleep(SAMPLE_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            // Finished stalls first, while the samples still belong to them
+            Stall stall;
+            while ((stall = finished.poll()) != null) {
+                write(stall);
+            }
+            long start = dispatchStart;
+            long seq = sequence;
+            Thread thread = edt;
+            if (start != 0 && thread != null && System.nanoTime() - start >= thresholdNanos) {
+                if (seq != sampledSequence) {
+                    sampledSequence = seq;
+                    samples.clear();
+                    hungLogged = false;
+                }
+                samples.add(thread.getStackTrace());
+                if (!hungLogged && System.nanoTime() - start >= HUNG_MILLIS * 1_000_000) {
+                    hungLogged = true;
+                    write(new Stall(seq, (System.nanoTime() - start) / 1_000_000, "a dispatch that has not returned yet"));
+                }
+            }
+        }
+    }
+
+    private void write(Stall stall) {
+        List<StackTraceElement[]> stacks = stall.sequence() == sampledSequence ? samples : List.of();
+        StringBuilder entry = new StringBuilder();
+        entry.append(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS)).append(" stall ").append(stall.millis()).append(" ms in ")
+                .append(stall.event()).append(" (").append(stacks.size()).append(" samples)")
+                .append(System.lineSeparator());
+        // Identical top-of-stack prefixes are merged, so the hot path is the first one listed
+        Map<List<StackTraceElement>, Integer> counts = new LinkedHashMap<>();
+        for (StackTraceElement[] stack : stacks) {
+            counts.merge(Arrays.asList(Arrays.copyOf(stack, Math.min(stack.length, STACK_DEPTH))), 1, Integer::sum);
+        }
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<List<StackTraceElement>, Integer>comparingByValue().reversed())
+                .limit(STACKS_PER_STALL)
+                .forEach(group -> {
+                    String prefix = String.format("  %3dx ", group.getValue());
+                    for (StackTraceElement frame : group.getKey()) {
+                        entry.append(prefix).append(frame).append(System.lineSeparator());
+                        prefix = "       ";
+                    }
+                });
+        try {
+            Path directory = logFile.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            if (Files.exists(logFile) && Files.size(logFile) > MAX_LOG_BYTES) {
+                Files.move(logFile, logFile.resolveSibling(logFile.getFileName() + ".1"),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(entry.toString());
+            }
+        } catch (IOException e) {
+            System.err.println("Unable to write " + logFile + ": " + e.getMessage());
+        }
+    }
+
+    private static String describe(AWTEvent event) {
+        Object source = event.getSource();
+        return event.getClass().getSimpleName() + " #" + event.getID()
+                + (source == null ? "" : " from " + source.getClass().getName());
+    }
+}
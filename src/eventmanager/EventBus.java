@@ -0,0 +1,48 @@
+package eventmanager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Synchronous, type-filtered publish/subscribe hub for {@link DomainEvent}s.
+ * Listeners run on the publishing thread; UI listeners hop to the EDT themselves.
+ */
+public class EventBus {
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a listener for one kind of domain event and returns a handle that removes it again.
+     */
+    public <T extends DomainEvent> Runnable subscribe(Class<T> type, Consumer<? super T> listener) {
+        Subscription<T> subscription = new Subscription<>(type, listener);
+        subscriptions.add(subscription);
+        return () -> subscriptions.remove(subscription);
+    }
+
+    public Runnable subscribeAll(Consumer<? super DomainEvent> listener) {
+        return subscribe(DomainEvent.class, listener);
+    }
+
+    public void publish(DomainEvent event) {
+        for (Subscription<?> subscription : subscriptions) {
+            subscription.deliver(event);
+        }
+    }
+
+    private static class Subscription<T extends DomainEvent> {
+        private final Class<T> type;
+        private final Consumer<? super T> listener;
+
+        Subscription(Class<T> type, Consumer<? super T> listener) {
+            this.type = type;
+            this.listener = listener;
+        }
+
+        void deliver(DomainEvent event) {
+            if (type.isInstance(event)) {
+                listener.accept(type.cast(event));
+            }
+        }
+    }
+}
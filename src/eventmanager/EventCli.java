@@ -0,0 +1,515 @@
+package eventmanager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Headless command-line front end over {@link DatabaseHelper} for scripted and nightly jobs.
+ * Never touches AWT or Swing.
+ */
+public class EventCli {
+    public static final int OK = 0;
+    public static final int PROBLEMS = 1;
+    public static final int USAGE = 2;
+
+    // Events per store write when importing a calendar
+    private static final int IMPORT_BATCH = 500;
+    private static final Set<String> COMMANDS = Set.of("import", "export", "reschedule", "schedule", "check", "stats",
+            "backup", "restore", "publish", "help");
+
+    private final PrintStream out;
+    private final PrintStream err;
+
+    public EventCli(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    public static void main(String[] args) {
+        System.exit(new EventCli(System.out, System.err).run(args));
+    }
+
+    /**
+     * Whether {@code args} name a CLI command rather than a GUI or service option.
+     */
+    public static boolean isCommand(String[] args) {
+        return args.length > 0 && COMMANDS.contains(args[0]);
+    }
+
+    public int run(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length == 0 || "help".equals(args[0])) {
+            printUsage(out);
+            return args.length == 0 ? USAGE : OK;
+        }
+        Map<String, String> options = new HashMap<>();
+        List<String> positional = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--")) {
+                if (i + 1 >= args.length) {
+                    err.println("Missing value for " + args[i]);
+                    return USAGE;
+                }
+                options.put(args[i].substring(2), args[++i]);
+            } else {
+                positional.add(args[i]);
+            }
+        }
+        try {
+            Path dataFile = Path.of(options.getOrDefault("data", "data/events.dat"));
+            DatabaseHelper databaseHelper = new DatabaseHelper(dataFile);
+            switch (args[0]) {
+                case "import":
+                    return isCalendar(positional, options)
+                            ? importCalendar(databaseHelper, positional, options)
+                            : importEvents(databaseHelper, positional);
+                case "export":
+                    return exportEvents(databaseHelper, positional, options);
+                case "reschedule":
+                    return reschedule(databaseHelper, options);
+                case "schedule":
+                    return schedule(databaseHelper, positional, options);
+                case "check":
+                    return check(databaseHelper);
+                case "stats":
+                    return stats(databaseHelper);
+                case "backup":
+                    return backup(backupsFor(databaseHelper, dataFile));
+                case "restore":
+                    return restore(databaseHelper, backupsFor(databaseHelper, dataFile), options);
+                case "publish":
+                    return publish(databaseHelper, positional);
+                default:
+                    printUsage(err);
+                    return USAGE;
+            }
+        } catch (IOException | RuntimeException e) {
+            err.println("Error: " + e.getMessage());
+            return PROBLEMS;
+        }
+    }
+
+    /**
+     * Adds the events of a JSON array, screened like a calendar import for missing fields, taken IDs and venue
+     * clashes; each record left out is reported with its position in the file.
+     */
+    private int importEvents(DatabaseHelper databaseHelper, List<String> positional) throws IOException {
+        if (positional.size() != 1) {
+            err.println("Usage: import <events.json>");
+            return USAGE;
+        }
+        int[] counts = new int[2];
+        Set<Integer> unreadable = new HashSet<>();
+        List<UniversityEvent> incoming = JsonCodec.readEvents(Files.readString(Path.of(positional.get(0)),
+                StandardCharsets.UTF_8), (reason, index) -> {
+                    err.println("Skipping record " + (index + 1) + ": " + reason);
+                    unreadable.add(index);
+                    counts[1]++;
+                });
+        List<UniversityEvent> batch = new ArrayList<>(IMPORT_BATCH);
+        List<String> sources = new ArrayList<>(IMPORT_BATCH);
+        int index = 0;
+        for (UniversityEvent event : incoming) {
+            while (unreadable.contains(index)) {
+                index++;
+            }
+            batch.add(event);
+            sources.add("record " + ++index + (event.getEventId() == null ? "" : " (" + event.getEventId() + ")"));
+            if (batch.size() == IMPORT_BATCH) {
+                flushImport(databaseHelper, batch, sources, counts);
+            }
+        }
+        flushImport(databaseHelper, batch, sources, counts);
+        out.println("Imported " + counts[0] + " event(s), skipped " + counts[1] + ".");
+        return counts[1] == 0 ? OK : PROBLEMS;
+    }
+
+    /**
+     * Streams the events of an iCalendar file into the store {@value #IMPORT_BATCH} at a time, each batch
+     * screened for taken IDs and venue clashes. Events that came from another system get the next free event
+     * IDs, skipping any the file itself uses further on; {@code --organizer} and {@code --category} fill in what
+     * the file leaves out.
+     */
+    private int importCalendar(DatabaseHelper databaseHelper, List<String> positional, Map<String, String> options)
+            throws IOException {
+        if (positional.size() != 1) {
+            err.println("Usage: import <calendar.ics> [--organizer <o>] [--category <c>]");
+            return USAGE;
+        }
+        Path file = Path.of(positional.get(0));
+        Set<String> ownIds = calendarIds(file);
+        int[] nextNumber = {nextEventNumber(databaseHelper)};
+        int[] counts = new int[2];
+        List<UniversityEvent> batch = new ArrayList<>(IMPORT_BATCH);
+        List<String> sources = new ArrayList<>(IMPORT_BATCH);
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ICalendarCodec.read(in, new ICalendarCodec.Visitor() {
+                @Override
+                public void accept(UniversityEvent event, String uid, int line) {
+                    if (event.getOrganizer() == null && options.containsKey("organizer")) {
+                        event.setOrganizer(options.get("organizer"));
+                    }
+                    if (event.getCategory() == null && options.containsKey("category")) {
+                        event.setCategory(options.get("category"));
+                    }
+                    String missing = event.getVenue() == null ? "LOCATION"
+                            : event.getOrganizer() == null ? "ORGANIZER (or --organizer)"
+                            : event.getCategory() == null ? "CATEGORIES (or --category)" : null;
+                    if (missing != null) {
+                        skip(line, uid, "no " + missing);
+                        return;
+                    }
+                    while (event.getEventId() == null) {
+                        String id = String.format("EVT-%04d", nextNumber[0]++);
+                        if (!ownIds.contains(id)) {
+                            event.setEventId(id);
+                        }
+                    }
+                    batch.add(event);
+                    sources.add(uid == null ? event.getEventId() : uid);
+                    if (batch.size() == IMPORT_BATCH) {
+                        flushImport(databaseHelper, batch, sources, counts);
+                    }
+                }
+
+                @Override
+                public void skip(int line, String uid, String reason) {
+                    err.println("Skipping " + (uid != null ? uid : "event ending on line " + line) + ": " + reason);
+                    counts[1]++;
+                }
+            });
+        }
+        flushImport(databaseHelper, batch, sources, counts);
+        out.println("Imported " + counts[0] + " event(s), skipped " + counts[1] + ".");
+        return counts[1] == 0 ? OK : PROBLEMS;
+    }
+
+    private void flushImport(DatabaseHelper databaseHelper, List<UniversityEvent> batch, List<String> sources,
+                             int[] counts) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> problems = databaseHelper.importEvents(batch);
+        for (int i = 0; i < problems.size(); i++) {
+            if (problems.get(i) == null) {
+                counts[0]++;
+            } else {
+                err.println("Skipping " + sources.get(i) + ": " + problems.get(i));
+                counts[1]++;
+            }
+        }
+        batch.clear();
+        sources.clear();
+    }
+
+    /**
+     * Upper-cased IDs the events of a calendar were exported under, so generated IDs can steer clear of them.
+     */
+    private static Set<String> calendarIds(Path file) throws IOException {
+        Set<String> ids = new HashSet<>();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ICalendarCodec.read(in, new ICalendarCodec.Visitor() {
+                @Override
+                public void accept(UniversityEvent event, String uid, int line) {
+                    if (event.getEventId() != null) {
+                        ids.add(event.getEventId().toUpperCase(Locale.ROOT));
+                    }
+                }
+
+                @Override
+                public void skip(int line, String uid, String reason) {
+                }
+            });
+        }
+        return ids;
+    }
+
+    /**
+     * One past the highest {@code EVT-} number in the store.
+     */
+    private static int nextEventNumber(DatabaseHelper databaseHelper) {
+        int highest = 0;
+        Iterator<UniversityEvent> events = databaseHelper.streamEvents(EventQuery.all().withoutParticipants())
+                .iterator();
+        while (events.hasNext()) {
+            String id = events.next().getEventId();
+            if (id != null && id.matches("(?i)EVT-\\d+")) {
+                highest = Math.max(highest, Integer.parseInt(id.substring(4)));
+            }
+        }
+        return highest + 1;
+    }
+
+    private static boolean isCalendar(List<String> positional, Map<String, String> options) {
+        return "ics".equalsIgnoreCase(options.get("format"))
+                || !positional.isEmpty() && positional.get(0).toLowerCase(Locale.ROOT).endsWith(".ics");
+    }
+
+    /**
+     * Writes the events matching {@code --venue}, {@code --category}, {@code --from} and {@code --to} as a JSON
+     * array, or as an iCalendar file for a {@code .ics} target or {@code --format ics}, one page at a time, so
+     * the whole export is never held in memory.
+     */
+    private int exportEvents(DatabaseHelper databaseHelper, List<String> positional, Map<String, String> options)
+            throws IOException {
+        EventQuery query = EventQuery.all()
+                .venue(options.get("venue"))
+                .category(options.get("category"))
+                .between(options.containsKey("from") ? LocalDate.parse(options.get("from")) : null,
+                        options.containsKey("to") ? LocalDate.parse(options.get("to")) : null);
+        Writer target = positional.isEmpty()
+                ? new OutputStreamWriter(out, StandardCharsets.UTF_8)
+                : Files.newBufferedWriter(Path.of(positional.get(0)), StandardCharsets.UTF_8);
+        BufferedWriter writer = new BufferedWriter(target);
+        int count = 0;
+        int[] skipped = {0};
+        try {
+            if (isCalendar(positional, options)) {
+                count = ICalendarCodec.write(writer,
+                        databaseHelper.streamEvents(query.withoutParticipants()).iterator(), event -> {
+                            err.println("Skipping " + event.getEventId() + ": "
+                                    + (event.getDate() == null ? "no date" : "no name"));
+                            skipped[0]++;
+                        });
+            } else {
+                writer.write('[');
+                Iterator<UniversityEvent> events = databaseHelper.streamEvents(query).iterator();
+                while (events.hasNext()) {
+                    if (count++ > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(JsonCodec.writeEvent(events.next()));
+                }
+                writer.write(']');
+                writer.newLine();
+            }
+        } finally {
+            // stdout stays open for the caller
+            if (positional.isEmpty()) {
+                writer.flush();
+            } else {
+                writer.close();
+            }
+        }
+        if (!positional.isEmpty()) {
+            out.println("Exported " + count + " event(s) to " + positional.get(0));
+        }
+        return skipped[0] == 0 ? OK : PROBLEMS;
+    }
+
+    /**
+     * Shifts matching events by {@code --days}, optionally filtered by {@code --venue}, {@code --from}, {@code --to}.
+     * Events without a date are left alone; the moves are checked for clashes and saved all together or not at all.
+     */
+    private int reschedule(DatabaseHelper databaseHelper, Map<String, String> options) {
+        if (!options.containsKey("days")) {
+            err.println("Usage: reschedule --days <n> [--venue <venue>] [--from yyyy-MM-dd] [--to yyyy-MM-dd]");
+            return USAGE;
+        }
+        int days = Integer.parseInt(options.get("days"));
+        Predicate<UniversityEvent> filter = ev -> ev.getDate() != null;
+        if (options.containsKey("venue")) {
+            // A venue no event uses matches nothing and is not added to the dictionary
+            int venueCode = Vocabulary.VENUES.find(options.get("venue"));
+            filter = filter.and(ev -> venueCode != Vocabulary.NONE && ev.getVenueCode() == venueCode);
+        }
+        if (options.containsKey("from")) {
+            LocalDate from = LocalDate.parse(options.get("from"));
+            filter = filter.and(ev -> !ev.getDate().isBefore(from));
+        }
+        if (options.containsKey("to")) {
+            LocalDate to = LocalDate.parse(options.get("to"));
+            filter = filter.and(ev -> !ev.getDate().isAfter(to));
+        }
+        List<UniversityEvent> moves = new ArrayList<>();
+        for (UniversityEvent event : databaseHelper.loadEvents()) {
+            if (filter.test(event)) {
+                UniversityEvent moved = event.copyWithoutParticipants();
+                moved.setDate(event.getDate().plusDays(days));
+                moves.add(moved);
+            }
+        }
+        List<UniversityEvent> changed = databaseHelper.updateEvents(moves);
+        out.println("Rescheduled " + changed.size() + " event(s) by " + days + " day(s).");
+        return OK;
+    }
+
+    /**
+     * Places the events of a JSON file into free slots between {@code --from} and {@code --to},
+     * optionally restricted to {@code --venues}, and adds the ones that fit.
+     */
+    private int schedule(DatabaseHelper databaseHelper, List<String> positional, Map<String, String> options)
+            throws IOException {
+        if (positional.size() != 1 || !options.containsKey("from") || !options.containsKey("to")) {
+            err.println("Usage: schedule <events.json> --from yyyy-MM-dd --to yyyy-MM-dd [--venues <v1,v2>]");
+            return USAGE;
+        }
+        LocalDate from = LocalDate.parse(options.get("from"));
+        LocalDate to = LocalDate.parse(options.get("to"));
+        Set<String> venues = new LinkedHashSet<>(options.containsKey("venues")
+                ? Arrays.asList(options.get("venues").split("\\s*,\\s*"))
+                : Arrays.asList(Vocabulary.VENUES.seedValues()));
+        List<SlotScheduler.Request> requests = new ArrayList<>();
+        for (UniversityEvent event : JsonCodec.readEvents(Files.readString(Path.of(positional.get(0)),
+                StandardCharsets.UTF_8))) {
+            if (databaseHelper.findEventById(event.getEventId()).isPresent()) {
+                err.println("Skipping " + event.getEventId() + ": ID already in use");
+                continue;
+            }
+            requests.add(new SlotScheduler.Request(event, venues, from, to));
+        }
+        SlotScheduler.Result result = new SlotScheduler().schedule(requests, databaseHelper.loadEvents());
+        databaseHelper.addEvents(result.scheduled());
+        for (UniversityEvent event : result.scheduled()) {
+            out.println(event.getEventId() + " -> " + event.getDate() + " " + event.getTime() + " @ " + event.getVenue());
+        }
+        for (SlotScheduler.Request request : result.unscheduled()) {
+            out.println(request.event().getEventId() + ": no free slot");
+        }
+        out.println("Scheduled " + result.scheduled().size() + " event(s), "
+                + result.unscheduled().size() + " left unplaced.");
+        return result.unscheduled().isEmpty() ? OK : PROBLEMS;
+    }
+
+    /**
+     * Reports malformed IDs, duplicates, missing fields and venue clashes; exits non-zero when any are found.
+     */
+    private int check(DatabaseHelper databaseHelper) {
+        List<String> problems = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        Map<String, String> slots = new HashMap<>();
+        List<UniversityEvent> events = databaseHelper.loadEvents();
+        RecoveryReport recovery = databaseHelper.getRecoveryReport();
+        if (recovery != null) {
+            problems.add("Data file was damaged and repaired: " + recovery);
+        }
+        for (UniversityEvent ev : events) {
+            String id = ev.getEventId();
+            if (id == null || !id.matches("EVT-\\d{4}")) {
+                problems.add("Malformed event ID: " + id);
+            } else if (!ids.add(id.toUpperCase(Locale.ROOT))) {
+                problems.add("Duplicate event ID: " + id);
+            }
+            if (ev.getName() == null || ev.getName().isBlank() || ev.getDate() == null
+                    || ev.getVenue() == null || ev.getOrganizer() == null || ev.getCategory() == null) {
+                problems.add(id + ": missing required fields");
+                continue;
+            }
+            for (LocalDate day : ev.occurrencesBetween(ev.getDate(), ev.getLastDate())) {
+                String slot = day + " " + ev.getTime() + " @ " + ev.getVenue().toLowerCase(Locale.ROOT);
+                String other = slots.putIfAbsent(slot, id);
+                if (other != null) {
+                    problems.add("Venue clash: " + other + " and " + id + " at " + slot);
+                }
+            }
+            Set<String> participantIds = new HashSet<>();
+            Set<String> names = new HashSet<>();
+            for (Participant participant : ev.getParticipants()) {
+                if (!participantIds.add(participant.getParticipantId())) {
+                    problems.add(id + ": duplicate participant ID " + participant.getParticipantId());
+                }
+                if (!names.add(participant.getFullName().toLowerCase(Locale.ROOT))) {
+                    problems.add(id + ": participant registered twice: " + participant.getFullName());
+                }
+            }
+        }
+        problems.forEach(out::println);
+        out.println("Checked " + events.size() + " event(s): " + problems.size() + " problem(s).");
+        return problems.isEmpty() ? OK : PROBLEMS;
+    }
+
+    private int stats(DatabaseHelper databaseHelper) {
+        EventStatistics stats = new StatisticsAggregator().aggregate(databaseHelper.loadEvents());
+        out.println("Events:        " + stats.getTotalEvents());
+        out.println("Participants:  " + stats.getTotalParticipants()
+                + " (staff " + stats.getStaffCount() + ", students " + stats.getStudentCount() + ")");
+        UniversityEvent busiest = stats.getBusiest();
+        out.println("Busiest event: " + (busiest == null ? "N/A"
+                : busiest.getName() + " (" + busiest.getParticipantCount() + ")"));
+        out.println("Registrations per category:");
+        stats.getRegistrationsByCategory().forEach((k, v) -> out.println("  " + k + ": " + v));
+        out.println("Organizer load:");
+        stats.getOrganizerLoad().forEach((k, v) -> out.println("  " + k + ": " + v));
+        out.println("Venue clashes: " + stats.getClashes().size());
+        return OK;
+    }
+
+    private static BackupManager backupsFor(DatabaseHelper databaseHelper, Path dataFile) {
+        Path directory = dataFile.toAbsolutePath().getParent().resolve("backups");
+        return new BackupManager(databaseHelper, directory, 7, 24);
+    }
+
+    private int backup(BackupManager backups) {
+        Path snapshot = backups.snapshot();
+        out.println("Wrote " + snapshot);
+        backups.listBackups().forEach(file -> out.println("  " + file.getFileName()));
+        return OK;
+    }
+
+    /**
+     * Replaces the store with its state at {@code --at} (latest backup by default), after snapshotting
+     * the current state so the restore itself can be undone.
+     */
+    private int restore(DatabaseHelper databaseHelper, BackupManager backups, Map<String, String> options) {
+        LocalDateTime pointInTime = options.containsKey("at") ? LocalDateTime.parse(options.get("at"))
+                : LocalDateTime.now();
+        List<UniversityEvent> restored = backups.restore(pointInTime);
+        Path undo = backups.snapshot();
+        // Announced on the bus like any other edit, so a delta records the restore itself
+        databaseHelper.replaceEvents(restored);
+        backups.runCycle();
+        out.println("Restored " + restored.size() + " event(s) as of " + pointInTime
+                + "; previous state saved as " + undo.getFileName());
+        return OK;
+    }
+
+    /**
+     * Brings the static HTML reports in a directory up to date; pages that did not change are left alone.
+     */
+    private int publish(DatabaseHelper databaseHelper, List<String> positional) {
+        if (positional.size() != 1) {
+            err.println("Usage: publish <directory>");
+            return USAGE;
+        }
+        int changed = new ReportPublisher(databaseHelper, Path.of(positional.get(0))).publishAll();
+        out.println("Updated " + changed + " page(s) in " + positional.get(0));
+        return OK;
+    }
+
+    private static void printUsage(PrintStream stream) {
+        stream.println("Usage: java -cp bin eventmanager.EventCli <command> [options] [--data <events.dat>]");
+        stream.println("  import <events.json>        add events from a JSON export");
+        stream.println("  import <calendar.ics> [--organizer <o>] [--category <c>]");
+        stream.println("                              add the events of an iCalendar file that do not clash");
+        stream.println("  export [events.json|.ics] [--format json|ics] [--venue <v>] [--category <c>]");
+        stream.println("         [--from <date>] [--to <date>]");
+        stream.println("                              write matching events as JSON or iCalendar (stdout by default)");
+        stream.println("  reschedule --days <n> [--venue <v>] [--from <date>] [--to <date>]");
+        stream.println("  schedule <events.json> --from <date> --to <date> [--venues <v1,v2>]");
+        stream.println("  check                       integrity check; exit code 1 on problems");
+        stream.println("  stats                       summary statistics");
+        stream.println("  backup                      write a compressed snapshot next to the data file");
+        stream.println("  restore [--at <date-time>]  restore from backups, e.g. --at 2025-02-03T10:15");
+        stream.println("  publish <directory>         update the static HTML event and venue reports");
+    }
+}
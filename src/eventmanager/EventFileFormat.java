@@ -0,0 +1,699 @@
+package eventmanager;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Record-framed layout of events.dat.
+ * <p>
+ * After a header holding the format version and a generation stamp every event is one frame: a sync marker,
+ * the payload length, the payload and its CRC32. A trailer frame holds the record count. Because each frame is
+ * self-checking and self-delimiting, a damaged file can be scanned once, front to back, keeping every frame that
+ * verifies and resynchronising on the next marker after one that does not; memory use is bounded by the largest
+ * single record.
+ * <p>
+ * Venues, organizers and categories are written once per file, in a vocabulary frame right after the header,
+ * and records refer to them by code. A second copy of that frame precedes the trailer, so the records stay
+ * readable if the first one is damaged.
+ * <p>
+ * The generation stamp is bumped by every save, so another process sharing the file can tell from the
+ * header alone whether it changed. Each record also carries a content checksum, taken over the event with its
+ * vocabulary values spelled out, which tells which records did; unlike the codes it is the same whichever
+ * process wrote the file.
+ */
+public final class EventFileFormat {
+    private static final int MAGIC = 0x45564454; // "EVDT"
+    private static final int VERSION = 3;
+    // Version 1 headers carry no generation stamp; records before version 3 spell out their vocabulary values
+    private static final int VERSION_WITHOUT_GENERATION = 1;
+    private static final int VERSION_WITHOUT_VOCABULARY = 2;
+    private static final int RECORD_MARKER = 0x7E5A17C3;
+    private static final int TRAILER_MARKER = 0x7E5A17C4;
+    private static final int VOCABULARY_MARKER = 0x7E5A17C5;
+    private static final Vocabulary[] VOCABULARIES = {Vocabulary.VENUES, Vocabulary.ORGANIZERS, Vocabulary.CATEGORIES};
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    // First two bytes of a Java serialization stream, as written before this format existed
+    private static final int LEGACY_MAGIC = 0xACED;
+
+    /**
+     * Receives the records of a {@link #scan}; {@link #wants} lets the caller skip decoding records it already holds.
+     */
+    public interface Visitor {
+        /**
+         * Called once with the generation stamp of the file, before any record.
+         */
+        default void begin(long generation) {
+        }
+
+        /**
+         * Whether the verified record for {@code eventId} with content checksum {@code crc} should be decoded.
+         */
+        boolean wants(String eventId, int crc);
+
+        void accept(UniversityEvent event, int crc);
+    }
+
+    private EventFileFormat() {
+    }
+
+    /**
+     * Whether {@code file} starts with the Java serialization header of the original store format.
+     */
+    public static boolean isLegacy(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(2);
+            return channel.read(head) == 2 && (head.getShort(0) & 0xFFFF) == LEGACY_MAGIC;
+        }
+    }
+
+    /**
+     * Generation stamp in the header of {@code file}; 0 for a version 1 file and -1 for an empty, legacy or
+     * unrecognised one.
+     */
+    public static long readGeneration(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readHeader(new Input(channel));
+        }
+    }
+
+    /**
+     * Writes {@code events} to a temporary sibling, forces it to disk and moves it over {@code file},
+     * so a crash mid-save leaves the previous file intact. Returns the content checksums by upper-case event ID.
+     */
+    public static Map<String, Integer> write(Path file, Collection<UniversityEvent> events, long generation)
+            throws IOException {
+        Map<String, Integer> checksums = new HashMap<>();
+        FileVocabulary vocabulary = new FileVocabulary(events);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(generation);
+            RecordBuffer record = new RecordBuffer();
+            DataOutputStream recordOut = new DataOutputStream(record);
+            CRC32 crc = new CRC32();
+            vocabulary.encode(recordOut);
+            byte[] vocabularyFrame = record.toByteArray();
+            writeFrame(out, VOCABULARY_MARKER, vocabularyFrame, vocabularyFrame.length, crc);
+            for (UniversityEvent event : events) {
+                record.reset();
+                int content = encodeCompact(record, recordOut, event, vocabulary, crc);
+                writeFrame(out, RECORD_MARKER, record.bytes(), record.size(), crc);
+                if (event.getEventId() != null) {
+                    checksums.put(event.getEventId().toUpperCase(), content);
+                }
+            }
+            writeFrame(out, VOCABULARY_MARKER, vocabularyFrame, vocabularyFrame.length, crc);
+            out.writeInt(TRAILER_MARKER);
+            out.writeLong(events.size());
+            out.writeInt(~events.size());
+            out.flush();
+            fileOut.getChannel().force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return checksums;
+    }
+
+    private static void writeFrame(DataOutput out, int marker, byte[] payload, int length, CRC32 crc)
+            throws IOException {
+        crc.reset();
+        crc.update(payload, 0, length);
+        out.writeInt(marker);
+        out.writeInt(length);
+        out.write(payload, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Content checksum the record of {@code event} carries in a file written now, for telling whether a copy
+     * differs from what was saved.
+     */
+    static int checksum(UniversityEvent event) {
+        ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+        try {
+            encode(new DataOutputStream(record), event);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode event " + event.getEventId(), e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record.toByteArray());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Streams every verifiable event in {@code file} to {@code sink}. Returns {@code null} when the file
+     * is intact, otherwise a report of what was skipped (without {@link RecoveryReport#quarantinedFile()}).
+     */
+    public static RecoveryReport read(Path file, Consumer<UniversityEvent> sink) throws IOException {
+        return scan(file, new Visitor() {
+            @Override
+            public boolean wants(String eventId, int crc) {
+                return true;
+            }
+
+            @Override
+            public void accept(UniversityEvent event, int crc) {
+                sink.accept(event);
+            }
+        });
+    }
+
+    /**
+     * Like {@link #read}, but only decodes the records {@code visitor} asks for. Skipped records still count
+     * as recovered, since their checksums verified.
+     */
+    public static RecoveryReport scan(Path file, Visitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Input in = new Input(channel);
+            int recovered = 0;
+            int damaged = 0;
+            long expected = -1;
+            long skipped = 0;
+            List<String> lostIds = new ArrayList<>();
+            byte[] payload = new byte[4096];
+            CRC32 crc = new CRC32();
+
+            long generation = readHeader(in);
+            boolean compact = in.version > VERSION_WITHOUT_VOCABULARY;
+            // File codes to this process's codes, by vocabulary; set by the first vocabulary frame that verifies
+            int[][] vocabulary = null;
+            if (generation < 0) {
+                // A damaged header is skipped like any other garbage before the first marker; whether records
+                // use codes is then told by whether the file has a vocabulary at all
+                vocabulary = findVocabulary(in);
+                compact = vocabulary != null;
+                in.seek(0);
+            }
+            visitor.begin(generation);
+            while (in.remaining() > 0 && expected < 0) {
+                long start = in.position();
+                int marker = in.remaining() >= 4 ? in.readInt() : 0;
+                boolean ok = false;
+                if ((marker == RECORD_MARKER || marker == VOCABULARY_MARKER) && in.remaining() >= 8) {
+                    int length = in.readInt();
+                    if (length >= 0 && length <= MAX_RECORD_BYTES && in.remaining() >= length + 4L) {
+                        if (payload.length < length) {
+                            payload = new byte[Math.max(length, payload.length * 2)];
+                        }
+                        in.readFully(payload, length);
+                        int stored = in.readInt();
+                        crc.reset();
+                        crc.update(payload, 0, length);
+                        if ((int) crc.getValue() == stored) {
+                            try {
+                                if (marker == VOCABULARY_MARKER) {
+                                    if (vocabulary == null) {
+                                        vocabulary = readVocabulary(payload, length);
+                                    }
+                                } else {
+                                    if (compact && vocabulary == null) {
+                                        // The leading copy is damaged; the one before the trailer may not be
+                                        vocabulary = findVocabulary(in);
+                                        if (vocabulary == null) {
+                                            throw new IOException("No readable vocabulary");
+                                        }
+                                    }
+                                    DataInputStream record = new DataInputStream(
+                                            new ByteArrayInputStream(payload, 0, length));
+                                    String eventId = readNullable(record);
+                                    int content = compact ? record.readInt() : stored;
+                                    if (visitor.wants(eventId, content)) {
+                                        visitor.accept(compact ? decodeCompact(record, eventId, vocabulary)
+                                                : decode(record, eventId), content);
+                                    }
+                                    recovered++;
+                                }
+                                ok = true;
+                            } catch (IOException | RuntimeException e) {
+                                // checksum matched but the contents do not decode: treat as damaged
+                            }
+                        }
+                        if (!ok && marker == RECORD_MARKER) {
+                            damaged++;
+                            String id = peekEventId(payload, length);
+                            if (id != null) {
+                                lostIds.add(id);
+                            }
+                        }
+                    } else if (marker == RECORD_MARKER) {
+                        damaged++;
+                    }
+                } else if (marker == TRAILER_MARKER && in.remaining() >= 12) {
+                    long count = in.readLong();
+                    ok = in.readInt() == (int) ~count;
+                    if (ok) {
+                        expected = count;
+                    }
+                }
+                if (!ok) {
+                    in.seek(start + 1);
+                    long next = in.scanForMarker(RECORD_MARKER, TRAILER_MARKER, VOCABULARY_MARKER);
+                    skipped += next - start;
+                    in.seek(next);
+                }
+            }
+            if (expected == recovered && damaged == 0 && skipped == 0) {
+                return null;
+            }
+            return new RecoveryReport(recovered, damaged, expected, skipped, lostIds, null);
+        }
+    }
+
+    /**
+     * Reads the header into {@code in.version} and returns its generation stamp, or -1 if there is no valid
+     * header.
+     */
+    private static long readHeader(Input in) throws IOException {
+        if (in.remaining() < 8 || in.readInt() != MAGIC) {
+            return -1;
+        }
+        int version = in.readInt();
+        if (version == VERSION_WITHOUT_GENERATION) {
+            in.version = version;
+            return 0;
+        }
+        if (version < VERSION_WITHOUT_GENERATION || version > VERSION || in.remaining() < 8) {
+            return -1;
+        }
+        in.version = version;
+        return in.readLong();
+    }
+
+    /**
+     * Code map of the first vocabulary frame in the file that verifies, or {@code null}; leaves {@code in} where
+     * it was.
+     */
+    private static int[][] findVocabulary(Input in) throws IOException {
+        long resume = in.position();
+        CRC32 crc = new CRC32();
+        try {
+            in.seek(0);
+            while (in.remaining() > 0) {
+                long at = in.scanForMarker(VOCABULARY_MARKER);
+                in.seek(at);
+                if (in.remaining() < 12) {
+                    return null;
+                }
+                in.readInt();
+                int length = in.readInt();
+                if (length >= 0 && length <= MAX_RECORD_BYTES && in.remaining() >= length + 4L) {
+                    byte[] payload = new byte[length];
+                    in.readFully(payload, length);
+                    crc.reset();
+                    crc.update(payload, 0, length);
+                    if ((int) crc.getValue() == in.readInt()) {
+                        try {
+                            return readVocabulary(payload, length);
+                        } catch (IOException | RuntimeException e) {
+                            // verified but unreadable: keep looking
+                        }
+                    }
+                }
+                in.seek(at + 1);
+            }
+            return null;
+        } finally {
+            in.seek(resume);
+        }
+    }
+
+    /**
+     * Maps the codes of a vocabulary frame to this process's codes, adding values it has not seen yet.
+     */
+    private static int[][] readVocabulary(byte[] payload, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload, 0, length));
+        int[][] codes = new int[VOCABULARIES.length][];
+        for (int kind = 0; kind < VOCABULARIES.length; kind++) {
+            int count = in.readInt();
+            if (count < 0 || count > length) {
+                throw new IOException("Bad vocabulary size " + count);
+            }
+            int[] fileCodes = new int[count];
+            String[] values = new String[count];
+            int highest = -1;
+            for (int i = 0; i < count; i++) {
+                fileCodes[i] = in.readInt();
+                values[i] = in.readUTF();
+                if (fileCodes[i] < 0 || fileCodes[i] > MAX_RECORD_BYTES) {
+                    throw new IOException("Bad vocabulary code " + fileCodes[i]);
+                }
+                highest = Math.max(highest, fileCodes[i]);
+            }
+            codes[kind] = new int[highest + 1];
+            Arrays.fill(codes[kind], Vocabulary.NONE);
+            for (int i = 0; i < count; i++) {
+                codes[kind][fileCodes[i]] = VOCABULARIES[kind].codeOf(values[i]);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Spelled-out form of a record, as written before version 3; its CRC32 is the content checksum.
+     */
+    private static void encode(DataOutput out, UniversityEvent event) throws IOException {
+        writeNullable(out, event.getEventId());
+        encodeHead(out, event);
+        writeNullable(out, event.getVenue());
+        writeNullable(out, event.getOrganizer());
+        writeNullable(out, event.getCategory());
+        encodeTail(out, event);
+    }
+
+    /**
+     * Writes the compact record of {@code event} into {@code record} and returns its content checksum, which the
+     * record carries right after the event ID. The checksum is assembled from the compact bytes and the spelled-out
+     * vocabulary values, so it equals {@link #checksum} without encoding the event twice.
+     */
+    private static int encodeCompact(RecordBuffer record, DataOutputStream out, UniversityEvent event,
+                                     FileVocabulary vocabulary, CRC32 crc) throws IOException {
+        writeNullable(out, event.getEventId());
+        int checksumAt = record.size();
+        out.writeInt(0);
+        encodeHead(out, event);
+        int codesAt = record.size();
+        out.writeInt(event.getVenueCode());
+        out.writeInt(event.getOrganizerCode());
+        out.writeInt(event.getCategoryCode());
+        int tailAt = record.size();
+        encodeTail(out, event);
+        byte[] bytes = record.bytes();
+        crc.reset();
+        crc.update(bytes, 0, checksumAt);
+        crc.update(bytes, checksumAt + 4, codesAt - checksumAt - 4);
+        crc.update(vocabulary.spelledOut(0, event.getVenueCode()));
+        crc.update(vocabulary.spelledOut(1, event.getOrganizerCode()));
+        crc.update(vocabulary.spelledOut(2, event.getCategoryCode()));
+        crc.update(bytes, tailAt, record.size() - tailAt);
+        int content = (int) crc.getValue();
+        bytes[checksumAt] = (byte) (content >>> 24);
+        bytes[checksumAt + 1] = (byte) (content >>> 16);
+        bytes[checksumAt + 2] = (byte) (content >>> 8);
+        bytes[checksumAt + 3] = (byte) content;
+        return content;
+    }
+
+    private static void encodeHead(DataOutput out, UniversityEvent event) throws IOException {
+        writeNullable(out, event.getName());
+        out.writeLong(event.getDate() == null ? Long.MIN_VALUE : event.getDate().toEpochDay());
+        out.writeInt(event.getTime() == null ? -1 : event.getTime().toSecondOfDay());
+    }
+
+    private static void encodeTail(DataOutput out, UniversityEvent event) throws IOException {
+        writeNullable(out, event.isRecurring() ? event.getRecurrence().toRuleString() : null);
+        ParticipantRoster roster = event.roster();
+        out.writeInt(roster.size());
+        for (int i = 0; i < roster.size(); i++) {
+            Participant.ParticipantType type = roster.typeAt(i);
+            writeNullable(out, roster.idAt(i));
+            writeNullable(out, roster.nameAt(i));
+            out.writeByte(type == null ? -1 : type.ordinal());
+        }
+        // Appended after the roster, so records written before capacities existed simply end here
+        out.writeInt(event.getCapacity());
+        List<Participant> waitlist = event.getWaitlist();
+        out.writeInt(waitlist.size());
+        for (Participant waiting : waitlist) {
+            writeParticipant(out, waiting);
+        }
+    }
+
+    private static void writeParticipant(DataOutput out, Participant participant) throws IOException {
+        writeNullable(out, participant.getParticipantId());
+        writeNullable(out, participant.getFullName());
+        out.writeByte(participant.getType() == null ? -1 : participant.getType().ordinal());
+    }
+
+    /**
+     * Decodes the rest of a spelled-out record whose event ID has been read.
+     */
+    private static UniversityEvent decode(DataInputStream in, String eventId) throws IOException {
+        String name = readNullable(in);
+        long epochDay = in.readLong();
+        int secondOfDay = in.readInt();
+        UniversityEvent event = new UniversityEvent(eventId, name,
+                epochDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(epochDay),
+                secondOfDay < 0 ? null : LocalTime.ofSecondOfDay(secondOfDay),
+                readNullable(in), readNullable(in), readNullable(in));
+        decodeTail(in, event);
+        return event;
+    }
+
+    /**
+     * Decodes the rest of a compact record whose event ID and content checksum have been read.
+     */
+    private static UniversityEvent decodeCompact(DataInputStream in, String eventId, int[][] vocabulary)
+            throws IOException {
+        String name = readNullable(in);
+        long epochDay = in.readLong();
+        int secondOfDay = in.readInt();
+        UniversityEvent event = new UniversityEvent(eventId, name,
+                epochDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(epochDay),
+                secondOfDay < 0 ? null : LocalTime.ofSecondOfDay(secondOfDay), null, null, null);
+        event.setVocabularyCodes(localCode(vocabulary[0], in.readInt()), localCode(vocabulary[1], in.readInt()),
+                localCode(vocabulary[2], in.readInt()));
+        decodeTail(in, event);
+        return event;
+    }
+
+    private static int localCode(int[] codes, int fileCode) throws IOException {
+        if (fileCode == Vocabulary.NONE) {
+            return Vocabulary.NONE;
+        }
+        if (fileCode < 0 || fileCode >= codes.length || codes[fileCode] == Vocabulary.NONE) {
+            throw new IOException("Unknown vocabulary code " + fileCode);
+        }
+        return codes[fileCode];
+    }
+
+    private static void decodeTail(DataInputStream in, UniversityEvent event) throws IOException {
+        String recurrence = readNullable(in);
+        if (recurrence != null) {
+            event.setRecurrence(RecurrenceRule.parse(recurrence));
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            event.addParticipant(readParticipant(in));
+        }
+        if (in.available() > 0) {
+            event.setCapacity(in.readInt());
+            int waiting = in.readInt();
+            for (int i = 0; i < waiting; i++) {
+                event.addToWaitlist(readParticipant(in));
+            }
+        }
+    }
+
+    private static Participant readParticipant(DataInput in) throws IOException {
+        String participantId = readNullable(in);
+        String fullName = readNullable(in);
+        byte type = in.readByte();
+        return new Participant(participantId, fullName, type < 0 ? null : Participant.ParticipantType.values()[type]);
+    }
+
+    /**
+     * The event ID at the start of a damaged payload, if it still decodes as a plausible ID.
+     */
+    private static String peekEventId(byte[] payload, int length) {
+        try {
+            String id = readId(payload, length);
+            return id != null && id.matches("[A-Za-z0-9-]{1,32}") ? id : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String readId(byte[] payload, int length) throws IOException {
+        return readNullable(new DataInputStream(new ByteArrayInputStream(payload, 0, length)));
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Venue, organizer and category values the events of one file use, by their codes in this process.
+     */
+    private static final class FileVocabulary {
+        // Per vocabulary, the bytes of each used value as the spelled-out record form writes it
+        private final List<Map<Integer, byte[]>> spelledOut = new ArrayList<>();
+
+        FileVocabulary(Collection<UniversityEvent> events) throws IOException {
+            for (int kind = 0; kind < VOCABULARIES.length; kind++) {
+                spelledOut.add(new TreeMap<>());
+            }
+            for (UniversityEvent event : events) {
+                use(0, event.getVenueCode());
+                use(1, event.getOrganizerCode());
+                use(2, event.getCategoryCode());
+            }
+        }
+
+        private void use(int kind, int code) throws IOException {
+            if (!spelledOut.get(kind).containsKey(code)) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+                writeNullable(new DataOutputStream(bytes), VOCABULARIES[kind].valueOf(code));
+                spelledOut.get(kind).put(code, bytes.toByteArray());
+            }
+        }
+
+        byte[] spelledOut(int kind, int code) {
+            return spelledOut.get(kind).get(code);
+        }
+
+        /**
+         * Writes, per vocabulary, the number of values and each code with its value, in code order.
+         */
+        void encode(DataOutput out) throws IOException {
+            for (int kind = 0; kind < VOCABULARIES.length; kind++) {
+                Set<Integer> codes = spelledOut.get(kind).keySet();
+                int count = codes.contains(Vocabulary.NONE) ? codes.size() - 1 : codes.size();
+                out.writeInt(count);
+                for (int code : codes) {
+                    if (code != Vocabulary.NONE) {
+                        out.writeInt(code);
+                        out.writeUTF(VOCABULARIES[kind].valueOf(code));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Record buffer whose bytes can be read and patched in place.
+     */
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        RecordBuffer() {
+            super(256);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+
+    /**
+     * Buffered, seekable reader over a file channel.
+     */
+    private static class Input {
+        private final FileChannel channel;
+        private final long size;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        private long bufferStart;
+        // Format version from the header, or 0 before it is read or when it is damaged
+        int version;
+
+        Input(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            buffer.limit(0);
+        }
+
+        long position() {
+            return bufferStart + buffer.position();
+        }
+
+        long remaining() {
+            return size - position();
+        }
+
+        void seek(long position) {
+            if (position >= bufferStart && position <= bufferStart + buffer.limit()) {
+                buffer.position((int) (position - bufferStart));
+            } else {
+                bufferStart = position;
+                buffer.limit(0);
+            }
+        }
+
+        private boolean fill() throws IOException {
+            bufferStart += buffer.limit();
+            buffer.clear();
+            int n = channel.read(buffer, bufferStart);
+            buffer.flip();
+            return n > 0;
+        }
+
+        int read() throws IOException {
+            if (!buffer.hasRemaining() && !fill()) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        int readInt() throws IOException {
+            return (read() << 24) | (read() << 16) | (read() << 8) | read();
+        }
+
+        long readLong() throws IOException {
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        void readFully(byte[] target, int length) throws IOException {
+            int offset = 0;
+            while (offset < length) {
+                if (!buffer.hasRemaining() && !fill()) {
+                    throw new EOFException();
+                }
+                int n = Math.min(length - offset, buffer.remaining());
+                buffer.get(target, offset, n);
+                offset += n;
+            }
+        }
+
+        /**
+         * Position of the next occurrence of any of {@code markers} at or after the current position, or the end
+         * of file.
+         */
+        long scanForMarker(int... markers) throws IOException {
+            int window = 0;
+            int seen = 0;
+            int b;
+            while ((b = read()) >= 0) {
+                window = (window << 8) | b;
+                if (++seen >= 4) {
+                    for (int marker : markers) {
+                        if (window == marker) {
+                            return position() - 4;
+                        }
+                    }
+                }
+            }
+            return size;
+        }
+    }
+}
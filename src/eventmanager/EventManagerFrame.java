@@ -16,6 +16,7 @@ import java.util.Calendar;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -28,6 +29,9 @@ import java.util.stream.Collectors;
 public class EventManagerFrame extends JFrame {
 
     private final DatabaseHelper databaseHelper;
+    private final RegistrationPipeline registrationPipeline;
+    private final CheckInDesk checkInDesk;
+    private final ReminderDispatcher reminderDispatcher;
     private final List<UniversityEvent> events;
 
     private final DefaultTableModel eventTableModel;
@@ -47,44 +51,65 @@ public class EventManagerFrame extends JFrame {
             "New Student Orientation Week",
             "Annual Job & Career Fair"
     });
-    private final JComboBox<String> venueBox = new JComboBox<>(new String[] {
-            "Gallery", "Library", "Innovation Hub", "Bintumani Conference Center"
-    });
-    private final JComboBox<String> organizerBox = new JComboBox<>(new String[] {
-            "Sam", "Ruben", "Mtheus", "Bruno"
-    });
+    private final JComboBox<String> venueBox = new JComboBox<>(Vocabulary.VENUES.seedValues());
+    private final JComboBox<String> organizerBox = new JComboBox<>(Vocabulary.ORGANIZERS.seedValues());
     // Updated category dropdown to the requested categories
-    private final JComboBox<String> categoryBox = new JComboBox<>(new String[] {
-            "Seminar",
-            "Sports",
-            "Workshop",
-            "Cultural Show",
-            "Exhibition",
-            "Orientation",
-            "Career Fair"
-    });
+    private final JComboBox<String> categoryBox = new JComboBox<>(Vocabulary.CATEGORIES.seedValues());
     // Mapping from event name → category for auto-selection
     private final java.util.Map<String, String> nameCategoryMap = new java.util.HashMap<>();
     private final JSpinner dateSpinner = new JSpinner(
             new SpinnerDateModel(new Date(), null, null, Calendar.DAY_OF_YEAR));
     // time spinner for event time (hours:minutes)
     private final JSpinner timeSpinner = new JSpinner(new SpinnerDateModel(new Date(), null, null, Calendar.MINUTE));
+    private static final int UPCOMING_REPORT_WEEKS = 12;
+    private static final String[] REPEAT_OPTIONS = { "Does not repeat", "Daily", "Weekly", "Every 2 weeks", "Monthly" };
+    private final JComboBox<String> repeatBox = new JComboBox<>(REPEAT_OPTIONS);
+    private final JSpinner repeatUntilSpinner = new JSpinner(
+            new SpinnerDateModel(new Date(), null, null, Calendar.DAY_OF_YEAR));
+    // 0 leaves the limit to the venue
+    private final JSpinner capacitySpinner = new JSpinner(new SpinnerNumberModel(0, 0, 100_000, 1));
     private final JLabel statusLabel = new JLabel("Ready");
+    // Stays empty until the EDT monitor reports a stall
+    private final JLabel stallLabel = new JLabel();
     private final JLabel totalEventsLabel = new JLabel("0");
     private final JLabel totalParticipantsLabel = new JLabel("0");
+    private final StatisticsAggregator statisticsAggregator = new StatisticsAggregator();
+    // Names of the rows in events, kept in step by the row updates below
+    private final NameIndex nameIndex = new NameIndex();
+    // Registrant names of every event, for the likely-duplicate hints when registering
+    private final ParticipantNameIndex participantNames = new ParticipantNameIndex();
     private int eventCounter;
     private int participantCounter;
+    private int participantTotal;
+    // Version of the selected event when the form was filled; Update Event writes only if it is still current
+    private long formVersion;
+    // Set while a bulk operation runs: row updates are skipped and the table is rebuilt once afterwards
+    private boolean deferRowUpdates;
+    private final java.util.Set<UniversityEvent> deferredRemovals =
+            java.util.Collections.newSetFromMap(new java.util.IdentityHashMap<>());
     // Notification scheduler and state
     private final java.util.concurrent.ScheduledExecutorService scheduler = java.util.concurrent.Executors
             .newSingleThreadScheduledExecutor();
     private final java.util.Set<String> notifiedEvents = new java.util.HashSet<>();
     private boolean notificationsEnabled = true;
     private static final String SETTINGS_FILE = "data/settings.properties";
+    private static final String STALL_LOG = "data/edt-stalls.log";
+    private static final Metrics.Timer CLASH_CHECK_TIMER = Metrics.timer("ui.clashCheck");
+    private static final Metrics.Timer TABLE_REFRESH_TIMER = Metrics.timer("ui.refreshEventTable");
+    private static final Metrics.Timer REPORT_BUILD_TIMER = Metrics.timer("ui.buildReports");
+    private static final int REMOTE_SYNC_MILLIS = 3000;
+    // Longest the EDT waits for room in the registration queue before the registration is refused
+    private static final long SUBMIT_WAIT_MILLIS = 50;
 
     public EventManagerFrame(DatabaseHelper databaseHelper) {
         super("University Event Manager");
         this.databaseHelper = databaseHelper;
         this.events = new ArrayList<>(databaseHelper.loadEvents());
+        nameIndex.rebuild(events);
+        participantNames.rebuild(events);
+        this.registrationPipeline = new RegistrationPipeline(databaseHelper);
+        // Attendance is logged next to the store, which a desk connected to a service does not have
+        this.checkInDesk = databaseHelper instanceof RemoteDatabaseHelper ? null : new CheckInDesk(databaseHelper);
 
         // Load persisted settings (theme)
         java.util.Properties props = new java.util.Properties();
@@ -93,6 +118,14 @@ public class EventManagerFrame extends JFrame {
         } catch (Exception ignored) {
         }
         Theme.loadSettings(props);
+        databaseHelper.setVenueCapacities(props);
+        this.reminderDispatcher = new ReminderDispatcher(buildReminderSinks(props));
+        EdtMonitor edtMonitor = EdtMonitor.install(props, java.nio.file.Path.of(STALL_LOG));
+        if (edtMonitor != null) {
+            stallLabel.setToolTipText("Event handling took longer than " + edtMonitor.getThresholdMillis()
+                    + " ms; details in " + STALL_LOG);
+            edtMonitor.setListener(count -> stallLabel.setText("UI stalls: " + count));
+        }
 
         this.eventTableModel = new DefaultTableModel(
                 new Object[] { "Event ID", "Name", "Date & Time", "Venue", "Organizer", "Category", "Participants" },
@@ -114,7 +147,7 @@ public class EventManagerFrame extends JFrame {
 
         this.eventTable = new JTable(eventTableModel);
         this.participantTable = new JTable(participantTableModel);
-        this.eventTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        this.eventTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         this.eventTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
                 populateFormFromSelection();
@@ -126,6 +159,9 @@ public class EventManagerFrame extends JFrame {
         Theme.styleDisabled(eventIdField);
         dateSpinner.setEditor(new JSpinner.DateEditor(dateSpinner, "yyyy-MM-dd"));
         timeSpinner.setEditor(new JSpinner.DateEditor(timeSpinner, "HH:mm"));
+        repeatUntilSpinner.setEditor(new JSpinner.DateEditor(repeatUntilSpinner, "yyyy-MM-dd"));
+        repeatUntilSpinner.setEnabled(false);
+        repeatBox.addActionListener(e -> repeatUntilSpinner.setEnabled(repeatBox.getSelectedIndex() > 0));
         // Make the date editor visually editable
         try {
             JSpinner.DefaultEditor editor = (JSpinner.DefaultEditor) dateSpinner.getEditor();
@@ -149,6 +185,17 @@ public class EventManagerFrame extends JFrame {
 
         // Start notification scheduler (checks every minute)
         startNotificationScheduler();
+        if (databaseHelper instanceof RemoteDatabaseHelper remote) {
+            startRemoteSync(remote);
+        }
+        RecoveryReport recovery = databaseHelper.getRecoveryReport();
+        if (recovery != null) {
+            // Shown once the frame is up, so the user knows before making further changes
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                    "The events file was damaged and has been repaired.\n" + recovery,
+                    "Events File Recovered", JOptionPane.WARNING_MESSAGE));
+            statusLabel.setText("Events file recovered: " + recovery.lostRecords() + " event(s) lost.");
+        }
 
         setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
         setMinimumSize(new Dimension(1150, 700));
@@ -157,6 +204,7 @@ public class EventManagerFrame extends JFrame {
         setContentPane(buildContent());
         refreshEventTable();
         eventIdField.setText(formatEventId(eventCounter));
+        subscribeToStore();
     }
 
     private Container buildContent() {
@@ -238,6 +286,13 @@ public class EventManagerFrame extends JFrame {
         label.setFont(Theme.BASE_FONT.deriveFont(Font.BOLD, 16f));
         panel.add(label, BorderLayout.NORTH);
         panel.add(new JScrollPane(participantTable), BorderLayout.CENTER);
+        JButton removeButton = new JButton("Remove Participant");
+        removeButton.addActionListener(e -> removeSelectedParticipants());
+        Theme.styleSecondaryButton(removeButton);
+        JPanel actions = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+        actions.setOpaque(false);
+        actions.add(removeButton);
+        panel.add(actions, BorderLayout.SOUTH);
         panel.setPreferredSize(new Dimension(100, 200));
         return panel;
     }
@@ -265,6 +320,10 @@ public class EventManagerFrame extends JFrame {
         addFormRow(form, gbc, "Venue", venueBox);
         addFormRow(form, gbc, "Organizer", organizerBox);
         addFormRow(form, gbc, "Category", categoryBox);
+        capacitySpinner.setToolTipText("Seats for this event; 0 uses the venue's capacity");
+        addFormRow(form, gbc, "Capacity", capacitySpinner);
+        addFormRow(form, gbc, "Repeat", repeatBox);
+        addFormRow(form, gbc, "Repeat until", repeatUntilSpinner);
 
         panel.add(form);
         panel.add(Box.createVerticalStrut(12));
@@ -291,15 +350,25 @@ public class EventManagerFrame extends JFrame {
         addButton.addActionListener(e -> addEvent());
         JButton updateButton = new JButton("Update Event");
         updateButton.addActionListener(e -> updateEvent());
+        JButton bulkButton = new JButton("Bulk Edit");
+        bulkButton.addActionListener(e -> bulkEdit());
         JButton deleteButton = new JButton("Delete Event");
         deleteButton.addActionListener(e -> deleteEvent());
         JButton registerButton = new JButton("Register Participant");
         registerButton.addActionListener(e -> registerParticipant());
+        JButton checkInButton = new JButton("Door Check-In");
+        checkInButton.addActionListener(e -> openCheckInDoor());
+        if (checkInDesk == null) {
+            checkInButton.setEnabled(false);
+            checkInButton.setToolTipText("Door check-in needs the store on this machine, so it is off for a desk"
+                    + " connected to a service");
+        }
         JButton reportButton = new JButton("Generate Reports");
         reportButton.addActionListener(e -> showReports());
 
         Theme.styleButton(addButton);
         Theme.styleButton(updateButton);
+        Theme.styleSecondaryButton(bulkButton);
         deleteButton.setBackground(new Color(220, 68, 55));
         deleteButton.setForeground(Color.WHITE);
         deleteButton.setFocusPainted(false);
@@ -310,12 +379,15 @@ public class EventManagerFrame extends JFrame {
         registerButton.setFocusPainted(false);
         registerButton.setBorder(BorderFactory.createEmptyBorder(10, 16, 10, 16));
         registerButton.setFont(Theme.BASE_FONT.deriveFont(Font.BOLD));
+        Theme.styleSecondaryButton(checkInButton);
         Theme.styleSecondaryButton(reportButton);
 
         panel.add(addButton);
         panel.add(updateButton);
+        panel.add(bulkButton);
         panel.add(deleteButton);
         panel.add(registerButton);
+        panel.add(checkInButton);
         panel.add(reportButton);
         return panel;
     }
@@ -335,8 +407,12 @@ public class EventManagerFrame extends JFrame {
         themeToggle.addActionListener(e -> {
             boolean dark = themeToggle.isSelected();
             Theme.applyTheme(dark);
-            // persist
+            // persist, keeping the other settings in the file
             java.util.Properties props = new java.util.Properties();
+            try (java.io.FileInputStream fis = new java.io.FileInputStream(SETTINGS_FILE)) {
+                props.load(fis);
+            } catch (Exception ignored) {
+            }
             Theme.saveSettings(props);
             try (java.io.FileOutputStream fos = new java.io.FileOutputStream(SETTINGS_FILE)) {
                 props.store(fos, "app settings");
@@ -350,7 +426,12 @@ public class EventManagerFrame extends JFrame {
                 refreshEventTable();
             });
         });
-        panel.add(themeToggle, BorderLayout.EAST);
+        JPanel east = new JPanel(new FlowLayout(FlowLayout.RIGHT, 12, 0));
+        east.setOpaque(false);
+        stallLabel.setFont(Theme.BASE_FONT);
+        east.add(stallLabel);
+        east.add(themeToggle);
+        panel.add(east, BorderLayout.EAST);
         return panel;
     }
 
@@ -362,6 +443,7 @@ public class EventManagerFrame extends JFrame {
             return;
         }
         UniversityEvent selected = events.get(row);
+        formVersion = selected.getVersion();
         eventIdField.setText(selected.getEventId());
         nameBox.setSelectedItem(selected.getName()); // set selection on the combo box
         dateSpinner.setValue(Date.from(selected.getDate()
@@ -374,20 +456,70 @@ public class EventManagerFrame extends JFrame {
         venueBox.setSelectedItem(selected.getVenue());
         organizerBox.setSelectedItem(selected.getOrganizer());
         categoryBox.setSelectedItem(selected.getCategory());
+        showRecurrence(selected.getRecurrence(), selected.getLastDate());
+        capacitySpinner.setValue(selected.getCapacity());
         loadParticipants(selected);
     }
 
+    /**
+     * Roster followed by the waitlist, whose rows stand out by their {@value UniversityEvent#WAITLIST_ID_PREFIX}
+     * IDs.
+     */
     private void loadParticipants(UniversityEvent event) {
         participantTableModel.setRowCount(0);
         for (Participant participant : event.getParticipants()) {
-            participantTableModel.addRow(new Object[] {
-                    participant.getParticipantId(),
-                    participant.getFullName(),
-                    participant.getType()
-            });
+            participantTableModel.addRow(toParticipantRow(participant));
+        }
+        for (Participant waiting : event.getWaitlist()) {
+            participantTableModel.addRow(toParticipantRow(waiting));
         }
     }
 
+    private void removeSelectedParticipants() {
+        int row = eventTable.getSelectedRow();
+        int[] selected = participantTable.getSelectedRows();
+        if (row < 0 || eventTable.getSelectedRowCount() > 1 || selected.length == 0) {
+            showError("Select one event and the participants to remove.");
+            return;
+        }
+        UniversityEvent event = events.get(row);
+        List<String> participantIds = new ArrayList<>();
+        for (int i : selected) {
+            participantIds.add((String) participantTableModel.getValueAt(i, 0));
+        }
+        int confirm = JOptionPane.showConfirmDialog(this,
+                "Remove " + participantIds.size() + " participant(s) from \"" + event.getName() + "\"?",
+                "Confirm Removal", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+        int waitingBefore = event.getWaitlist().size();
+        try {
+            for (String participantId : participantIds) {
+                databaseHelper.removeParticipant(event.getEventId(), participantId);
+            }
+        } catch (IllegalStateException | NoSuchElementException ex) {
+            showError(ex.getMessage());
+            return;
+        }
+        int promoted = Math.max(0, waitingBefore - event.getWaitlist().size()
+                - (int) participantIds.stream().filter(this::isWaitlistId).count());
+        statusLabel.setText("Removed " + participantIds.size() + " participant(s)."
+                + (promoted > 0 ? " " + promoted + " moved up from the waitlist." : ""));
+    }
+
+    private boolean isWaitlistId(String participantId) {
+        return participantId.startsWith(UniversityEvent.WAITLIST_ID_PREFIX);
+    }
+
+    private Object[] toParticipantRow(Participant participant) {
+        return new Object[] {
+                participant.getParticipantId(),
+                participant.getFullName(),
+                participant.getType()
+        };
+    }
+
     private void clearForm() {
         eventIdField.setText(formatEventId(eventCounter));
         nameBox.setSelectedIndex(0); // reset to first dropdown value
@@ -396,17 +528,55 @@ public class EventManagerFrame extends JFrame {
         venueBox.setSelectedIndex(0);
         organizerBox.setSelectedIndex(0);
         // categoryBox now set by autoSelectCategory when applicable
+        capacitySpinner.setValue(0);
+        showRecurrence(null, LocalDate.now());
     }
 
-    private Optional<UniversityEvent> findEventById(String eventId) {
-        return events.stream()
-                .filter(ev -> ev.getEventId().equalsIgnoreCase(eventId))
-                .findFirst();
+    private void showRecurrence(RecurrenceRule rule, LocalDate until) {
+        int option = 0;
+        if (rule != null) {
+            switch (rule.getFrequency()) {
+                case DAILY:
+                    option = 1;
+                    break;
+                case WEEKLY:
+                    option = rule.getInterval() == 2 ? 3 : 2;
+                    break;
+                default:
+                    option = 4;
+            }
+        }
+        repeatBox.setSelectedIndex(option);
+        repeatUntilSpinner.setValue(Date.from(until.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+    }
+
+    /**
+     * Rule for the Repeat controls, or {@code null} when the event does not repeat.
+     */
+    private RecurrenceRule recurrenceFromForm(LocalDate start) {
+        LocalDate until = Instant.ofEpochMilli(((Date) repeatUntilSpinner.getValue()).getTime())
+                .atZone(ZoneId.systemDefault())
+                .toLocalDate();
+        if (repeatBox.getSelectedIndex() > 0 && until.isBefore(start)) {
+            throw new IllegalArgumentException("Repeat end date cannot be before the first date.");
+        }
+        switch (repeatBox.getSelectedIndex()) {
+            case 0:
+                return null;
+            case 1:
+                return new RecurrenceRule(RecurrenceRule.Frequency.DAILY, 1, until, 0);
+            case 2:
+                return new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 1, until, 0);
+            case 3:
+                return new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY, 2, until, 0);
+            default:
+                return new RecurrenceRule(RecurrenceRule.Frequency.MONTHLY, 1, until, 0);
+        }
     }
 
-    private Optional<UniversityEvent> findEventByName(String name) {
+    private Optional<UniversityEvent> findEventById(String eventId) {
         return events.stream()
-                .filter(ev -> ev.getName().equalsIgnoreCase(name))
+                .filter(ev -> ev.getEventId().equalsIgnoreCase(eventId))
                 .findFirst();
     }
 
@@ -434,8 +604,7 @@ public class EventManagerFrame extends JFrame {
             }
 
             // Duplicate name handling: offer to auto-rename or continue
-            Optional<UniversityEvent> existingByName = findEventByName(event.getName());
-            if (existingByName.isPresent()) {
+            if (nameIndex.contains(event.getName())) {
                 int choice = JOptionPane.showOptionDialog(this,
                         "An event with this name already exists. Rename automatically or cancel?",
                         "Duplicate Name",
@@ -448,20 +617,15 @@ public class EventManagerFrame extends JFrame {
                     return;
                 }
                 // auto-rename by appending a counter
-                String base = event.getName();
-                int suffix = 2;
-                while (findEventByName(base + " (" + suffix + ")").isPresent()) {
-                    suffix++;
-                }
-                event.setName(base + " (" + suffix + ")");
+                event.setName(nameIndex.nextFreeName(event.getName()));
             }
-            events.add(event);
+            databaseHelper.addEvent(event);
             eventCounter = extractTrailingNumber(event.getEventId()) + 1;
-            persistAndRefresh("Event added successfully.");
+            statusLabel.setText("Event added successfully.");
             selectEvent(event);
             // Automatically open participant registration after creating an event
             registerParticipant();
-        } catch (IllegalArgumentException ex) {
+        } catch (IllegalArgumentException | IllegalStateException | NoSuchElementException ex) {
             showError(ex.getMessage());
         }
     }
@@ -472,6 +636,10 @@ public class EventManagerFrame extends JFrame {
             showError("Select an event to update.");
             return;
         }
+        if (eventTable.getSelectedRowCount() > 1) {
+            showError("Several events are selected; use Bulk Edit to change them together.");
+            return;
+        }
         try {
             UniversityEvent updatedData = buildEventFromForm(true);
             UniversityEvent original = events.get(selectedRow);
@@ -506,6 +674,14 @@ public class EventManagerFrame extends JFrame {
                 changes.append("Category: ").append(original.getCategory())
                         .append(" -> ").append(updatedData.getCategory()).append("\n");
             }
+            if (!Objects.equals(original.getRecurrence(), updatedData.getRecurrence())) {
+                changes.append("Repeat: ").append(describeRepeat(original))
+                        .append(" -> ").append(describeRepeat(updatedData)).append("\n");
+            }
+            if (original.getCapacity() != updatedData.getCapacity()) {
+                changes.append("Capacity: ").append(describeCapacity(original.getCapacity()))
+                        .append(" -> ").append(describeCapacity(updatedData.getCapacity())).append("\n");
+            }
 
             if (changes.length() == 0) {
                 statusLabel.setText("No changes to update.");
@@ -545,8 +721,8 @@ public class EventManagerFrame extends JFrame {
             }
 
             if (!original.getName().equalsIgnoreCase(updatedData.getName())) {
-                Optional<UniversityEvent> conflict = findEventByName(updatedData.getName());
-                if (conflict.isPresent() && conflict.get() != original) {
+                // The name differs from the original's, so any holder of it is another event
+                if (nameIndex.contains(updatedData.getName())) {
                     int choice = JOptionPane.showOptionDialog(this,
                             "Another event already uses this name. Auto-rename or cancel?",
                             "Name Conflict",
@@ -559,27 +735,20 @@ public class EventManagerFrame extends JFrame {
                         statusLabel.setText("Update cancelled.");
                         return;
                     }
-                    String base = updatedData.getName();
-                    int suffix = 2;
-                    while (findEventByName(base + " (" + suffix + ")").isPresent()) {
-                        suffix++;
-                    }
-                    updatedData.setName(base + " (" + suffix + ")");
+                    updatedData.setName(nameIndex.nextFreeName(updatedData.getName()));
                 }
             }
 
-            // Apply confirmed changes
-            original.setEventId(updatedData.getEventId());
-            original.setName(updatedData.getName());
-            original.setDate(updatedData.getDate());
-            original.setTime(updatedData.getTime());
-            original.setVenue(updatedData.getVenue());
-            original.setOrganizer(updatedData.getOrganizer());
-            original.setCategory(updatedData.getCategory());
-
-            persistAndRefresh("Event updated successfully.");
-            selectEvent(original);
-        } catch (IllegalArgumentException ex) {
+            // Apply confirmed changes through the store so every desk sees the same record, unless someone
+            // else changed the event after it was loaded into the form
+            UniversityEvent stored = databaseHelper.updateEvent(original.getEventId(), formVersion, updatedData);
+            statusLabel.setText("Event updated successfully.");
+            selectEvent(stored);
+        } catch (StaleEventException ex) {
+            showError("This event was changed elsewhere while you were editing it. The form now shows the "
+                    + "current details; apply your changes again if they still hold.");
+            populateFormFromSelection();
+        } catch (IllegalArgumentException | IllegalStateException | NoSuchElementException ex) {
             showError(ex.getMessage());
         }
     }
@@ -590,6 +759,10 @@ public class EventManagerFrame extends JFrame {
             showError("Select an event to delete.");
             return;
         }
+        if (eventTable.getSelectedRowCount() > 1) {
+            deleteSelectedEvents();
+            return;
+        }
         UniversityEvent event = events.get(selectedRow);
         int result = JOptionPane.showConfirmDialog(
                 this,
@@ -597,15 +770,235 @@ public class EventManagerFrame extends JFrame {
                 "Confirm Deletion",
                 JOptionPane.YES_NO_OPTION);
         if (result == JOptionPane.YES_OPTION) {
-            events.remove(selectedRow);
+            try {
+                databaseHelper.deleteEvent(event.getEventId());
+            } catch (IllegalStateException | NoSuchElementException ex) {
+                showError(ex.getMessage());
+                return;
+            }
             if (events.isEmpty()) {
                 eventCounter = 1;
             }
-            persistAndRefresh("Event deleted.");
+            statusLabel.setText("Event deleted.");
             clearForm();
         }
     }
 
+    private void deleteSelectedEvents() {
+        List<UniversityEvent> selected = selectedEvents();
+        int result = JOptionPane.showConfirmDialog(
+                this,
+                "Delete the " + selected.size() + " selected events?",
+                "Confirm Deletion",
+                JOptionPane.YES_NO_OPTION);
+        if (result != JOptionPane.YES_OPTION) {
+            return;
+        }
+        List<String> ids = selected.stream().map(UniversityEvent::getEventId).collect(Collectors.toList());
+        try {
+            List<UniversityEvent> deleted = withoutRowUpdates(() -> databaseHelper.deleteEvents(ids));
+            statusLabel.setText(deleted.size() + " events deleted.");
+        } catch (IllegalStateException | NoSuchElementException ex) {
+            showError(ex.getMessage());
+            return;
+        }
+        if (events.isEmpty()) {
+            eventCounter = 1;
+        }
+        clearForm();
+    }
+
+    /**
+     * Reschedules, moves or reassigns every selected event as one change to the store: one clash check, one
+     * save and one table rebuild, however many events are selected.
+     */
+    private void bulkEdit() {
+        List<UniversityEvent> selected = selectedEvents();
+        if (selected.isEmpty()) {
+            showError("Select the events to edit.");
+            return;
+        }
+        String[] actions = { "Reschedule by days", "Move to venue", "Change organizer" };
+        Object action = JOptionPane.showInputDialog(this,
+                "Apply to the " + selected.size() + " selected events:",
+                "Bulk Edit",
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                actions,
+                actions[0]);
+        if (action == null) {
+            return;
+        }
+        java.util.function.Consumer<UniversityEvent> change;
+        String summary;
+        if (action == actions[0]) {
+            long undated = selected.stream().filter(event -> event.getDate() == null).count();
+            if (undated > 0) {
+                showError(undated + " of the selected events have no date to move; set their dates or leave "
+                        + "them out of the selection.");
+                return;
+            }
+            String input = JOptionPane.showInputDialog(this, "Move by how many days? (negative moves earlier)", "7");
+            if (input == null) {
+                return;
+            }
+            long days;
+            try {
+                days = Long.parseLong(input.trim());
+            } catch (NumberFormatException ex) {
+                showError("Enter a whole number of days.");
+                return;
+            }
+            change = event -> event.setDate(event.getDate().plusDays(days));
+            summary = "rescheduled by " + days + " days";
+        } else {
+            JComboBox<String> source = action == actions[1] ? venueBox : organizerBox;
+            String[] choices = new String[source.getItemCount()];
+            for (int i = 0; i < choices.length; i++) {
+                choices[i] = source.getItemAt(i);
+            }
+            Object value = JOptionPane.showInputDialog(this,
+                    action == actions[1] ? "New venue:" : "New organizer:",
+                    "Bulk Edit",
+                    JOptionPane.QUESTION_MESSAGE,
+                    null,
+                    choices,
+                    choices.length > 0 ? choices[0] : null);
+            if (value == null) {
+                return;
+            }
+            if (action == actions[1]) {
+                change = event -> event.setVenue(value.toString());
+                summary = "moved to " + value;
+            } else {
+                change = event -> event.setOrganizer(value.toString());
+                summary = "assigned to " + value;
+            }
+        }
+        List<UniversityEvent> changes = new ArrayList<>(selected.size());
+        for (UniversityEvent event : selected) {
+            UniversityEvent edited = event.copyWithoutParticipants();
+            change.accept(edited);
+            changes.add(edited);
+        }
+        try {
+            List<UniversityEvent> updated = withoutRowUpdates(() -> databaseHelper.updateEvents(changes));
+            selectEvents(updated);
+            statusLabel.setText(updated.size() + " events " + summary + ".");
+        } catch (IllegalArgumentException | IllegalStateException | NoSuchElementException ex) {
+            showError(ex.getMessage());
+        }
+    }
+
+    private List<UniversityEvent> selectedEvents() {
+        List<UniversityEvent> selected = new ArrayList<>();
+        for (int row : eventTable.getSelectedRows()) {
+            if (row < events.size()) {
+                selected.add(events.get(row));
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Runs a bulk store operation with row-by-row table updates switched off, then rebuilds the table once.
+     */
+    private <T> T withoutRowUpdates(java.util.function.Supplier<T> operation) {
+        deferRowUpdates = true;
+        try {
+            return operation.get();
+        } finally {
+            deferRowUpdates = false;
+            events.removeIf(deferredRemovals::contains);
+            deferredRemovals.forEach(participantNames::removeEvent);
+            deferredRemovals.clear();
+            nameIndex.rebuild(events);
+            refreshEventTable();
+        }
+    }
+
+    /**
+     * Opens a non-modal door window for the selected event; several can run side by side, one per entrance.
+     */
+    private void openCheckInDoor() {
+        if (checkInDesk == null) {
+            return;
+        }
+        int selectedRow = eventTable.getSelectedRow();
+        if (selectedRow < 0) {
+            showError("Select an event first.");
+            return;
+        }
+        UniversityEvent event = events.get(selectedRow);
+        String eventId = event.getEventId();
+
+        JTextField badgeField = new JTextField(14);
+        badgeField.setFont(Theme.BASE_FONT.deriveFont(Font.BOLD, 18f));
+        JLabel resultLabel = new JLabel("Scan or type a participant ID", SwingConstants.CENTER);
+        resultLabel.setFont(Theme.BASE_FONT.deriveFont(Font.BOLD, 16f));
+        JLabel countLabel = new JLabel("", SwingConstants.CENTER);
+        Runnable refreshCounts = () -> {
+            int present = checkInDesk.getPresentCount(eventId);
+            int registered = checkInDesk.getRegisteredCount(eventId);
+            countLabel.setText("Present " + present + " / " + registered + "   ·   Absent " + (registered - present));
+        };
+        refreshCounts.run();
+
+        JDialog dialog = new JDialog(this, "Check-In — " + event.getName(), false);
+        dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        JPanel root = new JPanel(new BorderLayout(8, 8));
+        Theme.styleCard(root);
+        root.setBorder(new EmptyBorder(16, 16, 16, 16));
+        JPanel input = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        input.setOpaque(false);
+        input.add(new JLabel("Participant ID"));
+        input.add(badgeField);
+        root.add(input, BorderLayout.NORTH);
+        root.add(resultLabel, BorderLayout.CENTER);
+        root.add(countLabel, BorderLayout.SOUTH);
+        dialog.setContentPane(root);
+        dialog.setSize(420, 200);
+        dialog.setLocationRelativeTo(this);
+
+        // Scanners type the ID followed by Enter
+        badgeField.addActionListener(ae -> {
+            String participantId = badgeField.getText().trim().toUpperCase(java.util.Locale.ROOT);
+            badgeField.setText("");
+            if (participantId.isEmpty()) {
+                return;
+            }
+            switch (checkInDesk.checkIn(eventId, participantId)) {
+                case CHECKED_IN:
+                    resultLabel.setForeground(Theme.ACCENT);
+                    resultLabel.setText("Welcome, " + checkInDesk.nameOf(eventId, participantId));
+                    break;
+                case ALREADY_PRESENT:
+                    resultLabel.setForeground(new Color(230, 126, 34));
+                    resultLabel.setText(checkInDesk.nameOf(eventId, participantId) + " is already checked in");
+                    break;
+                case NOT_REGISTERED:
+                    resultLabel.setForeground(new Color(220, 68, 55));
+                    resultLabel.setText(participantId + " is not registered for this event");
+                    break;
+                default:
+                    resultLabel.setForeground(new Color(220, 68, 55));
+                    resultLabel.setText("This event no longer exists");
+            }
+            refreshCounts.run();
+        });
+        // Other entrances check people in too, so poll the shared counters
+        javax.swing.Timer countTimer = new javax.swing.Timer(500, ae -> refreshCounts.run());
+        countTimer.start();
+        dialog.addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                countTimer.stop();
+            }
+        });
+        dialog.setVisible(true);
+        badgeField.requestFocusInWindow();
+    }
+
     private void registerParticipant() {
         int selectedRow = eventTable.getSelectedRow();
         if (selectedRow < 0) {
@@ -618,10 +1011,7 @@ public class EventManagerFrame extends JFrame {
         JComboBox<Participant.ParticipantType> typeBox = new JComboBox<>(Participant.ParticipantType.values());
         // Use a per-event counter so new events start from default (PAR-00001)
         int[] perEventCounter = new int[1];
-        perEventCounter[0] = event.getParticipants().stream()
-                .mapToInt(p -> extractTrailingNumber(p.getParticipantId()))
-                .max()
-                .orElse(0) + 1;
+        perEventCounter[0] = event.nextParticipantNumber();
         JLabel idPreview = new JLabel(formatParticipantId(perEventCounter[0]));
 
         JPanel form = new JPanel(new GridBagLayout());
@@ -647,6 +1037,28 @@ public class EventManagerFrame extends JFrame {
         gbc.gridx = 1;
         gbc.gridy = 2;
         form.add(typeBox, gbc);
+        // Likely duplicates of the typed name, refreshed on every keystroke
+        JLabel similarLabel = new JLabel(" ");
+        similarLabel.setFont(Theme.BASE_FONT.deriveFont(Font.ITALIC));
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.gridwidth = 2;
+        form.add(similarLabel, gbc);
+        nameField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                similarLabel.setText(describeSimilarNames(nameField.getText(), event));
+            }
+
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                similarLabel.setText(describeSimilarNames(nameField.getText(), event));
+            }
+
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+            }
+        });
 
         JButton addBtn = new JButton("Add");
         JButton doneBtn = new JButton("Done");
@@ -683,25 +1095,56 @@ public class EventManagerFrame extends JFrame {
                 showError("Participant name is required.");
                 return;
             }
+            // Exact repeats are rejected by the store; near misses only need a second look
+            List<ParticipantNameIndex.Match> similar = participantNames.findSimilar(fullName, event,
+                    ParticipantNameIndex.PHONETIC_SCORE, 1);
+            if (!similar.isEmpty() && !similar.get(0).fullName().equalsIgnoreCase(fullName)) {
+                ParticipantNameIndex.Match match = similar.get(0);
+                int choice = JOptionPane.showConfirmDialog(dialog,
+                        String.format("%s (%s) is already registered for this event and looks like the same "
+                                + "person (%.0f%% similar).%nRegister %s anyway?", match.fullName(),
+                                match.participantId(), match.score() * 100, fullName),
+                        "Possible Duplicate",
+                        JOptionPane.YES_NO_OPTION,
+                        JOptionPane.WARNING_MESSAGE);
+                if (choice != JOptionPane.YES_OPTION) {
+                    return;
+                }
+            }
 
-            boolean alreadyRegistered = event.getParticipants().stream()
-                    .anyMatch(p -> p.getFullName().equalsIgnoreCase(fullName));
-            if (alreadyRegistered) {
-                showError("This participant is already registered for this event.");
+            java.util.concurrent.CompletableFuture<Participant> pending;
+            try {
+                // The pipeline batches commits; the store rejects duplicates and assigns the next ID.
+                // A full queue fails the registration rather than blocking the EDT.
+                pending = registrationPipeline.submit(new Registration(event.getEventId(), fullName, type),
+                        SUBMIT_WAIT_MILLIS, java.util.concurrent.TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
                 return;
             }
-
-            String participantId = formatParticipantId(perEventCounter[0]++);
-            event.addParticipant(new Participant(participantId, fullName, type));
-            // Keep global participantCounter at least as large as any per-event counter
-            participantCounter = Math.max(participantCounter, perEventCounter[0]);
-            persistAndRefresh("Participant registered.");
-            selectEvent(event);
-            idPreview.setText(formatParticipantId(perEventCounter[0]));
-            // add to session list and clear for next
-            addedModel.addElement(participantId + " — " + fullName + " (" + type + ")");
+            // clear for next registrant straight away; the result arrives asynchronously
             nameField.setText("");
             nameField.requestFocusInWindow();
+            pending.whenComplete((registered, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    showError(error.getMessage());
+                    return;
+                }
+                String participantId = registered.getParticipantId();
+                if (isWaitlistId(participantId)) {
+                    statusLabel.setText(fullName + " is on the waitlist as " + participantId
+                            + "; the event is full.");
+                    addedModel.addElement(participantId + " — " + fullName + " (waitlist)");
+                    return;
+                }
+                perEventCounter[0] = Math.max(perEventCounter[0], extractTrailingNumber(participantId) + 1);
+                // Keep global participantCounter at least as large as any per-event counter
+                participantCounter = Math.max(participantCounter, perEventCounter[0]);
+                statusLabel.setText("Participant registered. " + registrationPipeline.getStats());
+                idPreview.setText(formatParticipantId(perEventCounter[0]));
+                // add to session list
+                addedModel.addElement(participantId + " — " + fullName + " (" + type + ")");
+            }));
         });
 
         // Close dialog when done
@@ -726,6 +1169,27 @@ public class EventManagerFrame extends JFrame {
         dialog.setVisible(true);
     }
 
+    /**
+     * One-line hint listing registered names similar to {@code fullName}, in {@code event} first.
+     */
+    private String describeSimilarNames(String fullName, UniversityEvent event) {
+        if (fullName.trim().length() < 3) {
+            return " ";
+        }
+        List<ParticipantNameIndex.Match> matches = participantNames.findSimilar(fullName, null, 0.6, 3);
+        if (matches.isEmpty()) {
+            return " ";
+        }
+        StringBuilder hint = new StringBuilder("Similar: ");
+        for (int i = 0; i < matches.size(); i++) {
+            ParticipantNameIndex.Match match = matches.get(i);
+            hint.append(i > 0 ? "; " : "").append(match.fullName())
+                    .append(String.format(" %.0f%%", match.score() * 100))
+                    .append(match.event() == event ? " (this event)" : " (" + match.event().getEventId() + ")");
+        }
+        return hint.toString();
+    }
+
     private void showReports() {
         JDialog dialog = new JDialog(this, "Event Insights", true);
         dialog.setSize(760, 520);
@@ -734,14 +1198,30 @@ public class EventManagerFrame extends JFrame {
         JPanel root = new JPanel(new BorderLayout(12, 12));
         root.setBackground(Theme.BACKGROUND);
         root.setBorder(new EmptyBorder(16, 16, 16, 16));
-        root.add(buildReportHero(), BorderLayout.NORTH);
-        root.add(buildReportTabs(), BorderLayout.CENTER);
+        JLabel eventsChip = new JLabel(String.valueOf(events.size()));
+        JLabel participantsChip = new JLabel(String.valueOf(participantTotal));
+        root.add(buildReportHero(eventsChip, participantsChip), BorderLayout.NORTH);
+        FlightEvents.Report flight = new FlightEvents.Report();
+        flight.begin();
+        root.add(REPORT_BUILD_TIMER.time(this::buildReportTabs), BorderLayout.CENTER);
+        if (flight.shouldCommit()) {
+            flight.report = "Event Insights";
+            flight.events = events.size();
+            flight.commit();
+        }
+
+        // Keep the headline numbers live while the dialog is open (e.g. changes synced from other desks)
+        Runnable unsubscribe = databaseHelper.getEventBus().subscribeAll(e -> onEdt(() -> {
+            eventsChip.setText(String.valueOf(events.size()));
+            participantsChip.setText(String.valueOf(participantTotal));
+        }));
 
         dialog.setContentPane(root);
         dialog.setVisible(true);
+        unsubscribe.run();
     }
 
-    private JPanel buildReportHero() {
+    private JPanel buildReportHero(JLabel eventsChip, JLabel participantsChip) {
         JPanel hero = new JPanel(new BorderLayout()) {
             @Override
             protected void paintComponent(Graphics g) {
@@ -773,20 +1253,18 @@ public class EventManagerFrame extends JFrame {
 
         JPanel chips = new JPanel(new GridLayout(1, 0, 12, 0));
         chips.setOpaque(false);
-        chips.add(buildMetricChip("Events", String.valueOf(events.size())));
-        chips.add(buildMetricChip("Participants",
-                String.valueOf(events.stream().mapToInt(UniversityEvent::getParticipantCount).sum())));
+        chips.add(buildMetricChip("Events", eventsChip));
+        chips.add(buildMetricChip("Participants", participantsChip));
 
         hero.add(textPanel, BorderLayout.WEST);
         hero.add(chips, BorderLayout.EAST);
         return hero;
     }
 
-    private JComponent buildMetricChip(String label, String value) {
+    private JComponent buildMetricChip(String label, JLabel valueLabel) {
         JPanel chip = new JPanel(new BorderLayout());
         chip.setOpaque(false);
         chip.setBorder(new EmptyBorder(6, 12, 6, 12));
-        JLabel valueLabel = new JLabel(value);
         valueLabel.setForeground(Color.WHITE);
         valueLabel.setFont(Theme.TITLE_FONT.deriveFont(24f));
         JLabel labelComp = new JLabel(label.toUpperCase());
@@ -805,6 +1283,7 @@ public class EventManagerFrame extends JFrame {
         tabs.addTab("Upcoming Schedule", buildUpcomingReportTable());
         tabs.addTab("Participant Roster", buildParticipantReportTable());
         tabs.addTab("Statistics", buildStatisticsPanel());
+        tabs.addTab("Diagnostics", buildDiagnosticsPanel());
 
         // Improve tab contrast: default unselected styling then highlight selected tab
         for (int i = 0; i < tabs.getTabCount(); i++) {
@@ -843,15 +1322,20 @@ public class EventManagerFrame extends JFrame {
                 return false;
             }
         };
+        // Series are expanded only from today to the end of the report window, one row per occurrence
+        LocalDate to = LocalDate.now().plusWeeks(UPCOMING_REPORT_WEEKS);
         events.stream()
-                .sorted(Comparator.comparing(UniversityEvent::getDate))
-                .forEach(ev -> model.addRow(new Object[] {
-                        ev.getName(),
-                        ev.getCategory(),
-                        ev.getDate(),
-                        ev.getVenue(),
-                        ev.getOrganizer(),
-                        ev.getParticipantCount()
+                .flatMap(ev -> (ev.isRecurring() ? ev.occurrencesBetween(LocalDate.now(), to) : List.of(ev.getDate()))
+                        .stream()
+                        .map(day -> java.util.Map.entry(day, ev)))
+                .sorted(java.util.Map.Entry.comparingByKey())
+                .forEach(entry -> model.addRow(new Object[] {
+                        entry.getValue().getName(),
+                        entry.getValue().getCategory(),
+                        entry.getKey(),
+                        entry.getValue().getVenue(),
+                        entry.getValue().getOrganizer(),
+                        entry.getValue().getParticipantCount()
                 }));
         JTable table = new JTable(model);
         styleReportTable(table);
@@ -890,17 +1374,16 @@ public class EventManagerFrame extends JFrame {
         JPanel cards = new JPanel(new GridLayout(1, 0, 12, 12));
         cards.setOpaque(false);
 
-        int totalEvents = events.size();
-        int totalParticipants = events.stream().mapToInt(UniversityEvent::getParticipantCount).sum();
-        UniversityEvent busiest = events.stream()
-                .max(Comparator.comparingInt(UniversityEvent::getParticipantCount))
-                .orElse(null);
+        EventStatistics stats = statisticsAggregator.aggregate(events);
+        UniversityEvent busiest = stats.getBusiest();
 
-        cards.add(buildStatCard("Total Events", String.valueOf(totalEvents), "All scheduled activities"));
-        cards.add(buildStatCard("Total Participants", String.valueOf(totalParticipants),
+        cards.add(buildStatCard("Total Events", String.valueOf(stats.getTotalEvents()), "All scheduled activities"));
+        cards.add(buildStatCard("Total Participants", String.valueOf(stats.getTotalParticipants()),
                 "Across every event"));
         String busiestText = busiest == null ? "N/A" : busiest.getName() + " (" + busiest.getParticipantCount() + ")";
         cards.add(buildStatCard("Busiest Event", busiestText, "Most popular session"));
+        cards.add(buildStatCard("Staff : Students", stats.getStaffCount() + " : " + stats.getStudentCount(),
+                "Registrant mix"));
 
         panel.add(cards, BorderLayout.NORTH);
 
@@ -910,19 +1393,31 @@ public class EventManagerFrame extends JFrame {
         clashArea.setWrapStyleWord(true);
         clashArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
 
-        String clashText = events.stream()
-                .collect(Collectors.groupingBy(ev -> ev.getDate() + "@" + ev.getVenue()))
-                .values()
-                .stream()
-                .filter(list -> list.size() > 1)
-                .map(list -> list.get(0).getDate() + " @ " + list.get(0).getVenue()
-                        + " -> " + list.stream().map(UniversityEvent::getName).collect(Collectors.joining(", ")))
+        StringBuilder report = new StringBuilder();
+        report.append("Registrations per Category\n---------------------\n");
+        stats.getRegistrationsByCategory().forEach((category, count) -> report.append(category)
+                .append(": ").append(count).append("\n"));
+        report.append("\nOrganizer Load (events)\n---------------------\n");
+        stats.getOrganizerLoad().forEach((organizer, count) -> report.append(organizer)
+                .append(": ").append(count).append("\n"));
+        report.append("\nVenue Utilization (events per week)\n---------------------\n");
+        stats.getVenueUtilization().forEach((venue, weeks) -> {
+            report.append(venue).append("\n");
+            weeks.forEach((week, count) -> report.append("  week of ").append(week)
+                    .append(": ").append(count).append("\n"));
+        });
+
+        String clashText = stats.getClashes().stream()
+                .map(clash -> clash.date() + " @ " + clash.venue() + " -> "
+                        + clash.events().stream().map(UniversityEvent::getName).collect(Collectors.joining(", ")))
                 .collect(Collectors.joining("\n"));
 
         if (clashText.isBlank()) {
             clashText = "No venue clashes detected.";
         }
-        clashArea.setText("Date/Venue Conflicts\n---------------------\n" + clashText);
+        report.append("\nDate/Venue Conflicts\n---------------------\n").append(clashText);
+        clashArea.setText(report.toString());
+        clashArea.setCaretPosition(0);
 
         JPanel clashCard = new JPanel(new BorderLayout());
         Theme.styleCard(clashCard);
@@ -931,6 +1426,52 @@ public class EventManagerFrame extends JFrame {
         return panel;
     }
 
+    /**
+     * Operation timings, counters and gauges from {@link Metrics}; the same values are published over JMX.
+     */
+    private JComponent buildDiagnosticsPanel() {
+        String[] columns = { "Metric", "Kind", "Count", "Value / Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms" };
+        DefaultTableModel model = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        Runnable fill = () -> {
+            model.setRowCount(0);
+            for (Metrics.Reading reading : Metrics.snapshot()) {
+                boolean timer = "timer".equals(reading.kind());
+                model.addRow(new Object[] {
+                        reading.name(),
+                        reading.kind(),
+                        "gauge".equals(reading.kind()) ? "" : reading.count(),
+                        timer ? String.format("%.2f", reading.value()) : String.valueOf((long) reading.value()),
+                        timer ? String.format("%.2f", reading.p50()) : "",
+                        timer ? String.format("%.2f", reading.p95()) : "",
+                        timer ? String.format("%.2f", reading.p99()) : "",
+                        timer ? String.format("%.2f", reading.max()) : ""
+                });
+            }
+        };
+        fill.run();
+        JTable table = new JTable(model);
+        styleReportTable(table);
+        table.getColumnModel().getColumn(0).setPreferredWidth(180);
+
+        JButton refresh = new JButton("Refresh");
+        Theme.styleButton(refresh);
+        refresh.addActionListener(e -> fill.run());
+        JPanel actions = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        actions.setOpaque(false);
+        actions.add(refresh);
+
+        JPanel panel = new JPanel(new BorderLayout(0, 8));
+        panel.setOpaque(false);
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        panel.add(actions, BorderLayout.SOUTH);
+        return panel;
+    }
+
     private JComponent buildStatCard(String title, String value, String subtitle) {
         JPanel card = new JPanel(new BorderLayout());
         Theme.styleCard(card);
@@ -1027,7 +1568,10 @@ public class EventManagerFrame extends JFrame {
                 .atZone(ZoneId.systemDefault())
                 .toLocalTime().withSecond(0).withNano(0);
 
-        if (hasClashingEvent(eventId, date, time, venue)) {
+        UniversityEvent candidate = new UniversityEvent(eventId, name, date, time, venue, organizer, category);
+        candidate.setRecurrence(recurrenceFromForm(date));
+        candidate.setCapacity((Integer) capacitySpinner.getValue());
+        if (hasClashingEvent(candidate)) {
             throw new IllegalArgumentException(
                     "Another event is already scheduled at this venue at the same date/time.");
         }
@@ -1046,20 +1590,242 @@ public class EventManagerFrame extends JFrame {
             throw new IllegalArgumentException("Event date/time cannot be in the past.");
         }
 
-        return new UniversityEvent(eventId, name, date, time, venue, organizer, category);
+        return candidate;
     }
 
-    private boolean hasClashingEvent(String eventId, LocalDate date, LocalTime time, String venue) {
-        return events.stream()
-                .filter(ev -> !ev.getEventId().equalsIgnoreCase(eventId))
-                .anyMatch(ev -> ev.getDate().equals(date) && Objects.equals(ev.getTime(), time)
-                        && ev.getVenue().equalsIgnoreCase(venue));
+    private boolean hasClashingEvent(UniversityEvent candidate) {
+        FlightEvents.ClashCheck flight = new FlightEvents.ClashCheck();
+        flight.begin();
+        boolean clash = CLASH_CHECK_TIMER.time(() -> events.stream()
+                .filter(ev -> !ev.getEventId().equalsIgnoreCase(candidate.getEventId()))
+                .anyMatch(ev -> ev.clashesWith(candidate)));
+        if (flight.shouldCommit()) {
+            flight.eventId = candidate.getEventId();
+            flight.candidates = events.size();
+            flight.clash = clash;
+            flight.commit();
+        }
+        return clash;
+    }
+
+    /**
+     * Applies store changes to the event table, metric cards and participant list as targeted row updates.
+     */
+    private void subscribeToStore() {
+        EventBus bus = databaseHelper.getEventBus();
+        bus.subscribe(DomainEvent.EventAdded.class, e -> onEdt(() -> insertEventRow(e.event())));
+        bus.subscribe(DomainEvent.EventUpdated.class, e -> onEdt(() -> updateEventRow(e.event())));
+        bus.subscribe(DomainEvent.EventDeleted.class, e -> onEdt(() -> removeEventRow(e.event())));
+        bus.subscribe(DomainEvent.ParticipantAdded.class,
+                e -> onEdt(() -> participantAdded(e.event(), e.participant())));
+        bus.subscribe(DomainEvent.ParticipantRemoved.class,
+                e -> onEdt(() -> participantRemoved(e.event(), e.participant())));
+        bus.subscribe(DomainEvent.Waitlisted.class, e -> onEdt(() -> waitlistChanged(e.event(), true)));
+        bus.subscribe(DomainEvent.LeftWaitlist.class, e -> onEdt(() -> waitlistChanged(e.event(), true)));
+        // The promoted person's ParticipantAdded already counted the change
+        bus.subscribe(DomainEvent.WaitlistPromoted.class, e -> onEdt(() -> waitlistChanged(e.event(), false)));
+    }
+
+    private static void onEdt(Runnable task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            task.run();
+        } else {
+            SwingUtilities.invokeLater(task);
+        }
+    }
+
+    private void insertEventRow(UniversityEvent event) {
+        participantNames.addEvent(event);
+        if (deferRowUpdates) {
+            events.add(event);
+            return;
+        }
+        int row = insertionRow(event.getDate());
+        events.add(row, event);
+        nameIndex.track(event);
+        eventTableModel.insertRow(row, toTableRow(event));
+        participantTotal += event.getParticipantCount();
+        updateMetricLabels();
+    }
+
+    private void updateEventRow(UniversityEvent event) {
+        if (deferRowUpdates) {
+            // The row already holds this instance; the rebuild afterwards re-sorts and re-renders it
+            return;
+        }
+        int row = rowOf(event);
+        if (row < 0) {
+            insertEventRow(event);
+            return;
+        }
+        boolean inOrder = (row == 0 || !events.get(row - 1).getDate().isAfter(event.getDate()))
+                && (row == events.size() - 1 || !events.get(row + 1).getDate().isBefore(event.getDate()));
+        if (inOrder) {
+            nameIndex.track(event);
+            Object[] values = toTableRow(event);
+            for (int column = 0; column < values.length; column++) {
+                eventTableModel.setValueAt(values[column], row, column);
+            }
+            return;
+        }
+        boolean wasSelected = eventTable.getSelectedRow() == row;
+        events.remove(row);
+        eventTableModel.removeRow(row);
+        participantTotal -= event.getParticipantCount();
+        insertEventRow(event);
+        if (wasSelected) {
+            selectEvent(event);
+        }
+    }
+
+    private void removeEventRow(UniversityEvent event) {
+        if (deferRowUpdates) {
+            deferredRemovals.add(event);
+            return;
+        }
+        int row = rowOf(event);
+        if (row < 0) {
+            return;
+        }
+        events.remove(row);
+        nameIndex.forget(event);
+        participantNames.removeEvent(event);
+        eventTableModel.removeRow(row);
+        participantTotal -= event.getParticipantCount();
+        updateMetricLabels();
+    }
+
+    private void participantAdded(UniversityEvent event, Participant participant) {
+        participantNames.add(event, participant.getParticipantId(), participant.getFullName());
+        int row = rowOf(event);
+        if (row < 0) {
+            return;
+        }
+        eventTableModel.setValueAt(event.getParticipantCount(), row, 6);
+        participantTotal++;
+        updateMetricLabels();
+        if (eventTable.getSelectedRow() == row) {
+            if (event.getWaitlist().isEmpty()) {
+                participantTableModel.addRow(toParticipantRow(participant));
+            } else {
+                // Keep the roster above the waitlist rows
+                loadParticipants(event);
+            }
+            // Roster changes don't touch the form's fields, so they don't make it stale
+            formVersion++;
+        }
+    }
+
+    private void waitlistChanged(UniversityEvent event, boolean newVersion) {
+        int row = rowOf(event);
+        if (row >= 0 && eventTable.getSelectedRow() == row) {
+            loadParticipants(event);
+            if (newVersion) {
+                formVersion++;
+            }
+        }
+    }
+
+    private void participantRemoved(UniversityEvent event, Participant participant) {
+        participantNames.remove(event, participant.getParticipantId());
+        int row = rowOf(event);
+        if (row < 0) {
+            return;
+        }
+        eventTableModel.setValueAt(event.getParticipantCount(), row, 6);
+        participantTotal--;
+        updateMetricLabels();
+        if (eventTable.getSelectedRow() == row) {
+            formVersion++;
+            for (int i = 0; i < participantTableModel.getRowCount(); i++) {
+                if (participant.getParticipantId().equals(participantTableModel.getValueAt(i, 0))) {
+                    participantTableModel.removeRow(i);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Row of the given event, checking the selected row first since most changes target it.
+     */
+    private int rowOf(UniversityEvent event) {
+        int selected = eventTable.getSelectedRow();
+        if (selected >= 0 && selected < events.size() && events.get(selected) == event) {
+            return selected;
+        }
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i) == event) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * First row whose date is after {@code date}, keeping the table ordered by date.
+     */
+    private int insertionRow(LocalDate date) {
+        int low = 0;
+        int high = events.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (events.get(mid).getDate().isAfter(date)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private void updateMetricLabels() {
+        totalEventsLabel.setText(String.valueOf(events.size()));
+        totalParticipantsLabel.setText(String.valueOf(participantTotal));
+    }
+
+    /**
+     * In client mode, polls the shared service and reloads the table when another desk changed the store. The
+     * requests run on a background thread, so a slow or unreachable service never blocks the window.
+     */
+    private void startRemoteSync(RemoteDatabaseHelper remote) {
+        java.util.concurrent.ScheduledExecutorService sync = java.util.concurrent.Executors
+                .newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "remote-sync");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Only touched on the sync thread; the first poll just records where the store stands
+        long[] knownRevision = { Long.MIN_VALUE };
+        sync.scheduleWithFixedDelay(() -> {
+            try {
+                long revision = remote.getRevision();
+                if (revision == knownRevision[0]) {
+                    return;
+                }
+                if (knownRevision[0] != Long.MIN_VALUE) {
+                    List<UniversityEvent> fresh = remote.fetchEvents();
+                    SwingUtilities.invokeLater(() -> applyRemoteEvents(remote, fresh));
+                }
+                knownRevision[0] = revision;
+            } catch (IllegalStateException ex) {
+                SwingUtilities.invokeLater(() -> statusLabel.setText(ex.getMessage()));
+            }
+        }, 0, REMOTE_SYNC_MILLIS, java.util.concurrent.TimeUnit.MILLISECONDS);
     }
 
-    private void persistAndRefresh(String statusMessage) {
-        databaseHelper.saveEvents(events);
+    private void applyRemoteEvents(RemoteDatabaseHelper remote, List<UniversityEvent> fresh) {
+        int row = eventTable.getSelectedRow();
+        UniversityEvent selected = row >= 0 && row < events.size() ? events.get(row) : null;
+        events.clear();
+        events.addAll(remote.adopt(fresh));
+        nameIndex.rebuild(events);
+        participantNames.rebuild(events);
         refreshEventTable();
-        statusLabel.setText(statusMessage);
+        if (selected != null && events.contains(selected)) {
+            selectEvent(selected);
+        }
+        statusLabel.setText("Synchronized with event service.");
     }
 
     private void startNotificationScheduler() {
@@ -1068,25 +1834,64 @@ public class EventManagerFrame extends JFrame {
             try {
                 if (!notificationsEnabled)
                     return;
+                FlightEvents.NotificationSweep sweep = new FlightEvents.NotificationSweep();
+                sweep.begin();
                 // check upcoming events
                 for (UniversityEvent ev : events) {
+                    sweep.checked++;
                     if (ev.getDate() == null || ev.getTime() == null)
                         continue;
-                    java.time.LocalDateTime eventDateTime = java.time.LocalDateTime.of(ev.getDate(), ev.getTime());
+                    // only the next occurrence of a series matters; it is computed from the rule, not expanded
+                    LocalDate day = ev.nextOccurrence(LocalDate.now());
+                    if (day == null)
+                        continue;
+                    java.time.LocalDateTime eventDateTime = java.time.LocalDateTime.of(day, ev.getTime());
                     java.time.LocalDateTime threshold = java.time.LocalDateTime.now().plusMinutes(minutesBefore);
-                    if (!notifiedEvents.contains(ev.getEventId()) && !eventDateTime.isAfter(threshold)
+                    String key = ev.getEventId() + "@" + day;
+                    if (!notifiedEvents.contains(key) && !eventDateTime.isAfter(threshold)
                             && eventDateTime.isAfter(java.time.LocalDateTime.now())) {
-                        // show notification
-                        showTrayNotification("Upcoming event: " + ev.getName(),
-                                ev.getDate() + " " + ev.getTime() + " @ " + ev.getVenue());
-                        notifiedEvents.add(ev.getEventId());
+                        notifiedEvents.add(key);
+                        List<Participant> recipients;
+                        synchronized (databaseHelper) {
+                            recipients = new ParticipantRoster(ev.roster());
+                        }
+                        sweep.due++;
+                        sweep.recipients += recipients.size();
+                        if (recipients.isEmpty()) {
+                            showTrayNotification("Upcoming event: " + ev.getName(),
+                                    day + " " + ev.getTime() + " @ " + ev.getVenue());
+                            continue;
+                        }
+                        // fan out to every participant; the tray sink shows the one desktop notice
+                        reminderDispatcher.dispatch(ev, day, recipients).thenAccept(result ->
+                                SwingUtilities.invokeLater(() ->
+                                        statusLabel.setText("Reminders for " + ev.getName() + ": " + result)));
                     }
                 }
+                sweep.commit();
             } catch (Exception ignored) {
             }
         }, 10, 60, java.util.concurrent.TimeUnit.SECONDS);
     }
 
+    /**
+     * Tray and log-file reminders always; SMTP when {@code reminders.smtp.host} is set in the settings file.
+     */
+    private List<NotificationSink> buildReminderSinks(java.util.Properties props) {
+        List<NotificationSink> sinks = new ArrayList<>();
+        sinks.add(new TrayNotificationSink(this::showTrayNotification));
+        sinks.add(new LogFileNotificationSink(java.nio.file.Path.of("data", "reminders.log")));
+        String smtpHost = props.getProperty("reminders.smtp.host");
+        if (smtpHost != null && !smtpHost.isBlank()) {
+            String domain = props.getProperty("reminders.smtp.domain", "students.example.edu");
+            sinks.add(new SmtpNotificationSink(smtpHost.trim(),
+                    Integer.parseInt(props.getProperty("reminders.smtp.port", "25").trim()),
+                    props.getProperty("reminders.smtp.from", "events@" + domain),
+                    participant -> participant.getParticipantId().toLowerCase(java.util.Locale.ROOT) + "@" + domain));
+        }
+        return sinks;
+    }
+
     private void showTrayNotification(String caption, String text) {
         try {
             if (SystemTray.isSupported()) {
@@ -1111,38 +1916,63 @@ public class EventManagerFrame extends JFrame {
     }
 
     private void refreshEventTable() {
+        long start = System.nanoTime();
         eventTableModel.setRowCount(0);
         events.sort(Comparator.comparing(UniversityEvent::getDate));
         for (UniversityEvent event : events) {
-            String dt = event.getDate().toString();
-            if (event.getTime() != null) {
-                dt = event.getDate().toString() + " " + event.getTime().toString();
-            }
-            eventTableModel.addRow(new Object[] {
-                    event.getEventId(),
-                    event.getName(),
-                    dt,
-                    event.getVenue(),
-                    event.getOrganizer(),
-                    event.getCategory(),
-                    event.getParticipantCount()
-            });
+            eventTableModel.addRow(toTableRow(event));
         }
-        totalEventsLabel.setText(String.valueOf(events.size()));
-        totalParticipantsLabel.setText(String.valueOf(events.stream()
+        participantTotal = events.stream()
                 .mapToInt(UniversityEvent::getParticipantCount)
-                .sum()));
+                .sum();
+        updateMetricLabels();
+        TABLE_REFRESH_TIMER.record(System.nanoTime() - start);
+    }
+
+    private Object[] toTableRow(UniversityEvent event) {
+        String dt = event.getDate().toString();
+        if (event.getTime() != null) {
+            dt = event.getDate().toString() + " " + event.getTime().toString();
+        }
+        if (event.isRecurring()) {
+            dt += " (" + event.getRecurrence() + ")";
+        }
+        return new Object[] {
+                event.getEventId(),
+                event.getName(),
+                dt,
+                event.getVenue(),
+                event.getOrganizer(),
+                event.getCategory(),
+                event.getParticipantCount()
+        };
     }
 
     private void selectEvent(UniversityEvent event) {
-        for (int i = 0; i < events.size(); i++) {
-            if (events.get(i) == event) {
-                eventTable.setRowSelectionInterval(i, i);
-                eventTable.scrollRectToVisible(eventTable.getCellRect(i, 0, true));
-                populateFormFromSelection();
-                break;
+        int row = rowOf(event);
+        if (row >= 0) {
+            eventTable.setRowSelectionInterval(row, row);
+            eventTable.scrollRectToVisible(eventTable.getCellRect(row, 0, true));
+            populateFormFromSelection();
+        }
+    }
+
+    private void selectEvents(List<UniversityEvent> selection) {
+        java.util.Set<UniversityEvent> wanted = java.util.Collections.newSetFromMap(new java.util.IdentityHashMap<>());
+        wanted.addAll(selection);
+        ListSelectionModel model = eventTable.getSelectionModel();
+        model.setValueIsAdjusting(true);
+        model.clearSelection();
+        for (int row = 0; row < events.size(); row++) {
+            if (wanted.contains(events.get(row))) {
+                model.addSelectionInterval(row, row);
             }
         }
+        model.setValueIsAdjusting(false);
+        int first = model.getMinSelectionIndex();
+        if (first >= 0) {
+            eventTable.scrollRectToVisible(eventTable.getCellRect(first, 0, true));
+        }
     }
 
     private void showError(String message) {
@@ -1297,11 +2127,19 @@ public class EventManagerFrame extends JFrame {
         }
     }
 
+    private static String describeRepeat(UniversityEvent event) {
+        return event.isRecurring() ? event.getRecurrence().toString() : "Does not repeat";
+    }
+
+    private static String describeCapacity(int capacity) {
+        return capacity == 0 ? "venue default" : capacity + " seats";
+    }
+
     private String formatEventId(int number) {
         return String.format("EVT-%04d", Math.max(1, number));
     }
 
     private String formatParticipantId(int number) {
-        return String.format("PAR-%05d", Math.max(1, number));
+        return ParticipantRoster.formatId(Math.max(1, number));
     }
 }
@@ -0,0 +1,200 @@
+package eventmanager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Immutable description of a read against {@link DatabaseHelper#queryEvents} or {@link DatabaseHelper#streamEvents}.
+ * <p>
+ * Venue and category are resolved to {@link Vocabulary} codes once, so candidates are rejected on an int
+ * compare before the date range or any free-form {@link #matching} predicate is looked at. Only venue,
+ * category, dates, page size and the participants flag travel to a shared service; {@link #matching} is always
+ * applied by the caller's process.
+ */
+public final class EventQuery {
+    public static final int DEFAULT_PAGE_SIZE = 500;
+
+    /**
+     * Order of every query result: date, time, then case-insensitive ID. Cursors are positions in this order.
+     */
+    public static final Comparator<UniversityEvent> ORDER = Comparator
+            .comparing(UniversityEvent::getDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(UniversityEvent::getTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(event -> event.getEventId() == null ? "" : event.getEventId().toUpperCase());
+
+    // Codes no event carries: no filter, and a filter on a value that is not in the vocabulary at all
+    private static final int ANY = Integer.MIN_VALUE;
+    private static final int NO_MATCH = -2;
+
+    /**
+     * One page of results; {@code nextCursor} is {@code null} on the last page.
+     */
+    public record Page(List<UniversityEvent> events, String nextCursor) {
+        public boolean hasMore() {
+            return nextCursor != null;
+        }
+    }
+
+    private final String venue;
+    private final String category;
+    private final int venueCode;
+    private final int categoryCode;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Predicate<UniversityEvent> filter;
+    private final int pageSize;
+    private final boolean includeParticipants;
+
+    private EventQuery(String venue, String category, LocalDate from, LocalDate to,
+                       Predicate<UniversityEvent> filter, int pageSize, boolean includeParticipants) {
+        this.venue = venue;
+        this.category = category;
+        this.venueCode = codeFor(Vocabulary.VENUES, venue);
+        this.categoryCode = codeFor(Vocabulary.CATEGORIES, category);
+        this.from = from;
+        this.to = to;
+        this.filter = filter;
+        this.pageSize = pageSize;
+        this.includeParticipants = includeParticipants;
+    }
+
+    public static EventQuery all() {
+        return new EventQuery(null, null, null, null, null, DEFAULT_PAGE_SIZE, true);
+    }
+
+    public EventQuery venue(String venue) {
+        return new EventQuery(venue, category, from, to, filter, pageSize, includeParticipants);
+    }
+
+    public EventQuery category(String category) {
+        return new EventQuery(venue, category, from, to, filter, pageSize, includeParticipants);
+    }
+
+    /**
+     * Events with at least one occurrence in {@code [from, to]}; either bound may be {@code null} for an open end.
+     */
+    public EventQuery between(LocalDate from, LocalDate to) {
+        return new EventQuery(venue, category, from, to, filter, pageSize, includeParticipants);
+    }
+
+    /**
+     * Adds a free-form condition, checked after the venue, category and date filters.
+     */
+    public EventQuery matching(Predicate<UniversityEvent> condition) {
+        Predicate<UniversityEvent> combined = filter == null ? condition : filter.and(condition);
+        return new EventQuery(venue, category, from, to, combined, pageSize, includeParticipants);
+    }
+
+    public EventQuery pageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        return new EventQuery(venue, category, from, to, filter, pageSize, includeParticipants);
+    }
+
+    /**
+     * Results may come without their rosters; fetch one with {@link DatabaseHelper#loadParticipants} when needed.
+     * A local store holds rosters in memory anyway and ignores this.
+     */
+    public EventQuery withoutParticipants() {
+        return new EventQuery(venue, category, from, to, filter, pageSize, false);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public boolean includesParticipants() {
+        return includeParticipants;
+    }
+
+    public boolean test(UniversityEvent event) {
+        if (venueCode != ANY && event.getVenueCode() != venueCode
+                || categoryCode != ANY && event.getCategoryCode() != categoryCode) {
+            return false;
+        }
+        if (from != null || to != null) {
+            LocalDate date = event.getDate();
+            if (date == null) {
+                return false;
+            }
+            // Computed from the rule, so open-ended series match however far out the range is
+            LocalDate next = event.nextOccurrence(from == null ? date : from);
+            if (next == null || to != null && next.isAfter(to)) {
+                return false;
+            }
+        }
+        return filter == null || filter.test(event);
+    }
+
+    /**
+     * Just the free-form part of the query, for results a service has already filtered on everything else.
+     */
+    public boolean testLocally(UniversityEvent event) {
+        return filter == null || filter.test(event);
+    }
+
+    /**
+     * The service-side part of the query as request parameters.
+     */
+    public Map<String, String> toParameters() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (venue != null) {
+            parameters.put("venue", venue);
+        }
+        if (category != null) {
+            parameters.put("category", category);
+        }
+        if (from != null) {
+            parameters.put("from", from.toString());
+        }
+        if (to != null) {
+            parameters.put("to", to.toString());
+        }
+        parameters.put("limit", Integer.toString(pageSize));
+        parameters.put("participants", Boolean.toString(includeParticipants));
+        return parameters;
+    }
+
+    public static EventQuery fromParameters(Map<String, String> parameters) {
+        String limit = parameters.get("limit");
+        return new EventQuery(parameters.get("venue"), parameters.get("category"),
+                parameters.containsKey("from") ? LocalDate.parse(parameters.get("from")) : null,
+                parameters.containsKey("to") ? LocalDate.parse(parameters.get("to")) : null,
+                null, limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Integer.parseInt(limit)),
+                !"false".equals(parameters.get("participants")));
+    }
+
+    public static String cursorOf(UniversityEvent event) {
+        return (event.getDate() == null ? "" : event.getDate().toString()) + "|"
+                + (event.getTime() == null ? "" : event.getTime().toString()) + "|"
+                + (event.getEventId() == null ? "" : event.getEventId());
+    }
+
+    /**
+     * A stand-in event at the cursor position, to compare against with {@link #ORDER}.
+     */
+    public static UniversityEvent parseCursor(String cursor) {
+        String[] parts = cursor.split("\\|", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        return new UniversityEvent(parts[2], null,
+                parts[0].isEmpty() ? null : LocalDate.parse(parts[0]),
+                parts[1].isEmpty() ? null : LocalTime.parse(parts[1]),
+                null, null, null);
+    }
+
+    private static int codeFor(Vocabulary vocabulary, String value) {
+        if (value == null) {
+            return ANY;
+        }
+        int code = vocabulary.find(value);
+        return code == Vocabulary.NONE ? NO_MATCH : code;
+    }
+}
@@ -0,0 +1,359 @@
+package eventmanager;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Embedded HTTP/JSON service exposing a {@link DatabaseHelper} to several desks at once.
+ * Each request is handled on its own virtual thread.
+ *
+ * <pre>
+ * GET    /revision                       store revision counter
+ * GET    /events                         all events
+ * PUT    /events                         replace the whole store
+ * POST   /events                         add an event
+ * GET    /events/query?venue=&amp;category=&amp;from=&amp;to=&amp;limit=&amp;participants=&amp;after=   one page of matching events
+ * POST   /events/additions               add a batch of events, all or none
+ * POST   /events/imports                 add the events of a batch that pass import screening
+ * POST   /events/registrations           register a batch of participants
+ * POST   /events/updates                 apply a batch of edits in one change
+ * POST   /events/deletions               delete a batch of events by ID
+ * GET    /events/{id}                    one event
+ * PUT    /events/{id}                    update an event
+ * DELETE /events/{id}                    delete an event
+ * GET    /events/{id}/conflicts?date=&amp;venue=   venue/date clash check
+ * GET    /events/{id}/participants       roster of an event
+ * GET    /events/{id}/seats              seats still free at an event
+ * POST   /events/{id}/participants       register a participant
+ * DELETE /events/{id}/participants/{pid} remove a participant
+ * </pre>
+ *
+ * {@code PUT /events/{id}} and {@code POST /events/{id}/participants} honour an {@code If-Match: <version>}
+ * header and answer 412 if the event has moved on; {@code POST /events/updates} checks the version in each event.
+ * {@code PUT /events} takes the store revision in {@code If-Match} and announces every event it adds, changes or
+ * drops like any other edit. Requests whose body, parameters or headers cannot be parsed are answered with 400.
+ * Registrations for a full event are answered with the waitlist entry, whose ID starts with {@code WL-}.
+ */
+public class EventService {
+    public static final int DEFAULT_PORT = 8085;
+
+    private final DatabaseHelper databaseHelper;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public EventService(DatabaseHelper databaseHelper, InetSocketAddress address) throws IOException {
+        this.databaseHelper = databaseHelper;
+        this.server = HttpServer.create(address, 0);
+        this.server.createContext("/events", this::handle);
+        this.server.createContext("/revision", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            route(exchange);
+        } catch (BadRequestException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (StaleEventException e) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("error", e.getMessage());
+            body.put("eventId", e.getEventId());
+            body.put("expectedVersion", e.getExpectedVersion());
+            body.put("currentVersion", e.getCurrentVersion());
+            send(exchange, 412, JsonCodec.writeObject(body));
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 409, e.getMessage());
+        } catch (NoSuchElementException e) {
+            sendError(exchange, 404, e.getMessage());
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, String.valueOf(e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        if ("/revision".equals(exchange.getRequestURI().getRawPath()) && "GET".equals(method)) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("revision", databaseHelper.getRevision());
+            send(exchange, 200, JsonCodec.writeObject(body));
+            return;
+        }
+        if (!exchange.getRequestURI().getRawPath().startsWith("/events")) {
+            send(exchange, 404, null);
+            return;
+        }
+        String[] path = exchange.getRequestURI().getRawPath().replaceAll("^/events/?", "").split("/");
+        String id = path[0].isEmpty() ? null : URLDecoder.decode(path[0], StandardCharsets.UTF_8);
+
+        if (id == null) {
+            if ("GET".equals(method)) {
+                send(exchange, 200, snapshot(() -> JsonCodec.writeEvents(databaseHelper.loadEvents())));
+            } else if ("PUT".equals(method)) {
+                String body = readBody(exchange);
+                List<UniversityEvent> replacement = parse(() -> JsonCodec.readEvents(body));
+                long expectedRevision = expectedVersion(exchange);
+                boolean current;
+                synchronized (databaseHelper) {
+                    current = expectedRevision == DatabaseHelper.ANY_VERSION
+                            || expectedRevision == databaseHelper.getRevision();
+                    if (current) {
+                        databaseHelper.replaceEvents(replacement);
+                    }
+                }
+                if (current) {
+                    send(exchange, 204, null);
+                } else {
+                    long revision = databaseHelper.getRevision();
+                    Map<String, Object> error = new LinkedHashMap<>();
+                    error.put("error", "The store was changed by someone else (revision " + revision + ", expected "
+                            + expectedRevision + "). Reload it and try again.");
+                    error.put("eventId", null);
+                    error.put("expectedVersion", expectedRevision);
+                    error.put("currentVersion", revision);
+                    send(exchange, 412, JsonCodec.writeObject(error));
+                }
+            } else if ("POST".equals(method)) {
+                String body = readBody(exchange);
+                UniversityEvent event = parse(() -> JsonCodec.readEvent(body));
+                databaseHelper.addEvent(event);
+                send(exchange, 201, snapshot(() -> JsonCodec.writeEvent(event)));
+            } else {
+                send(exchange, 405, null);
+            }
+            return;
+        }
+        if (path.length == 1 && "query".equals(id) && "GET".equals(method)) {
+            Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+            EventQuery query = parse(() -> EventQuery.fromParameters(parameters));
+            String cursor = parameters.get("after");
+            if (cursor != null) {
+                parse(() -> EventQuery.parseCursor(cursor));
+            }
+            send(exchange, 200, snapshot(() -> JsonCodec.writePage(
+                    databaseHelper.queryEvents(query, cursor), query.includesParticipants())));
+            return;
+        }
+        if (path.length == 1 && "additions".equals(id) && "POST".equals(method)) {
+            String body = readBody(exchange);
+            List<UniversityEvent> batch = parse(() -> JsonCodec.readEvents(body));
+            databaseHelper.addEvents(batch);
+            send(exchange, 201, snapshot(() -> JsonCodec.writeEvents(batch)));
+            return;
+        }
+        if (path.length == 1 && "imports".equals(id) && "POST".equals(method)) {
+            String body = readBody(exchange);
+            List<String> problems = databaseHelper.importEvents(parse(() -> JsonCodec.readEvents(body)));
+            send(exchange, 200, JsonCodec.writeStrings(problems));
+            return;
+        }
+        if (path.length == 1 && "registrations".equals(id) && "POST".equals(method)) {
+            String request = readBody(exchange);
+            List<Registration> batch = parse(() -> {
+                List<Registration> parsed = new ArrayList<>();
+                List<?> items = (List<?>) JsonCodec.parse(request);
+                for (int i = 0; i < items.size(); i++) {
+                    Map<?, ?> entry = (Map<?, ?>) items.get(i);
+                    parsed.add(new Registration((String) entry.get("eventId"),
+                            fullName(entry.get("fullName"), "Registration " + (i + 1) + ": "),
+                            Participant.ParticipantType.valueOf((String) entry.get("type"))));
+                }
+                return parsed;
+            });
+            List<Participant> registered = databaseHelper.registerParticipants(batch);
+            StringBuilder body = new StringBuilder("[");
+            for (int i = 0; i < registered.size(); i++) {
+                body.append(i > 0 ? "," : "")
+                        .append(registered.get(i) == null ? "null" : JsonCodec.writeParticipant(registered.get(i)));
+            }
+            send(exchange, 200, body.append(']').toString());
+            return;
+        }
+        if (path.length == 1 && "updates".equals(id) && "POST".equals(method)) {
+            String body = readBody(exchange);
+            List<UniversityEvent> updated = databaseHelper.updateEvents(parse(() -> JsonCodec.readEvents(body)));
+            send(exchange, 200, snapshot(() -> JsonCodec.writeEvents(updated)));
+            return;
+        }
+        if (path.length == 1 && "deletions".equals(id) && "POST".equals(method)) {
+            String body = readBody(exchange);
+            databaseHelper.deleteEvents(parse(() -> JsonCodec.readStrings(body)));
+            send(exchange, 204, null);
+            return;
+        }
+        if (path.length == 1) {
+            if ("GET".equals(method)) {
+                UniversityEvent event = databaseHelper.findEventById(id)
+                        .orElseThrow(() -> new NoSuchElementException("No event with ID " + id));
+                send(exchange, 200, snapshot(() -> JsonCodec.writeEvent(event)));
+            } else if ("PUT".equals(method)) {
+                String body = readBody(exchange);
+                UniversityEvent updated = databaseHelper.updateEvent(id, expectedVersion(exchange),
+                        parse(() -> JsonCodec.readEvent(body)));
+                send(exchange, 200, snapshot(() -> JsonCodec.writeEvent(updated)));
+            } else if ("DELETE".equals(method)) {
+                databaseHelper.deleteEvent(id);
+                send(exchange, 204, null);
+            } else {
+                send(exchange, 405, null);
+            }
+            return;
+        }
+        if (path.length == 2 && "participants".equals(path[1]) && "GET".equals(method)) {
+            send(exchange, 200, JsonCodec.writeParticipants(databaseHelper.loadParticipants(id)));
+            return;
+        }
+        if (path.length == 2 && "participants".equals(path[1]) && "POST".equals(method)) {
+            String request = readBody(exchange);
+            Map<String, Object> body = parse(() -> JsonCodec.readObject(request));
+            Participant.ParticipantType type = parse(
+                    () -> Participant.ParticipantType.valueOf((String) body.get("type")));
+            String fullName = fullName(body.get("fullName"), "");
+            Participant participant = databaseHelper.registerParticipant(id, expectedVersion(exchange), fullName,
+                    type);
+            send(exchange, 201, JsonCodec.writeParticipant(participant));
+            return;
+        }
+        if (path.length == 2 && "seats".equals(path[1]) && "GET".equals(method)) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("seatsLeft", databaseHelper.seatsLeft(id));
+            send(exchange, 200, JsonCodec.writeObject(body));
+            return;
+        }
+        if (path.length == 3 && "participants".equals(path[1]) && "DELETE".equals(method)) {
+            databaseHelper.removeParticipant(id, URLDecoder.decode(path[2], StandardCharsets.UTF_8));
+            send(exchange, 204, null);
+            return;
+        }
+        if (path.length == 2 && "conflicts".equals(path[1]) && "GET".equals(method)) {
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            LocalDate date = parse(() -> LocalDate.parse(query.get("date")));
+            boolean conflict = databaseHelper.hasConflictingEvent(id, date, query.get("venue"));
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("conflict", conflict);
+            send(exchange, 200, JsonCodec.writeObject(body));
+            return;
+        }
+        send(exchange, 404, null);
+    }
+
+    /**
+     * Renders JSON while holding the store's monitor so a concurrent registration can't interleave.
+     */
+    private String snapshot(Supplier<String> renderer) {
+        synchronized (databaseHelper) {
+            return renderer.get();
+        }
+    }
+
+    private static long expectedVersion(HttpExchange exchange) {
+        String ifMatch = exchange.getRequestHeaders().getFirst("If-Match");
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return DatabaseHelper.ANY_VERSION;
+        }
+        try {
+            return Long.parseLong(ifMatch.trim().replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("If-Match must be a version number, not " + ifMatch);
+        }
+    }
+
+    private static String fullName(Object value, String context) {
+        if (!(value instanceof String name) || name.isBlank()) {
+            throw new BadRequestException(context + "fullName must be a non-empty string");
+        }
+        return name;
+    }
+
+    /**
+     * Runs {@code parser} over request input, turning whatever it rejects into a 400 rather than a conflict.
+     */
+    private static <T> T parse(Supplier<T> parser) {
+        try {
+            return parser.get();
+        } catch (IllegalArgumentException | DateTimeException | ClassCastException | NullPointerException e) {
+            throw new BadRequestException(e.getMessage() == null ? "Malformed request" : e.getMessage());
+        }
+    }
+
+    // Request input that could not be parsed; answered with 400
+    private static final class BadRequestException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        BadRequestException(String message) {
+            super(message);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", message);
+        send(exchange, status, JsonCodec.writeObject(body));
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package eventmanager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable accumulator holding the statistics computed over a slice of events.
+ */
+public class EventStatistics {
+
+    /**
+     * Events at the same venue on the same day; {@code date} is the clashing occurrence, not a series' start.
+     */
+    public record Clash(LocalDate date, String venue, List<UniversityEvent> events) {
+    }
+
+    private record Slot(LocalDate date, String venue) {
+    }
+
+    private int totalEvents;
+    private long totalParticipants;
+    private long studentCount;
+    private long staffCount;
+    private UniversityEvent busiest;
+    private final Map<String, Long> registrationsByCategory = new HashMap<>();
+    private final Map<String, Integer> organizerLoad = new HashMap<>();
+    private final Map<String, Map<LocalDate, Integer>> venueUtilization = new HashMap<>();
+    private final Map<Slot, List<UniversityEvent>> eventsBySlot = new HashMap<>();
+
+    /**
+     * Folds a single event into this accumulator.
+     */
+    public void accept(UniversityEvent event) {
+        totalEvents++;
+        int count = event.getParticipantCount();
+        totalParticipants += count;
+        ParticipantRoster roster = event.roster();
+        for (int i = 0; i < count; i++) {
+            if (roster.typeAt(i) == Participant.ParticipantType.STAFF) {
+                staffCount++;
+            } else {
+                studentCount++;
+            }
+        }
+        if (busiest == null || count > busiest.getParticipantCount()) {
+            busiest = event;
+        }
+        registrationsByCategory.merge(event.getCategory(), (long) count, Long::sum);
+        organizerLoad.merge(event.getOrganizer(), 1, Integer::sum);
+        Map<LocalDate, Integer> weeks = venueUtilization.computeIfAbsent(event.getVenue(), v -> new HashMap<>());
+        // A series counts once per occurrence; open-ended ones only up to the expansion horizon
+        for (LocalDate day : event.occurrencesBetween(event.getDate(), event.getLastDate())) {
+            weeks.merge(day.with(DayOfWeek.MONDAY), 1, Integer::sum);
+            eventsBySlot.computeIfAbsent(new Slot(day, event.getVenue()), k -> new ArrayList<>()).add(event);
+        }
+    }
+
+    /**
+     * Merges another accumulator into this one and returns {@code this}.
+     */
+    public EventStatistics merge(EventStatistics other) {
+        totalEvents += other.totalEvents;
+        totalParticipants += other.totalParticipants;
+        studentCount += other.studentCount;
+        staffCount += other.staffCount;
+        if (other.busiest != null && (busiest == null
+                || other.busiest.getParticipantCount() > busiest.getParticipantCount())) {
+            busiest = other.busiest;
+        }
+        other.registrationsByCategory.forEach((k, v) -> registrationsByCategory.merge(k, v, Long::sum));
+        other.organizerLoad.forEach((k, v) -> organizerLoad.merge(k, v, Integer::sum));
+        other.venueUtilization.forEach((venue, weeks) -> {
+            Map<LocalDate, Integer> target = venueUtilization.computeIfAbsent(venue, v -> new HashMap<>());
+            weeks.forEach((week, n) -> target.merge(week, n, Integer::sum));
+        });
+        other.eventsBySlot.forEach((slot, list) -> eventsBySlot.computeIfAbsent(slot, k -> new ArrayList<>())
+                .addAll(list));
+        return this;
+    }
+
+    public int getTotalEvents() {
+        return totalEvents;
+    }
+
+    public long getTotalParticipants() {
+        return totalParticipants;
+    }
+
+    public long getStudentCount() {
+        return studentCount;
+    }
+
+    public long getStaffCount() {
+        return staffCount;
+    }
+
+    public UniversityEvent getBusiest() {
+        return busiest;
+    }
+
+    public Map<String, Long> getRegistrationsByCategory() {
+        return Collections.unmodifiableMap(new TreeMap<>(registrationsByCategory));
+    }
+
+    public Map<String, Integer> getOrganizerLoad() {
+        return Collections.unmodifiableMap(new TreeMap<>(organizerLoad));
+    }
+
+    /**
+     * Number of events per venue, keyed by the Monday of each week.
+     */
+    public Map<String, Map<LocalDate, Integer>> getVenueUtilization() {
+        Map<String, Map<LocalDate, Integer>> sorted = new TreeMap<>();
+        venueUtilization.forEach((venue, weeks) -> sorted.put(venue, new TreeMap<>(weeks)));
+        return Collections.unmodifiableMap(sorted);
+    }
+
+    /**
+     * Groups of events sharing the same date and venue, earliest first.
+     */
+    public List<Clash> getClashes() {
+        List<Clash> clashes = new ArrayList<>();
+        eventsBySlot.forEach((slot, list) -> {
+            if (list.size() > 1) {
+                clashes.add(new Clash(slot.date(), slot.venue(), Collections.unmodifiableList(list)));
+            }
+        });
+        clashes.sort(Comparator.comparing(Clash::date));
+        return clashes;
+    }
+}
@@ -0,0 +1,117 @@
+package eventmanager;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for domain operations, shown under "Event Manager" in JDK Mission Control.
+ * <p>
+ * Call sites follow one pattern: create the event, {@code begin()}, do the work, and only set fields and
+ * {@code commit()} if {@code shouldCommit()}. With no recording running the event is never registered as
+ * enabled, the JIT removes the allocation, and the fields that would cost something to compute (file sizes,
+ * counts) are never computed.
+ */
+public final class FlightEvents {
+
+    private FlightEvents() {
+    }
+
+    @Name("eventmanager.Save")
+    @Label("Store Save")
+    @Category({ "Event Manager", "Storage" })
+    @Description("Events written to the data file")
+    public static class Save extends Event {
+        @Label("Events")
+        public int events;
+
+        @Label("File Size")
+        @DataAmount(DataAmount.BYTES)
+        public long bytes;
+
+        @Label("Generation")
+        public long generation;
+    }
+
+    @Name("eventmanager.Load")
+    @Label("Store Load")
+    @Category({ "Event Manager", "Storage" })
+    @Description("Events read from the data file, in full or incrementally after an external change")
+    public static class Load extends Event {
+        @Label("Events")
+        public int events;
+
+        @Label("File Size")
+        @DataAmount(DataAmount.BYTES)
+        public long bytes;
+
+        @Label("Incremental")
+        public boolean incremental;
+
+        @Label("Recovered")
+        @Description("Whether the file was damaged and had to be salvaged")
+        public boolean recovered;
+    }
+
+    @Name("eventmanager.Registration")
+    @Label("Participant Registration")
+    @Category({ "Event Manager", "Participants" })
+    public static class Registration extends Event {
+        @Label("Event ID")
+        @Description("Event registered for; empty for a batch spanning several events")
+        public String eventId;
+
+        @Label("Requested")
+        public int requested;
+
+        @Label("Registered")
+        public int registered;
+    }
+
+    @Name("eventmanager.ClashCheck")
+    @Label("Clash Check")
+    @Category({ "Event Manager", "Scheduling" })
+    @StackTrace(false)
+    public static class ClashCheck extends Event {
+        @Label("Event ID")
+        public String eventId;
+
+        @Label("Candidates")
+        @Description("Events the candidate was compared with")
+        public int candidates;
+
+        @Label("Clash")
+        public boolean clash;
+    }
+
+    @Name("eventmanager.Report")
+    @Label("Report Generation")
+    @Category({ "Event Manager", "Reports" })
+    public static class Report extends Event {
+        @Label("Report")
+        public String report;
+
+        @Label("Events")
+        public int events;
+    }
+
+    @Name("eventmanager.NotificationSweep")
+    @Label("Notification Sweep")
+    @Category({ "Event Manager", "Notifications" })
+    @Description("One pass over the events looking for reminders that are due")
+    @StackTrace(false)
+    public static class NotificationSweep extends Event {
+        @Label("Events Checked")
+        public int checked;
+
+        @Label("Reminders Due")
+        public int due;
+
+        @Label("Recipients")
+        public int recipients;
+    }
+}
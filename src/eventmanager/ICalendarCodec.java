@@ -0,0 +1,446 @@
+package eventmanager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming iCalendar (RFC 5545) reader and writer for exchanging schedules with calendar systems.
+ * <p>
+ * Each {@code VEVENT} maps to one event: {@code SUMMARY} is the name, {@code DTSTART} the date and time (a
+ * date-only start leaves the time empty), {@code LOCATION} the venue, the {@code CN} of {@code ORGANIZER} the
+ * organizer, the first of {@code CATEGORIES} the category and a daily, weekly or monthly {@code RRULE} the
+ * repeat pattern. Participants are not exchanged. Both directions hold one event at a time, so files of any
+ * size are handled in constant memory.
+ */
+public final class ICalendarCodec {
+    private static final String PRODUCT_ID = "-//University Event Manager//Schedule Export//EN";
+    private static final String UID_DOMAIN = "@eventmanager";
+    // Outlook's and Google's stand-in address for an organizer without a mailbox
+    private static final String NO_MAILBOX = "invalid:nomail";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final Pattern OWN_UID = Pattern.compile("(EVT-\\d{4})(@.*)?", Pattern.CASE_INSENSITIVE);
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    /**
+     * Receives the events of a calendar as they are read.
+     */
+    public interface Visitor {
+        /**
+         * An event read from the file, its {@code VEVENT} ending on {@code line}. Its ID is the one it was
+         * exported under, or {@code null} when {@code uid} came from another system.
+         */
+        void accept(UniversityEvent event, String uid, int line);
+
+        /**
+         * A {@code VEVENT} ending on {@code line} that cannot be represented and was left out.
+         */
+        void skip(int line, String uid, String reason);
+    }
+
+    private ICalendarCodec() {
+    }
+
+    /**
+     * Reads every {@code VEVENT} of {@code in}, handing each to {@code visitor} before the next is read.
+     * Returns the number of events accepted.
+     */
+    public static int read(Reader in, Visitor visitor) throws IOException {
+        BufferedReader lines = in instanceof BufferedReader buffered ? buffered : new BufferedReader(in);
+        int accepted = 0;
+        int lineNumber = 0;
+        // Where the logical line being collected started, for messages
+        int logicalLine = 0;
+        int nested = 0;
+        Map<String, ContentLine> properties = null;
+        String logical = null;
+        while (true) {
+            String physical = lines.readLine();
+            if (physical != null) {
+                lineNumber++;
+                // A line starting with white space continues the previous one
+                if (logical != null && !physical.isEmpty()
+                        && (physical.charAt(0) == ' ' || physical.charAt(0) == '\t')) {
+                    logical += physical.substring(1);
+                    continue;
+                }
+            }
+            if (logical != null && !logical.isEmpty()) {
+                ContentLine line = ContentLine.parse(logical);
+                if (line == null) {
+                    throw new IOException("Malformed iCalendar line " + logicalLine + ": " + logical);
+                }
+                if (line.name.equals("BEGIN")) {
+                    if (properties == null && line.value.equalsIgnoreCase("VEVENT")) {
+                        properties = new HashMap<>();
+                    } else if (properties != null) {
+                        // VALARM and the like: nothing of theirs maps to an event
+                        nested++;
+                    }
+                } else if (line.name.equals("END") && properties != null) {
+                    if (nested > 0) {
+                        nested--;
+                    } else {
+                        if (toEvent(properties, logicalLine, visitor)) {
+                            accepted++;
+                        }
+                        properties = null;
+                    }
+                } else if (properties != null && nested == 0) {
+                    properties.putIfAbsent(line.name, line);
+                }
+            }
+            if (physical == null) {
+                return accepted;
+            }
+            logical = physical;
+            logicalLine = lineNumber;
+        }
+    }
+
+    private static boolean toEvent(Map<String, ContentLine> properties, int line, Visitor visitor) {
+        ContentLine uidLine = properties.get("UID");
+        String uid = uidLine == null ? null : unescape(uidLine.value);
+        String problem = unsupported(properties);
+        if (problem != null) {
+            visitor.skip(line, uid, problem);
+            return false;
+        }
+        UniversityEvent event;
+        try {
+            ContentLine start = properties.get("DTSTART");
+            LocalDateTime startsAt = parseDateTime(start);
+            boolean allDay = start.value.length() == 8;
+            ContentLine location = properties.get("LOCATION");
+            ContentLine organizer = properties.get("ORGANIZER");
+            ContentLine categories = properties.get("CATEGORIES");
+            Matcher own = uid == null ? null : OWN_UID.matcher(uid);
+            event = new UniversityEvent(
+                    own != null && own.matches() ? own.group(1).toUpperCase(Locale.ROOT) : null,
+                    unescape(properties.get("SUMMARY").value),
+                    startsAt.toLocalDate(),
+                    allDay ? null : startsAt.toLocalTime(),
+                    location == null ? null : unescape(location.value),
+                    organizer == null ? null : organizerName(organizer),
+                    categories == null ? null : firstCategory(categories.value));
+            ContentLine rule = properties.get("RRULE");
+            if (rule != null) {
+                event.setRecurrence(parseRule(rule.value, startsAt.toLocalDate()));
+            }
+        } catch (DateTimeException | IllegalArgumentException e) {
+            visitor.skip(line, uid, e.getMessage());
+            return false;
+        }
+        visitor.accept(event, uid, line);
+        return true;
+    }
+
+    private static String unsupported(Map<String, ContentLine> properties) {
+        if (!properties.containsKey("DTSTART")) {
+            return "no DTSTART";
+        }
+        if (!properties.containsKey("SUMMARY")) {
+            return "no SUMMARY";
+        }
+        if (properties.containsKey("RECURRENCE-ID")) {
+            return "changed occurrences of a series are not supported";
+        }
+        if (properties.containsKey("EXDATE") || properties.containsKey("RDATE")) {
+            return "series with added or excluded dates are not supported";
+        }
+        ContentLine status = properties.get("STATUS");
+        if (status != null && status.value.equalsIgnoreCase("CANCELLED")) {
+            return "cancelled";
+        }
+        return null;
+    }
+
+    /**
+     * Start in local time: UTC starts and starts in a known {@code TZID} are converted, floating ones taken as is.
+     */
+    private static LocalDateTime parseDateTime(ContentLine line) {
+        String value = line.value;
+        if (value.length() == 8) {
+            return LocalDate.parse(value, DATE).atStartOfDay();
+        }
+        boolean utc = value.endsWith("Z");
+        LocalDateTime local = LocalDateTime.parse(utc ? value.substring(0, value.length() - 1) : value, DATE_TIME);
+        ZoneId zone = utc ? ZoneOffset.UTC : null;
+        String tzid = line.parameters.get("TZID");
+        if (zone == null && tzid != null) {
+            try {
+                zone = ZoneId.of(tzid);
+            } catch (DateTimeException e) {
+                // e.g. a Windows zone name: take the time as written
+            }
+        }
+        return zone == null ? local : local.atZone(zone).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    private static RecurrenceRule parseRule(String value, LocalDate start) {
+        RecurrenceRule.Frequency frequency = null;
+        int interval = 1;
+        LocalDate until = null;
+        int count = 0;
+        for (String part : value.split(";")) {
+            String[] pair = part.split("=", 2);
+            String name = pair[0].trim().toUpperCase(Locale.ROOT);
+            String setting = pair.length == 2 ? pair[1].trim().toUpperCase(Locale.ROOT) : "";
+            switch (name) {
+                case "FREQ":
+                    try {
+                        frequency = RecurrenceRule.Frequency.valueOf(setting);
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("repeat frequency " + setting + " is not supported");
+                    }
+                    break;
+                case "INTERVAL":
+                    interval = Integer.parseInt(setting);
+                    break;
+                case "UNTIL":
+                    until = LocalDate.parse(setting.length() > 8 ? setting.substring(0, 8) : setting, DATE);
+                    break;
+                case "COUNT":
+                    count = Integer.parseInt(setting);
+                    break;
+                case "WKST":
+                    break;
+                case "BYDAY":
+                    // Only the start's own weekday, as many exporters spell out
+                    if (!setting.equals(start.getDayOfWeek().name().substring(0, 2))) {
+                        throw new IllegalArgumentException("repeat rule BYDAY=" + setting + " is not supported");
+                    }
+                    break;
+                case "BYMONTHDAY":
+                    if (!setting.equals(Integer.toString(start.getDayOfMonth()))) {
+                        throw new IllegalArgumentException("repeat rule BYMONTHDAY=" + setting
+                                + " is not supported");
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("repeat rule part " + name + " is not supported");
+            }
+        }
+        RecurrenceRule rule = new RecurrenceRule(frequency, interval, until, count);
+        rule.checkStart(start);
+        return rule;
+    }
+
+    private static String organizerName(ContentLine line) {
+        String name = line.parameters.get("CN");
+        if (name != null && !name.isBlank()) {
+            return name;
+        }
+        String address = line.value;
+        return address.regionMatches(true, 0, "mailto:", 0, 7) ? address.substring(7) : address;
+    }
+
+    private static String firstCategory(String value) {
+        List<String> categories = splitList(value);
+        return categories.isEmpty() ? null : categories.get(0);
+    }
+
+    /**
+     * Writes a calendar with one {@code VEVENT} per event, taking events from {@code events} as it goes. An event
+     * without a date or name cannot be a valid {@code VEVENT}; it is left out and handed to {@code skipped}.
+     * Returns the number written.
+     */
+    public static int write(Writer out, Iterator<UniversityEvent> events, Consumer<UniversityEvent> skipped)
+            throws IOException {
+        String stamp = LocalDateTime.now(ZoneOffset.UTC).format(DATE_TIME) + "Z";
+        writeLine(out, "BEGIN:VCALENDAR");
+        writeLine(out, "VERSION:2.0");
+        writeLine(out, "PRODID:" + PRODUCT_ID);
+        writeLine(out, "CALSCALE:GREGORIAN");
+        int count = 0;
+        while (events.hasNext()) {
+            UniversityEvent event = events.next();
+            if (event.getDate() == null || event.getName() == null) {
+                skipped.accept(event);
+                continue;
+            }
+            writeEvent(out, event, stamp);
+            count++;
+        }
+        writeLine(out, "END:VCALENDAR");
+        return count;
+    }
+
+    private static void writeEvent(Writer out, UniversityEvent event, String stamp) throws IOException {
+        writeLine(out, "BEGIN:VEVENT");
+        writeLine(out, "UID:" + escape(event.getEventId() + UID_DOMAIN));
+        writeLine(out, "DTSTAMP:" + stamp);
+        if (event.getTime() == null) {
+            writeLine(out, "DTSTART;VALUE=DATE:" + event.getDate().format(DATE));
+        } else {
+            writeLine(out, "DTSTART:" + event.getDate().atTime(event.getTime()).format(DATE_TIME));
+        }
+        writeLine(out, "SUMMARY:" + escape(event.getName()));
+        if (event.getVenue() != null) {
+            writeLine(out, "LOCATION:" + escape(event.getVenue()));
+        }
+        if (event.getOrganizer() != null) {
+            writeLine(out, "ORGANIZER;CN=" + quoteParameter(event.getOrganizer()) + ":" + NO_MAILBOX);
+        }
+        if (event.getCategory() != null) {
+            writeLine(out, "CATEGORIES:" + escape(event.getCategory()));
+        }
+        if (event.isRecurring()) {
+            RecurrenceRule rule = event.getRecurrence();
+            StringBuilder sb = new StringBuilder("RRULE:FREQ=").append(rule.getFrequency())
+                    .append(";INTERVAL=").append(rule.getInterval());
+            // UNTIL takes the value type of DTSTART (RFC 5545, 3.3.10)
+            if (rule.getUntil() != null && event.getTime() == null) {
+                sb.append(";UNTIL=").append(rule.getUntil().format(DATE));
+            } else if (rule.getUntil() != null) {
+                sb.append(";UNTIL=").append(rule.getUntil().atTime(event.getTime()).format(DATE_TIME));
+            }
+            if (rule.getCount() > 0) {
+                sb.append(";COUNT=").append(rule.getCount());
+            }
+            writeLine(out, sb.toString());
+        }
+        writeLine(out, "END:VEVENT");
+    }
+
+    /**
+     * Writes one content line, folded so no line exceeds 75 octets, with the CRLF the format requires.
+     */
+    private static void writeLine(Writer out, String line) throws IOException {
+        int octets = 0;
+        int i = 0;
+        while (i < line.length()) {
+            int codePoint = line.codePointAt(i);
+            int chars = Character.charCount(codePoint);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > MAX_LINE_OCTETS) {
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(line, i, chars);
+            octets += size;
+            i += chars;
+        }
+        out.write("\r\n");
+    }
+
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> sb.append('\\').append(c);
+                case '\n' -> sb.append("\\n");
+                case '\r' -> {
+                }
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String unescape(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                sb.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String quoteParameter(String value) {
+        String clean = value.replace("\"", "'");
+        return clean.matches("[^;:,]*") ? clean : '"' + clean + '"';
+    }
+
+    /**
+     * Splits a comma-separated text list, honouring escaped commas.
+     */
+    private static List<String> splitList(String value) {
+        List<String> items = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                current.append(c).append(value.charAt(++i));
+            } else if (c == ',') {
+                items.add(unescape(current.toString().trim()));
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        String last = unescape(current.toString().trim());
+        if (!last.isEmpty()) {
+            items.add(last);
+        }
+        return items;
+    }
+
+    /**
+     * One unfolded line: upper-cased name, parameters and raw value.
+     */
+    private record ContentLine(String name, Map<String, String> parameters, String value) {
+
+        static ContentLine parse(String line) {
+            int colon = -1;
+            boolean quoted = false;
+            List<Integer> semicolons = new ArrayList<>();
+            for (int i = 0; i < line.length() && colon < 0; i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (!quoted && c == ';') {
+                    semicolons.add(i);
+                } else if (!quoted && c == ':') {
+                    colon = i;
+                }
+            }
+            if (colon < 0) {
+                return null;
+            }
+            int nameEnd = semicolons.isEmpty() ? colon : semicolons.get(0);
+            Map<String, String> parameters = new HashMap<>();
+            for (int p = 0; p < semicolons.size(); p++) {
+                int end = p + 1 < semicolons.size() ? semicolons.get(p + 1) : colon;
+                String parameter = line.substring(semicolons.get(p) + 1, end);
+                int equals = parameter.indexOf('=');
+                if (equals > 0) {
+                    String value = parameter.substring(equals + 1);
+                    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                        value = value.substring(1, value.length() - 1);
+                    }
+                    parameters.put(parameter.substring(0, equals).toUpperCase(Locale.ROOT), value);
+                }
+            }
+            return new ContentLine(line.substring(0, nameEnd).trim().toUpperCase(Locale.ROOT), parameters,
+                    line.substring(colon + 1));
+        }
+    }
+}
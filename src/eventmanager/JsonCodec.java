@@ -0,0 +1,528 @@
+package eventmanager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Minimal JSON reader/writer for the event service; covers exactly the shapes the service exchanges.
+ */
+public final class JsonCodec {
+
+    private JsonCodec() {
+    }
+
+    public static String writeEvents(List<UniversityEvent> events) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendEvent(sb, events.get(i), true);
+        }
+        return sb.append(']').toString();
+    }
+
+    public static String writeEvent(UniversityEvent event) {
+        StringBuilder sb = new StringBuilder();
+        appendEvent(sb, event, true);
+        return sb.toString();
+    }
+
+    /**
+     * Writes a query page as {@code {"next": cursor, "events": [...]}}, leaving out rosters if asked to.
+     */
+    public static String writePage(EventQuery.Page page, boolean includeParticipants) {
+        StringBuilder sb = new StringBuilder("{");
+        field(sb, "next", page.nextCursor()).append(',');
+        appendString(sb, "events");
+        sb.append(":[");
+        List<UniversityEvent> events = page.events();
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendEvent(sb, events.get(i), includeParticipants);
+        }
+        return sb.append("]}").toString();
+    }
+
+    public static String writeParticipants(List<Participant> participants) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < participants.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendParticipant(sb, participants.get(i));
+        }
+        return sb.append(']').toString();
+    }
+
+    public static String writeParticipant(Participant participant) {
+        StringBuilder sb = new StringBuilder();
+        appendParticipant(sb, participant);
+        return sb.toString();
+    }
+
+    public static String writeStrings(Collection<String> values) {
+        StringBuilder sb = new StringBuilder("[");
+        for (String value : values) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            if (value == null) {
+                sb.append("null");
+            } else {
+                appendString(sb, value);
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Writes a flat object whose values are strings, numbers, booleans or null.
+     */
+    public static String writeObject(Map<String, ?> values) {
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            appendString(sb, entry.getKey());
+            sb.append(':');
+            Object value = entry.getValue();
+            if (value == null || value instanceof Number || value instanceof Boolean) {
+                sb.append(value);
+            } else {
+                appendString(sb, value.toString());
+            }
+        }
+        return sb.append('}').toString();
+    }
+
+    private static void appendEvent(StringBuilder sb, UniversityEvent event, boolean includeParticipants) {
+        sb.append('{');
+        field(sb, "eventId", event.getEventId()).append(',');
+        field(sb, "name", event.getName()).append(',');
+        field(sb, "date", event.getDate() == null ? null : event.getDate().toString()).append(',');
+        field(sb, "time", event.getTime() == null ? null : event.getTime().toString()).append(',');
+        field(sb, "venue", event.getVenue()).append(',');
+        field(sb, "organizer", event.getOrganizer()).append(',');
+        field(sb, "category", event.getCategory()).append(',');
+        field(sb, "recurrence", event.isRecurring() ? event.getRecurrence().toRuleString() : null).append(',');
+        appendString(sb, "version");
+        sb.append(':').append(event.getVersion()).append(',');
+        appendString(sb, "capacity");
+        sb.append(':').append(event.getCapacity());
+        if (!includeParticipants) {
+            sb.append('}');
+            return;
+        }
+        sb.append(',');
+        appendString(sb, "participants");
+        appendRoster(sb, event.roster());
+        sb.append(',');
+        appendString(sb, "waitlist");
+        appendParticipants(sb, event.getWaitlist());
+        sb.append('}');
+    }
+
+    /**
+     * Writes the roster straight from its columns, without a {@link Participant} per entry.
+     */
+    private static void appendRoster(StringBuilder sb, ParticipantRoster roster) {
+        sb.append(":[");
+        for (int i = 0; i < roster.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            Participant.ParticipantType type = roster.typeAt(i);
+            sb.append('{');
+            field(sb, "participantId", roster.idAt(i)).append(',');
+            field(sb, "fullName", roster.nameAt(i)).append(',');
+            field(sb, "type", type == null ? null : type.name());
+            sb.append('}');
+        }
+        sb.append(']');
+    }
+
+    private static void appendParticipants(StringBuilder sb, List<Participant> participants) {
+        sb.append(":[");
+        for (int i = 0; i < participants.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendParticipant(sb, participants.get(i));
+        }
+        sb.append(']');
+    }
+
+    private static void appendParticipant(StringBuilder sb, Participant participant) {
+        sb.append('{');
+        field(sb, "participantId", participant.getParticipantId()).append(',');
+        field(sb, "fullName", participant.getFullName()).append(',');
+        field(sb, "type", participant.getType() == null ? null : participant.getType().name());
+        sb.append('}');
+    }
+
+    private static StringBuilder field(StringBuilder sb, String name, String value) {
+        appendString(sb, name);
+        sb.append(':');
+        if (value == null) {
+            return sb.append("null");
+        }
+        appendString(sb, value);
+        return sb;
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+
+    public static List<UniversityEvent> readEvents(String json) {
+        List<UniversityEvent> events = new ArrayList<>();
+        for (Object item : asList(parse(json))) {
+            events.add(toEvent(asMap(item)));
+        }
+        return events;
+    }
+
+    /**
+     * Reads a JSON array of events record by record: a record that cannot be read is handed to {@code rejected}
+     * with its zero-based position and the reason, and left out of the result.
+     */
+    public static List<UniversityEvent> readEvents(String json, ObjIntConsumer<String> rejected) {
+        List<UniversityEvent> events = new ArrayList<>();
+        List<Object> items = asList(parse(json));
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                events.add(toEvent(asMap(items.get(i))));
+            } catch (ClassCastException e) {
+                rejected.accept("a field has the wrong type", i);
+            } catch (RuntimeException e) {
+                rejected.accept(e.getMessage(), i);
+            }
+        }
+        return events;
+    }
+
+    public static EventQuery.Page readPage(String json) {
+        Map<String, Object> map = asMap(parse(json));
+        List<UniversityEvent> events = new ArrayList<>();
+        for (Object item : asList(map.get("events"))) {
+            events.add(toEvent(asMap(item)));
+        }
+        return new EventQuery.Page(events, (String) map.get("next"));
+    }
+
+    public static List<String> readStrings(String json) {
+        List<String> values = new ArrayList<>();
+        for (Object item : asList(parse(json))) {
+            values.add((String) item);
+        }
+        return values;
+    }
+
+    public static UniversityEvent readEvent(String json) {
+        return toEvent(asMap(parse(json)));
+    }
+
+    public static Participant readParticipant(String json) {
+        return toParticipant(asMap(parse(json)));
+    }
+
+    /**
+     * Reads an array of participants; {@code null} entries are kept as {@code null}.
+     */
+    public static List<Participant> readParticipants(String json) {
+        List<Participant> participants = new ArrayList<>();
+        for (Object item : asList(parse(json))) {
+            participants.add(item == null ? null : toParticipant(asMap(item)));
+        }
+        return participants;
+    }
+
+    public static Map<String, Object> readObject(String json) {
+        return asMap(parse(json));
+    }
+
+    private static UniversityEvent toEvent(Map<String, Object> map) {
+        String date = (String) map.get("date");
+        String time = (String) map.get("time");
+        UniversityEvent event = new UniversityEvent(
+                (String) map.get("eventId"),
+                (String) map.get("name"),
+                date == null ? null : LocalDate.parse(date),
+                time == null ? null : LocalTime.parse(time),
+                (String) map.get("venue"),
+                (String) map.get("organizer"),
+                (String) map.get("category"));
+        String recurrence = (String) map.get("recurrence");
+        if (recurrence != null) {
+            RecurrenceRule rule = RecurrenceRule.parse(recurrence);
+            rule.checkStart(event.getDate());
+            event.setRecurrence(rule);
+        }
+        Object version = map.get("version");
+        if (version != null) {
+            event.setVersion(((Number) version).longValue());
+        }
+        Object capacity = map.get("capacity");
+        if (capacity != null) {
+            event.setCapacity(((Number) capacity).intValue());
+        }
+        Object participants = map.get("participants");
+        if (participants != null) {
+            for (Object item : asList(participants)) {
+                event.addParticipant(toParticipant(asMap(item)));
+            }
+        }
+        Object waitlist = map.get("waitlist");
+        if (waitlist != null) {
+            for (Object item : asList(waitlist)) {
+                event.addToWaitlist(toParticipant(asMap(item)));
+            }
+        }
+        return event;
+    }
+
+    private static Participant toParticipant(Map<String, Object> map) {
+        String type = (String) map.get("type");
+        return new Participant(
+                (String) map.get("participantId"),
+                (String) map.get("fullName"),
+                type == null ? null : Participant.ParticipantType.valueOf(type));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> asList(Object value) {
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("Expected a JSON array");
+        }
+        return (List<Object>) value;
+    }
+
+    /**
+     * Parses a JSON document into maps, lists, strings, numbers, booleans and nulls.
+     */
+    public static Object parse(String json) {
+        Parser parser = new Parser(json);
+        Object value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.pos != json.length()) {
+            throw parser.error("Unexpected trailing content");
+        }
+        return value;
+    }
+
+    private static class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Object readValue() {
+            skipWhitespace();
+            if (pos >= text.length()) {
+                throw error("Unexpected end of input");
+            }
+            char c = text.charAt(pos);
+            switch (c) {
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                case '"':
+                    return readString();
+                case 't':
+                    expect("true");
+                    return Boolean.TRUE;
+                case 'f':
+                    expect("false");
+                    return Boolean.FALSE;
+                case 'n':
+                    expect("null");
+                    return null;
+                default:
+                    return readNumber();
+            }
+        }
+
+        private Map<String, Object> readObject() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                consume(':');
+                map.put(key, readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    consume('}');
+                    return map;
+                }
+            }
+        }
+
+        private List<Object> readArray() {
+            List<Object> list = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    consume(']');
+                    return list;
+                }
+            }
+        }
+
+        private String readString() {
+            consume('"');
+            StringBuilder sb = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw error("Truncated unicode escape");
+                        }
+                        sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default:
+                        sb.append(escaped);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private Number readNumber() {
+            int start = pos;
+            while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            String number = text.substring(start, pos);
+            if (number.isEmpty()) {
+                throw error("Unexpected character");
+            }
+            if (number.contains(".") || number.contains("e") || number.contains("E")) {
+                return Double.parseDouble(number);
+            }
+            return Long.parseLong(number);
+        }
+
+        private void expect(String literal) {
+            if (!text.startsWith(literal, pos)) {
+                throw error("Expected " + literal);
+            }
+            pos += literal.length();
+        }
+
+        private void consume(char expected) {
+            if (peek() != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+            pos++;
+        }
+
+        private char peek() {
+            return pos < text.length() ? text.charAt(pos) : '\0';
+        }
+
+        void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package eventmanager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Appends one line per reminder to a log file; a whole batch is written with a single open and flush.
+ */
+public class LogFileNotificationSink implements NotificationSink {
+    private final Path logFile;
+
+    public LogFileNotificationSink(Path logFile) {
+        this.logFile = logFile;
+    }
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+
+    @Override
+    public synchronized List<Reminder> send(List<Reminder> batch) throws IOException {
+        Path directory = logFile.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        String sentAt = Instant.now().toString();
+        try (BufferedWriter writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Reminder reminder : batch) {
+                writer.write(sentAt + "," + reminder.eventId() + "," + reminder.startsAt() + ","
+                        + reminder.recipient().getParticipantId() + "," + reminder.recipient().getFullName());
+                writer.newLine();
+            }
+        }
+        return List.of();
+    }
+}
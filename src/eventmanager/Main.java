@@ -1,12 +1,38 @@
 package eventmanager;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Application entry point.
+ * <p>
+ * {@code --serve [port] [host]} runs the shared event service instead of the GUI;
+ * {@code --connect <url>} opens the GUI as a client of such a service;
+ * any {@link EventCli} command (e.g. {@code check}) runs headless and exits.
  */
 public class Main {
-    public static void main(String[] args) {
+    private static final int BACKUP_INTERVAL_MINUTES = 5;
+    private static final String SETTINGS_FILE = "data/settings.properties";
+    private static final String REPORTS_DIR_SETTING = "reports.html.dir";
+
+    public static void main(String[] args) throws IOException {
+        if (EventCli.isCommand(args)) {
+            // Scripted jobs: no look-and-feel, splash or login
+            System.exit(new EventCli(System.out, System.err).run(args));
+        }
+        if (args.length > 0 && "--serve".equals(args[0])) {
+            serve(args);
+            return;
+        }
+        String serviceUrl = args.length > 1 && "--connect".equals(args[0]) ? args[1] : null;
+
+        Metrics.registerMBean();
         Theme.applyLookAndFeel();
         SwingUtilities.invokeLater(() -> {
             // Show splash for 5 seconds, then proceed to login
@@ -16,7 +42,16 @@ public class Main {
             // After 5 seconds dispose splash and continue with login flow
             javax.swing.Timer t = new javax.swing.Timer(5000, ae -> {
                 splash.dispose();
-                DatabaseHelper databaseHelper = new DatabaseHelper();
+                DatabaseHelper databaseHelper;
+                if (serviceUrl == null) {
+                    databaseHelper = new DatabaseHelper();
+                    startBackups(databaseHelper);
+                    startPublishing(databaseHelper, loadSettings());
+                    watchStore(databaseHelper);
+                } else {
+                    // The service backs up the shared store
+                    databaseHelper = new RemoteDatabaseHelper(serviceUrl);
+                }
                 LoginDialog loginDialog = new LoginDialog(null);
                 loginDialog.setVisible(true);
                 if (loginDialog.isAuthenticated()) {
@@ -30,5 +65,61 @@ public class Main {
             t.start();
         });
     }
-}
 
+    private static void startBackups(DatabaseHelper databaseHelper) {
+        BackupManager backups = new BackupManager(databaseHelper);
+        backups.start(BACKUP_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        Runtime.getRuntime().addShutdownHook(new Thread(backups::stop));
+    }
+
+    /**
+     * Keeps the static HTML reports in {@code reports.html.dir} current, if that setting is present.
+     */
+    private static void startPublishing(DatabaseHelper databaseHelper, Properties settings) {
+        String directory = settings.getProperty(REPORTS_DIR_SETTING, "").trim();
+        if (directory.isEmpty()) {
+            return;
+        }
+        ReportPublisher publisher = new ReportPublisher(databaseHelper, Path.of(directory));
+        publisher.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(publisher::stop));
+    }
+
+    /**
+     * Picks up saves made by other instances sharing data/events.dat.
+     */
+    private static void watchStore(DatabaseHelper databaseHelper) {
+        try {
+            new StoreWatcher(databaseHelper).start();
+        } catch (IOException e) {
+            System.err.println("Changes made by other instances will only show after a restart: " + e.getMessage());
+        }
+    }
+
+    private static void serve(String[] args) throws IOException {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : EventService.DEFAULT_PORT;
+        String host = args.length > 2 ? args[2] : "localhost";
+        Metrics.registerMBean();
+        DatabaseHelper databaseHelper = new DatabaseHelper();
+        Properties settings = loadSettings();
+        // Desks connected to the service register against its capacities, so it reads them itself
+        databaseHelper.setVenueCapacities(settings);
+        startBackups(databaseHelper);
+        startPublishing(databaseHelper, settings);
+        watchStore(databaseHelper);
+        EventService service = new EventService(databaseHelper, new InetSocketAddress(host, port));
+        service.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(service::stop));
+        System.out.println("Event service listening on http://" + host + ":" + service.getAddress().getPort());
+    }
+
+    private static Properties loadSettings() {
+        Properties settings = new Properties();
+        try (InputStream in = Files.newInputStream(Path.of(SETTINGS_FILE))) {
+            settings.load(in);
+        } catch (IOException e) {
+            // no settings file: defaults apply
+        }
+        return settings;
+    }
+}
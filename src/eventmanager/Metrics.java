@@ -0,0 +1,297 @@
+package eventmanager;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanNotificationInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanConstructorInfo;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide registry of counters, latency timers and gauges, readable in the diagnostics tab and over JMX
+ * as {@value #OBJECT_NAME}.
+ * <p>
+ * Recording is a few atomic increments and never allocates: counters are {@link LongAdder}s and timers keep a
+ * log-linear histogram (eight buckets per power of two, so percentiles are within about 6%). Percentiles and
+ * gauges are only computed when read.
+ */
+public final class Metrics {
+    public static final String OBJECT_NAME = "eventmanager:type=Metrics";
+
+    private static final Map<String, Object> REGISTRY = new ConcurrentSkipListMap<>();
+    private static boolean mbeanRegistered;
+
+    static {
+        gauge("jvm.heapUsedBytes", () -> ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+    }
+
+    /**
+     * One metric as read at a point in time; timer values are in milliseconds, other kinds leave the
+     * percentiles at zero.
+     */
+    public record Reading(String name, String kind, long count, double value, double p50, double p95, double p99,
+                          double max) {
+    }
+
+    private Metrics() {
+    }
+
+    public static Counter counter(String name) {
+        return (Counter) REGISTRY.computeIfAbsent(name, key -> new Counter());
+    }
+
+    public static Timer timer(String name) {
+        return (Timer) REGISTRY.computeIfAbsent(name, key -> new Timer());
+    }
+
+    /**
+     * Registers {@code value} under {@code name}, replacing an earlier gauge of that name.
+     */
+    public static void gauge(String name, LongSupplier value) {
+        REGISTRY.put(name, value);
+    }
+
+    public static List<Reading> snapshot() {
+        List<Reading> readings = new ArrayList<>();
+        REGISTRY.forEach((name, metric) -> readings.add(read(name, metric)));
+        return readings;
+    }
+
+    private static Reading read(String name, Object metric) {
+        if (metric instanceof Counter counter) {
+            long count = counter.get();
+            return new Reading(name, "counter", count, count, 0, 0, 0, 0);
+        }
+        if (metric instanceof Timer timer) {
+            return new Reading(name, "timer", timer.getCount(), timer.getMeanMillis(), timer.percentileMillis(0.50),
+                    timer.percentileMillis(0.95), timer.percentileMillis(0.99), timer.getMaxMillis());
+        }
+        long value;
+        try {
+            value = ((LongSupplier) metric).getAsLong();
+        } catch (RuntimeException e) {
+            value = -1;
+        }
+        return new Reading(name, "gauge", 0, value, 0, 0, 0, 0);
+    }
+
+    /**
+     * Publishes the registry on the platform MBean server; later calls do nothing.
+     */
+    public static synchronized void registerMBean() {
+        if (mbeanRegistered) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(), new ObjectName(OBJECT_NAME));
+            mbeanRegistered = true;
+        } catch (JMException e) {
+            System.err.println("Metrics are not available over JMX: " + e.getMessage());
+        }
+    }
+
+    public static final class Counter {
+        private final LongAdder count = new LongAdder();
+
+        public void increment() {
+            count.increment();
+        }
+
+        public long get() {
+            return count.sum();
+        }
+    }
+
+    public static final class Timer {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        public void record(long nanos) {
+            long value = Math.max(0, nanos);
+            buckets.incrementAndGet(bucketOf(value));
+            count.increment();
+            totalNanos.add(value);
+            maxNanos.accumulate(value);
+        }
+
+        public <T> T time(Supplier<T> action) {
+            long start = System.nanoTime();
+            try {
+                return action.get();
+            } finally {
+                record(System.nanoTime() - start);
+            }
+        }
+
+        public void time(Runnable action) {
+            long start = System.nanoTime();
+            try {
+                action.run();
+            } finally {
+                record(System.nanoTime() - start);
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getMeanMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / (double) n / 1e6;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1e6;
+        }
+
+        /**
+         * Midpoint of the bucket holding the {@code quantile} (0..1) of recorded values.
+         */
+        public double percentileMillis(double quantile) {
+            long total = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                total += buckets.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return Math.min(midpointOf(i), maxNanos.get()) / 1e6;
+                }
+            }
+            return getMaxMillis();
+        }
+
+        // Values below SUB_BUCKETS get a bucket each; above, each power of two is split into SUB_BUCKETS
+        private static int bucketOf(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        private static long midpointOf(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long width = 1L << (exponent - SUB_BUCKET_BITS);
+            long lower = (SUB_BUCKETS + bucket % SUB_BUCKETS) * width;
+            return lower + width / 2;
+        }
+    }
+
+    /**
+     * Exposes every metric as read-only attributes: counters and gauges under their own name, timers as
+     * {@code <name>.count}, {@code .meanMillis}, {@code .p50Millis}, {@code .p95Millis}, {@code .p99Millis}
+     * and {@code .maxMillis}. The attribute list follows the registry as metrics are added.
+     */
+    private static class MetricsMBean implements DynamicMBean {
+        private static final String[] TIMER_FIELDS = { "count", "meanMillis", "p50Millis", "p95Millis", "p99Millis",
+                "maxMillis" };
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Object metric = REGISTRY.get(attribute);
+            if (metric != null && !(metric instanceof Timer)) {
+                return (long) read(attribute, metric).value();
+            }
+            int dot = attribute.lastIndexOf('.');
+            if (dot > 0 && REGISTRY.get(attribute.substring(0, dot)) instanceof Timer timer) {
+                switch (attribute.substring(dot + 1)) {
+                    case "count":
+                        return timer.getCount();
+                    case "meanMillis":
+                        return timer.getMeanMillis();
+                    case "p50Millis":
+                        return timer.percentileMillis(0.50);
+                    case "p95Millis":
+                        return timer.percentileMillis(0.95);
+                    case "p99Millis":
+                        return timer.percentileMillis(0.99);
+                    case "maxMillis":
+                        return timer.getMaxMillis();
+                    default:
+                        break;
+                }
+            }
+            throw new AttributeNotFoundException(attribute);
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                try {
+                    list.add(new Attribute(attribute, getAttribute(attribute)));
+                } catch (AttributeNotFoundException ignored) {
+                    // left out, as the DynamicMBean contract allows
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            // No operations are exposed; JMX clients expect an unknown one reported this way
+            throw new ReflectionException(new NoSuchMethodException(actionName), "Metrics have no operations");
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            REGISTRY.forEach((name, metric) -> {
+                if (metric instanceof Timer) {
+                    for (String field : TIMER_FIELDS) {
+                        attributes.add(new MBeanAttributeInfo(name + "." + field,
+                                "count".equals(field) ? "long" : "double", "Timer " + name, true, false, false));
+                    }
+                } else {
+                    attributes.add(new MBeanAttributeInfo(name, "long",
+                            (metric instanceof Counter ? "Counter " : "Gauge ") + name, true, false, false));
+                }
+            });
+            return new MBeanInfo(Metrics.class.getName(), "Event manager operation metrics",
+                    attributes.toArray(new MBeanAttributeInfo[0]), new MBeanConstructorInfo[0],
+                    new MBeanOperationInfo[0], new MBeanNotificationInfo[0]);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package eventmanager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Case-insensitive index of event names for duplicate checks and auto-renaming.
+ * <p>
+ * Besides how many events carry each name, it keeps, per base name, one more than the highest
+ * {@code "Base (n)"} suffix ever seen, so a free name is found in O(1) however many copies exist.
+ * Suffixes freed by deletes are not reused. Events are tracked by identity, so a rename is picked up
+ * from the new name alone. Not thread-safe; the frame uses it on the EDT only.
+ */
+public class NameIndex {
+    private static final int FIRST_SUFFIX = 2;
+    private static final Pattern SUFFIXED = Pattern.compile("(.*) \\((\\d{1,9})\\)");
+
+    private final Map<UniversityEvent, String> tracked = new IdentityHashMap<>();
+    private final Map<String, Integer> counts = new HashMap<>();
+    private final Map<String, Integer> nextSuffix = new HashMap<>();
+
+    public void rebuild(Collection<UniversityEvent> events) {
+        tracked.clear();
+        counts.clear();
+        nextSuffix.clear();
+        events.forEach(this::track);
+    }
+
+    /**
+     * Adds {@code event}, or re-files it under its current name if it is already tracked.
+     */
+    public void track(UniversityEvent event) {
+        String key = normalize(event.getName());
+        String previous = tracked.put(event, key);
+        if (key.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            release(previous);
+        }
+        counts.merge(key, 1, Integer::sum);
+        Matcher suffixed = SUFFIXED.matcher(key);
+        if (suffixed.matches()) {
+            nextSuffix.merge(suffixed.group(1), Integer.parseInt(suffixed.group(2)) + 1, Math::max);
+        }
+    }
+
+    public void forget(UniversityEvent event) {
+        String previous = tracked.remove(event);
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    public boolean contains(String name) {
+        return counts.containsKey(normalize(name));
+    }
+
+    /**
+     * {@code "base (n)"} with the lowest suffix above every one in use for {@code base}; not reserved until
+     * an event with that name is tracked.
+     */
+    public String nextFreeName(String base) {
+        String trimmed = base.trim();
+        int suffix = Math.max(FIRST_SUFFIX, nextSuffix.getOrDefault(normalize(trimmed), FIRST_SUFFIX));
+        return trimmed + " (" + suffix + ")";
+    }
+
+    private void release(String key) {
+        counts.computeIfPresent(key, (name, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
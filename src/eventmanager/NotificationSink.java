@@ -0,0 +1,52 @@
+package eventmanager;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Destination for upcoming-event reminders, fed in batches by {@link ReminderDispatcher}.
+ * Implementations must tolerate {@link #send} being called from several threads at once.
+ */
+public interface NotificationSink {
+
+    /**
+     * One reminder for one participant about one occurrence of an event.
+     */
+    record Reminder(String eventId, String eventName, LocalDateTime startsAt, String venue, Participant recipient) {
+    }
+
+    String getName();
+
+    /**
+     * Sends every reminder of {@code batch} and returns those the destination refused for good, e.g. for an
+     * unknown mailbox, which a retry would not change. A sink that fails part-way and knows how far it got
+     * throws {@link PartialSendException}, so only the rest is sent again.
+     */
+    List<Reminder> send(List<Reminder> batch) throws IOException;
+
+    /**
+     * The first {@link #handled()} reminders of the batch were dealt with before the failure: sent, or refused
+     * for good as listed in {@link #rejected()}.
+     */
+    class PartialSendException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final int handled;
+        private final transient List<Reminder> rejected;
+
+        public PartialSendException(int handled, List<Reminder> rejected, IOException cause) {
+            super(cause.getMessage(), cause);
+            this.handled = handled;
+            this.rejected = List.copyOf(rejected);
+        }
+
+        public int handled() {
+            return handled;
+        }
+
+        public List<Reminder> rejected() {
+            return rejected;
+        }
+    }
+}
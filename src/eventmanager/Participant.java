@@ -1,6 +1,7 @@
 package eventmanager;
 
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * Represents a participant registered for an event.
@@ -30,6 +31,25 @@ public class Participant implements Serializable {
         return type;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Participant)) {
+            return false;
+        }
+        Participant other = (Participant) o;
+        return Objects.equals(participantId, other.participantId)
+                && Objects.equals(fullName, other.fullName)
+                && type == other.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(participantId, fullName, type);
+    }
+
     public enum ParticipantType {
         STUDENT,
         STAFF
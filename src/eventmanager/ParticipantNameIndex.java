@@ -0,0 +1,397 @@
+package eventmanager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fuzzy lookup of participant names, per event or across all events, for spotting likely duplicate registrations
+ * such as "Jon Smith" and "John  Smith".
+ * <p>
+ * Names are normalized (case, accents, punctuation and spacing dropped) and indexed by the trigrams of each word
+ * and by each word's Soundex code, in posting lists addressed directly by gram code. A lookup only visits entries
+ * sharing a gram with the query, so it stays in the low milliseconds with hundreds of thousands of registrants.
+ * The score is the Dice coefficient of the two trigram sets, raised to {@value #PHONETIC_SCORE} when every word
+ * of one name sounds like a word of the other. Not thread-safe; the frame uses it on the EDT only.
+ */
+public class ParticipantNameIndex {
+    public static final double PHONETIC_SCORE = 0.85;
+
+    // Normalized characters are a-z and 0-9; words are padded so first and last letters get their own trigrams
+    private static final int PAD = 36;
+    private static final int ALPHABET = 37;
+    private static final int TRIGRAMS = ALPHABET * ALPHABET * ALPHABET;
+    // Soundex: a letter and three digits 0-6
+    private static final int SOUNDEX_CODES = 26 * 7 * 7 * 7;
+    private static final String SOUNDEX_DIGITS = "01230120022455012623010202";
+    private static final int MIN_COMPACTION = 1024;
+
+    /**
+     * A registered name similar to the one looked up, with a score from 0 to 1.
+     */
+    public record Match(UniversityEvent event, String participantId, String fullName, double score) {
+    }
+
+    private final IntList[] trigramPostings = new IntList[TRIGRAMS];
+    private final IntList[] soundexPostings = new IntList[SOUNDEX_CODES];
+    private final Map<UniversityEvent, Map<String, Integer>> entriesByEvent = new IdentityHashMap<>();
+
+    // One slot per entry; a removed entry keeps its slot, with a null event, until the next compaction
+    private UniversityEvent[] events = new UniversityEvent[64];
+    private String[] participantIds = new String[64];
+    private String[] names = new String[64];
+    private short[] trigramCounts = new short[64];
+    private byte[] soundexCounts = new byte[64];
+    private int size;
+    private int removed;
+
+    // Lookup scratch space, indexed by entry and cleared after each lookup
+    private int[] trigramHits = new int[64];
+    private int[] soundexHits = new int[64];
+    private final IntList touched = new IntList();
+
+    public void rebuild(Collection<UniversityEvent> all) {
+        clear();
+        all.forEach(this::addEvent);
+    }
+
+    public void clear() {
+        Arrays.fill(trigramPostings, null);
+        Arrays.fill(soundexPostings, null);
+        entriesByEvent.clear();
+        Arrays.fill(events, 0, size, null);
+        Arrays.fill(participantIds, 0, size, null);
+        Arrays.fill(names, 0, size, null);
+        size = 0;
+        removed = 0;
+    }
+
+    public void addEvent(UniversityEvent event) {
+        for (Participant participant : event.getParticipants()) {
+            add(event, participant.getParticipantId(), participant.getFullName());
+        }
+    }
+
+    public void removeEvent(UniversityEvent event) {
+        Map<String, Integer> entries = entriesByEvent.remove(event);
+        if (entries != null) {
+            entries.values().forEach(this::release);
+            compactIfSparse();
+        }
+    }
+
+    /**
+     * Indexes a participant of {@code event}, replacing an earlier entry with the same participant ID.
+     */
+    public void add(UniversityEvent event, String participantId, String fullName) {
+        Keys keys = Keys.of(fullName);
+        if (size == events.length) {
+            grow();
+        }
+        int entry = size++;
+        events[entry] = event;
+        participantIds[entry] = participantId;
+        names[entry] = fullName;
+        trigramCounts[entry] = (short) keys.trigrams.length;
+        soundexCounts[entry] = (byte) keys.soundex.length;
+        for (int gram : keys.trigrams) {
+            postings(trigramPostings, gram).add(entry);
+        }
+        for (int code : keys.soundex) {
+            postings(soundexPostings, code).add(entry);
+        }
+        Map<String, Integer> entries = entriesByEvent.computeIfAbsent(event, key -> new HashMap<>());
+        Integer previous = entries.put(key(participantId), entry);
+        if (previous != null) {
+            release(previous);
+            compactIfSparse();
+        }
+    }
+
+    public void remove(UniversityEvent event, String participantId) {
+        Map<String, Integer> entries = entriesByEvent.get(event);
+        Integer entry = entries == null ? null : entries.remove(key(participantId));
+        if (entry != null) {
+            release(entry);
+            compactIfSparse();
+        }
+    }
+
+    /**
+     * Names scoring at least {@code minScore} against {@code fullName}, best first, at most {@code limit} of them.
+     * With {@code within} set, only that event's participants are considered.
+     */
+    public List<Match> findSimilar(String fullName, UniversityEvent within, double minScore, int limit) {
+        Keys keys = Keys.of(fullName);
+        if (keys.trigrams.length == 0) {
+            return List.of();
+        }
+        count(trigramPostings, keys.trigrams, trigramHits, within);
+        count(soundexPostings, keys.soundex, soundexHits, within);
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < touched.size; i++) {
+            int entry = touched.values[i];
+            double score = score(trigramHits[entry], keys.trigrams.length, trigramCounts[entry],
+                    soundexHits[entry], keys.soundex.length, soundexCounts[entry]);
+            if (score >= minScore) {
+                matches.add(new Match(events[entry], participantIds[entry], names[entry], score));
+            }
+            trigramHits[entry] = 0;
+            soundexHits[entry] = 0;
+        }
+        touched.size = 0;
+        matches.sort(Comparator.comparingDouble(Match::score).reversed().thenComparing(Match::fullName));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    public int size() {
+        return size - removed;
+    }
+
+    /**
+     * Score of two names as {@link #findSimilar} computes it, without an index.
+     */
+    public static double similarity(String first, String second) {
+        Keys a = Keys.of(first);
+        Keys b = Keys.of(second);
+        if (a.trigrams.length == 0 || b.trigrams.length == 0) {
+            return 0;
+        }
+        return score(shared(a.trigrams, b.trigrams), a.trigrams.length, b.trigrams.length,
+                shared(a.soundex, b.soundex), a.soundex.length, b.soundex.length);
+    }
+
+    private static double score(int sharedTrigrams, int trigramsA, int trigramsB,
+                                int sharedSounds, int soundsA, int soundsB) {
+        double score = 2.0 * sharedTrigrams / (trigramsA + trigramsB);
+        if (sharedSounds > 0 && sharedSounds == soundsA && sharedSounds == soundsB) {
+            score = Math.max(score, PHONETIC_SCORE);
+        }
+        return score;
+    }
+
+    // Both arrays sorted and distinct
+    private static int shared(int[] a, int[] b) {
+        int count = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                count++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    private void count(IntList[] index, int[] keys, int[] hits, UniversityEvent within) {
+        for (int key : keys) {
+            IntList postings = index[key];
+            if (postings == null) {
+                continue;
+            }
+            for (int i = 0; i < postings.size; i++) {
+                int entry = postings.values[i];
+                UniversityEvent owner = events[entry];
+                if (owner == null || (within != null && owner != within)) {
+                    continue;
+                }
+                if (trigramHits[entry] == 0 && soundexHits[entry] == 0) {
+                    touched.add(entry);
+                }
+                hits[entry]++;
+            }
+        }
+    }
+
+    private void release(int entry) {
+        events[entry] = null;
+        participantIds[entry] = null;
+        names[entry] = null;
+        removed++;
+    }
+
+    // Posting lists still hold removed entries; once they are the majority, every live entry is re-added
+    private void compactIfSparse() {
+        if (removed < MIN_COMPACTION || removed * 2 < size) {
+            return;
+        }
+        List<UniversityEvent> liveEvents = new ArrayList<>();
+        List<String> liveIds = new ArrayList<>();
+        List<String> liveNames = new ArrayList<>();
+        for (int entry = 0; entry < size; entry++) {
+            if (events[entry] != null) {
+                liveEvents.add(events[entry]);
+                liveIds.add(participantIds[entry]);
+                liveNames.add(names[entry]);
+            }
+        }
+        clear();
+        for (int i = 0; i < liveEvents.size(); i++) {
+            add(liveEvents.get(i), liveIds.get(i), liveNames.get(i));
+        }
+    }
+
+    private void grow() {
+        int capacity = events.length * 2;
+        events = Arrays.copyOf(events, capacity);
+        participantIds = Arrays.copyOf(participantIds, capacity);
+        names = Arrays.copyOf(names, capacity);
+        trigramCounts = Arrays.copyOf(trigramCounts, capacity);
+        soundexCounts = Arrays.copyOf(soundexCounts, capacity);
+        trigramHits = Arrays.copyOf(trigramHits, capacity);
+        soundexHits = Arrays.copyOf(soundexHits, capacity);
+    }
+
+    private static IntList postings(IntList[] index, int key) {
+        IntList postings = index[key];
+        if (postings == null) {
+            postings = new IntList();
+            index[key] = postings;
+        }
+        return postings;
+    }
+
+    private static String key(String participantId) {
+        return participantId.toUpperCase();
+    }
+
+    /**
+     * Lower case a-z and 0-9 words separated by single spaces; accents are stripped and apostrophes dropped,
+     * so "José O'Neil" and "jose  oneil" normalize alike.
+     */
+    static String normalize(String name) {
+        String decomposed = isAscii(name) ? name : Normalizer.normalize(name, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean separated = true;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = Character.toLowerCase(decomposed.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                normalized.append(c);
+                separated = false;
+            } else if (c == '\'' || c == '’' || Character.getType(c) == Character.NON_SPACING_MARK) {
+                // part of the word it sits in
+            } else if (!separated) {
+                normalized.append(' ');
+                separated = true;
+            }
+        }
+        int length = normalized.length();
+        return length > 0 && normalized.charAt(length - 1) == ' ' ? normalized.substring(0, length - 1)
+                : normalized.toString();
+    }
+
+    private static boolean isAscii(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * American Soundex of a normalized word, as {@code letter * 343 + digits in base 7}, or -1 if the word does not
+     * start with a letter.
+     */
+    static int soundex(String word) {
+        char first = word.charAt(0);
+        if (first < 'a' || first > 'z') {
+            return -1;
+        }
+        int code = first - 'a';
+        int digits = 0;
+        char last = SOUNDEX_DIGITS.charAt(code);
+        for (int i = 1; i < word.length() && digits < 3; i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z') {
+                continue;
+            }
+            if (c == 'h' || c == 'w') {
+                continue;
+            }
+            char digit = SOUNDEX_DIGITS.charAt(c - 'a');
+            if (digit != '0' && digit != last) {
+                code = code * 7 + (digit - '0');
+                digits++;
+            }
+            last = digit;
+        }
+        for (; digits < 3; digits++) {
+            code *= 7;
+        }
+        return code;
+    }
+
+    private static int charCode(char c) {
+        return c >= 'a' ? c - 'a' : 26 + (c - '0');
+    }
+
+    /**
+     * Distinct trigram and Soundex keys of one name, each in ascending order.
+     */
+    private record Keys(int[] trigrams, int[] soundex) {
+
+        static Keys of(String fullName) {
+            String normalized = normalize(fullName == null ? "" : fullName);
+            if (normalized.isEmpty()) {
+                return new Keys(new int[0], new int[0]);
+            }
+            IntList trigrams = new IntList();
+            IntList sounds = new IntList();
+            for (int start = 0, end; start < normalized.length(); start = end + 1) {
+                end = normalized.indexOf(' ', start);
+                if (end < 0) {
+                    end = normalized.length();
+                }
+                String word = normalized.substring(start, end);
+                int previous = PAD;
+                int current = charCode(word.charAt(0));
+                for (int i = 1; i <= word.length(); i++) {
+                    int next = i < word.length() ? charCode(word.charAt(i)) : PAD;
+                    trigrams.add((previous * ALPHABET + current) * ALPHABET + next);
+                    previous = current;
+                    current = next;
+                }
+                int code = ParticipantNameIndex.soundex(word);
+                if (code >= 0) {
+                    sounds.add(code);
+                }
+            }
+            return new Keys(trigrams.distinct(), sounds.distinct());
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] distinct() {
+            int[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+        }
+    }
+}
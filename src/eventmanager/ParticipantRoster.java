@@ -0,0 +1,307 @@
+package eventmanager;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Column-oriented participant list: numeric IDs in an {@code int[]}, types in a {@code byte[]}
+ * and all names packed into one shared {@code char[]} arena. {@link #get(int)} hands out
+ * lightweight {@link Participant} views built from those columns; loops over large rosters read
+ * the columns directly through {@link #idAt}, {@link #nameAt} and {@link #typeAt} instead.
+ * <p>
+ * IDs that do not follow {@code PAR-00001}, e.g. from imported or remote data, are kept as they are
+ * in a side column that is only allocated once such an ID shows up.
+ */
+public class ParticipantRoster extends AbstractList<Participant> implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final String ID_PREFIX = "PAR-";
+    private static final Participant.ParticipantType[] TYPES = Participant.ParticipantType.values();
+
+    private transient int size;
+    private transient int[] ids = new int[4];
+    private transient byte[] types = new byte[4];
+    // nameStarts[i] is where name i begins in the arena; it ends where name i + 1 begins.
+    private transient int[] nameStarts = new int[5];
+    private transient char[] names = new char[64];
+    private transient int maxId;
+    // Non-null only for entries whose ID is not of the PAR-00001 form; their ids[] slot holds -1
+    private transient String[] otherIds;
+
+    public ParticipantRoster() {
+    }
+
+    public ParticipantRoster(Collection<? extends Participant> participants) {
+        addAll(participants);
+    }
+
+    /**
+     * Copies the columns of {@code other} without building a view per participant.
+     */
+    public ParticipantRoster(ParticipantRoster other) {
+        size = other.size;
+        ids = Arrays.copyOf(other.ids, Math.max(4, size));
+        types = Arrays.copyOf(other.types, ids.length);
+        nameStarts = Arrays.copyOf(other.nameStarts, ids.length + 1);
+        names = Arrays.copyOf(other.names, Math.max(64, other.nameStarts[size]));
+        maxId = other.maxId;
+        if (other.otherIds != null) {
+            otherIds = Arrays.copyOf(other.otherIds, ids.length);
+        }
+    }
+
+    @Override
+    public Participant get(int index) {
+        checkIndex(index);
+        return new Participant(idAt(index), nameAt(index), typeAt(index));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(Participant participant) {
+        int id = parseId(participant.getParticipantId());
+        String fullName = participant.getFullName() == null ? "" : participant.getFullName();
+        ensureCapacity(size + 1, nameStarts[size] + fullName.length());
+        ids[size] = id;
+        if (id < 0 || otherIds != null) {
+            if (otherIds == null) {
+                otherIds = new String[ids.length];
+            }
+            otherIds[size] = id < 0 ? participant.getParticipantId() : null;
+        }
+        types[size] = participant.getType() == null ? -1 : (byte) participant.getType().ordinal();
+        fullName.getChars(0, fullName.length(), names, nameStarts[size]);
+        nameStarts[size + 1] = nameStarts[size] + fullName.length();
+        size++;
+        maxId = Math.max(maxId, id);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public Participant remove(int index) {
+        Participant removed = get(index);
+        int start = nameStarts[index];
+        int length = nameStarts[index + 1] - start;
+        System.arraycopy(names, start + length, names, start, nameStarts[size] - start - length);
+        for (int i = index; i < size; i++) {
+            nameStarts[i] = nameStarts[i + 1] - length;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(types, index + 1, types, index, size - index - 1);
+        if (otherIds != null) {
+            System.arraycopy(otherIds, index + 1, otherIds, index, size - index - 1);
+            otherIds[size - 1] = null;
+        }
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes the participant with the same ID; views are not identical objects, so identity can't be used.
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Participant)) {
+            return false;
+        }
+        int index = indexOfId(((Participant) o).getParticipantId());
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    public int indexOfId(String participantId) {
+        int id = parseId(participantId);
+        if (id < 0) {
+            if (otherIds != null && participantId != null) {
+                for (int i = 0; i < size; i++) {
+                    if (participantId.equals(otherIds[i])) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * ID of the participant at {@code index}.
+     */
+    public String idAt(int index) {
+        checkIndex(index);
+        int id = ids[index];
+        return id >= 0 ? formatId(id) : otherIds[index];
+    }
+
+    /**
+     * Numeric part of the ID at {@code index}, or -1 if the ID is not of the {@code PAR-00001} form.
+     */
+    public int numberAt(int index) {
+        checkIndex(index);
+        return ids[index];
+    }
+
+    /**
+     * Case-insensitive name lookup that scans the arena without materializing any Strings.
+     */
+    public boolean containsName(String fullName) {
+        for (int i = 0; i < size; i++) {
+            int start = nameStarts[i];
+            int length = nameStarts[i + 1] - start;
+            if (length == fullName.length() && regionMatchesIgnoreCase(start, fullName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Highest numeric participant ID ever added, so the next ID can be assigned in O(1).
+     * IDs not of the {@code PAR-00001} form do not count.
+     */
+    public int getMaxId() {
+        return maxId;
+    }
+
+    private boolean regionMatchesIgnoreCase(int start, String other) {
+        for (int i = 0; i < other.length(); i++) {
+            char a = names[start + i];
+            char b = other.charAt(i);
+            if (a != b && Character.toUpperCase(a) != Character.toUpperCase(b)
+                    && Character.toLowerCase(a) != Character.toLowerCase(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Full name of the participant at {@code index}.
+     */
+    public String nameAt(int index) {
+        checkIndex(index);
+        return new String(names, nameStarts[index], nameStarts[index + 1] - nameStarts[index]);
+    }
+
+    /**
+     * Type of the participant at {@code index}, read from its column without building a name or ID.
+     */
+    public Participant.ParticipantType typeAt(int index) {
+        checkIndex(index);
+        return types[index] < 0 ? null : TYPES[types[index]];
+    }
+
+    private void ensureCapacity(int entries, int chars) {
+        if (entries > ids.length) {
+            int capacity = Math.max(entries, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            types = Arrays.copyOf(types, capacity);
+            nameStarts = Arrays.copyOf(nameStarts, capacity + 1);
+            if (otherIds != null) {
+                otherIds = Arrays.copyOf(otherIds, capacity);
+            }
+        }
+        if (chars > names.length) {
+            names = Arrays.copyOf(names, Math.max(chars, names.length * 2));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Number of a {@code PAR-00001} style ID, or -1 for any other ID (including {@code null}).
+     */
+    static int parseId(String participantId) {
+        if (participantId == null || !participantId.startsWith(ID_PREFIX)) {
+            return -1;
+        }
+        int length = participantId.length();
+        // At least five digits, and no leading zero beyond the padding, so the ID formats back to itself
+        if (length < ID_PREFIX.length() + 5 || length > ID_PREFIX.length() + 9
+                || length > ID_PREFIX.length() + 5 && participantId.charAt(ID_PREFIX.length()) == '0') {
+            return -1;
+        }
+        int id = 0;
+        for (int i = ID_PREFIX.length(); i < length; i++) {
+            char c = participantId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+
+    static String formatId(int id) {
+        return formatId(ID_PREFIX, id);
+    }
+
+    /**
+     * {@code prefix} followed by {@code number} padded to five digits, e.g. {@code PAR-00042}.
+     */
+    static String formatId(String prefix, int number) {
+        String digits = Integer.toString(number);
+        if (digits.length() >= 5) {
+            return prefix + digits;
+        }
+        StringBuilder id = new StringBuilder(prefix.length() + 5).append(prefix);
+        for (int i = digits.length(); i < 5; i++) {
+            id.append('0');
+        }
+        return id.append(digits).toString();
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(ids[i]);
+            if (ids[i] < 0) {
+                out.writeUTF(otherIds[i]);
+            }
+            out.writeByte(types[i]);
+            out.writeUTF(nameAt(i));
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        ids = new int[Math.max(count, 4)];
+        types = new byte[ids.length];
+        nameStarts = new int[ids.length + 1];
+        names = new char[64];
+        for (int i = 0; i < count; i++) {
+            int id = in.readInt();
+            // Only written for IDs not of the PAR-00001 form
+            String otherId = id < 0 ? in.readUTF() : null;
+            byte type = in.readByte();
+            String fullName = in.readUTF();
+            add(new Participant(otherId != null ? otherId : formatId(id), fullName,
+                    type < 0 ? null : TYPES[type]));
+        }
+        modCount = 0;
+    }
+}
@@ -0,0 +1,44 @@
+package eventmanager;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Outcome of reading a damaged events file: what was salvaged, what was lost and where the original went.
+ *
+ * @param recovered       intact event records that were loaded
+ * @param damaged         framed records whose checksum or contents did not verify
+ * @param expected        record count from the file trailer, or -1 when the trailer itself was lost
+ * @param bytesSkipped    bytes passed over while resynchronising on the next record
+ * @param lostEventIds    IDs still readable inside damaged records (best effort)
+ * @param quarantinedFile copy of the damaged file, or {@code null} if it could not be moved aside
+ */
+public record RecoveryReport(int recovered, int damaged, long expected, long bytesSkipped,
+                             List<String> lostEventIds, Path quarantinedFile) {
+
+    /**
+     * Records known to be lost: by the trailer count when it survived, otherwise by damaged frames seen.
+     */
+    public long lostRecords() {
+        return expected >= 0 ? Math.max(0, expected - recovered) : damaged;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Recovered ").append(recovered).append(" event(s); ");
+        if (expected < 0) {
+            sb.append("record count unknown, at least ").append(damaged);
+        } else {
+            sb.append(lostRecords());
+        }
+        sb.append(" lost");
+        if (!lostEventIds.isEmpty()) {
+            sb.append(" (").append(String.join(", ", lostEventIds)).append(")");
+        }
+        sb.append(", ").append(bytesSkipped).append(" byte(s) skipped.");
+        if (quarantinedFile != null) {
+            sb.append(" Damaged file kept as ").append(quarantinedFile.getFileName()).append('.');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,256 @@
+package eventmanager;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Immutable repeat pattern for an event series; occurrences are computed on demand, never stored.
+ * <p>
+ * The series starts on the event's date and repeats every {@code interval} days, weeks or months,
+ * optionally ending on an {@code until} date and/or after {@code count} occurrences.
+ */
+public final class RecurrenceRule implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * How far ahead open-ended series are expanded when a caller has no range of its own.
+     */
+    public static final int OPEN_ENDED_HORIZON_DAYS = 366;
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY
+    }
+
+    private final Frequency frequency;
+    private final int interval;
+    private final LocalDate until;
+    private final int count;
+
+    public RecurrenceRule(Frequency frequency, int interval, LocalDate until, int count) {
+        if (frequency == null) {
+            throw new IllegalArgumentException("Repeat frequency is required.");
+        }
+        if (interval < 1 || count < 0) {
+            throw new IllegalArgumentException("Repeat interval must be positive and count cannot be negative.");
+        }
+        this.frequency = frequency;
+        this.interval = interval;
+        this.until = until;
+        this.count = count;
+    }
+
+    public static RecurrenceRule weekly(LocalDate until) {
+        return new RecurrenceRule(Frequency.WEEKLY, 1, until, 0);
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    /**
+     * Maximum number of occurrences, or 0 when only {@link #getUntil()} bounds the series.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Last occurrence of a series starting on {@code start}, or {@code null} when it never ends.
+     */
+    public LocalDate lastOccurrence(LocalDate start) {
+        LocalDate last = null;
+        if (count > 0) {
+            last = occurrence(start, count - 1);
+        }
+        if (until != null) {
+            // The start itself always occurs, even under an until that precedes it
+            LocalDate bounded = until.isBefore(start) ? start : onOrBefore(start, until);
+            last = last == null || bounded.isBefore(last) ? bounded : last;
+        }
+        return last;
+    }
+
+    /**
+     * Rejects a series starting on {@code start} that would end before it begins.
+     */
+    public void checkStart(LocalDate start) {
+        if (until != null && start != null && until.isBefore(start)) {
+            throw new IllegalArgumentException("Repeat end " + until + " is before the first date " + start + ".");
+        }
+    }
+
+    /**
+     * Whether a series starting on {@code start} has an occurrence on {@code date}; constant time.
+     */
+    public boolean occursOn(LocalDate start, LocalDate date) {
+        long index = indexOf(start, date);
+        return index >= 0 && occurrence(start, index).equals(date) && withinBounds(start, index);
+    }
+
+    /**
+     * Occurrences of a series starting on {@code start} that fall within {@code [from, to]}, in order.
+     * Jumps straight to the first one in range, so cost is proportional to the result size.
+     */
+    public List<LocalDate> occurrencesBetween(LocalDate start, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        long index = from.isAfter(start) ? Math.max(0, indexOf(start, from)) : 0;
+        while (withinBounds(start, index)) {
+            LocalDate date = occurrence(start, index++);
+            if (date.isAfter(to)) {
+                break;
+            }
+            if (!date.isBefore(from)) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * First occurrence of a series starting on {@code start} on or after {@code day}, or {@code null} when the
+     * series is over by then; constant time.
+     */
+    public LocalDate nextOccurrence(LocalDate start, LocalDate day) {
+        long index = Math.max(0, indexOf(start, day));
+        if (occurrence(start, index).isBefore(day)) {
+            index++;
+        }
+        return withinBounds(start, index) ? occurrence(start, index) : null;
+    }
+
+    private boolean withinBounds(LocalDate start, long index) {
+        return index == 0
+                || (count == 0 || index < count) && (until == null || !occurrence(start, index).isAfter(until));
+    }
+
+    private LocalDate onOrBefore(LocalDate start, LocalDate date) {
+        long index = indexOf(start, date);
+        return index < 0 ? null : occurrence(start, index);
+    }
+
+    private LocalDate occurrence(LocalDate start, long index) {
+        switch (frequency) {
+            case DAILY:
+                return start.plusDays(index * interval);
+            case WEEKLY:
+                return start.plusWeeks(index * interval);
+            default:
+                // plusMonths clamps the 31st to shorter months, matching how people read "monthly"
+                return start.plusMonths(index * interval);
+        }
+    }
+
+    /**
+     * Index of the occurrence on or just before {@code date}; negative when {@code date} precedes the series.
+     */
+    private long indexOf(LocalDate start, LocalDate date) {
+        if (date.isBefore(start)) {
+            return -1;
+        }
+        switch (frequency) {
+            case DAILY:
+                return ChronoUnit.DAYS.between(start, date) / interval;
+            case WEEKLY:
+                return ChronoUnit.WEEKS.between(start, date) / interval;
+            default:
+                // Calendar months rather than ChronoUnit.MONTHS, so a clamped Feb 28 still maps back to index 1
+                long months = (date.getYear() - start.getYear()) * 12L + date.getMonthValue() - start.getMonthValue();
+                long index = months / interval;
+                return occurrence(start, index).isAfter(date) ? index - 1 : index;
+        }
+    }
+
+    /**
+     * Compact text form, e.g. {@code FREQ=WEEKLY;INTERVAL=1;UNTIL=2025-05-30}, used by JSON exchange.
+     */
+    public String toRuleString() {
+        StringBuilder sb = new StringBuilder("FREQ=").append(frequency).append(";INTERVAL=").append(interval);
+        if (until != null) {
+            sb.append(";UNTIL=").append(until);
+        }
+        if (count > 0) {
+            sb.append(";COUNT=").append(count);
+        }
+        return sb.toString();
+    }
+
+    public static RecurrenceRule parse(String text) {
+        Frequency frequency = null;
+        int interval = 1;
+        LocalDate until = null;
+        int count = 0;
+        for (String part : text.split(";")) {
+            String[] pair = part.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Malformed repeat rule: " + text);
+            }
+            String value = pair[1].trim();
+            switch (pair[0].trim().toUpperCase(Locale.ROOT)) {
+                case "FREQ":
+                    frequency = Frequency.valueOf(value.toUpperCase(Locale.ROOT));
+                    break;
+                case "INTERVAL":
+                    interval = Integer.parseInt(value);
+                    break;
+                case "UNTIL":
+                    until = LocalDate.parse(value);
+                    break;
+                case "COUNT":
+                    count = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown repeat rule part: " + pair[0]);
+            }
+        }
+        return new RecurrenceRule(frequency, interval, until, count);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RecurrenceRule)) {
+            return false;
+        }
+        RecurrenceRule other = (RecurrenceRule) o;
+        return frequency == other.frequency && interval == other.interval && count == other.count
+                && Objects.equals(until, other.until);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(frequency, interval, until, count);
+    }
+
+    /**
+     * Human-readable summary for tables and reports, e.g. "Weekly until 2025-05-30".
+     */
+    @Override
+    public String toString() {
+        String unit = frequency.name().charAt(0) + frequency.name().substring(1).toLowerCase(Locale.ROOT);
+        String text = interval == 1 ? unit
+                : "Every " + interval + " " + (frequency == Frequency.DAILY ? "days"
+                : frequency == Frequency.WEEKLY ? "weeks" : "months");
+        if (until != null) {
+            text += " until " + until;
+        }
+        if (count > 0) {
+            text += ", " + count + " times";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,7 @@
+package eventmanager;
+
+/**
+ * A request to register one person for one event.
+ */
+public record Registration(String eventId, String fullName, Participant.ParticipantType type) {
+}
@@ -0,0 +1,54 @@
+package eventmanager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Drives the {@link RegistrationPipeline} from several simulated desks against a scratch store.
+ * Usage: java -cp bin eventmanager.RegistrationBenchmark [desks] [registrationsPerDesk]
+ */
+public class RegistrationBenchmark {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int desks = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int perDesk = args.length > 1 ? Integer.parseInt(args[1]) : 2_500;
+
+        Path scratch = Files.createTempDirectory("registration-bench");
+        DatabaseHelper databaseHelper = new DatabaseHelper(scratch.resolve("events.dat"));
+        databaseHelper.addEvent(new UniversityEvent("EVT-0001", "Annual Job & Career Fair",
+                LocalDate.now().plusDays(7), LocalTime.of(10, 0), "Bintumani Conference Center", "Sam",
+                "Career Fair"));
+        RegistrationPipeline pipeline = new RegistrationPipeline(databaseHelper);
+
+        List<Thread> threads = new ArrayList<>();
+        List<CompletableFuture<Participant>> results = java.util.Collections.synchronizedList(new ArrayList<>());
+        for (int d = 0; d < desks; d++) {
+            int desk = d;
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < perDesk; i++) {
+                    try {
+                        results.add(pipeline.submit(new Registration("EVT-0001", "Desk " + desk + " Guest " + i,
+                                Participant.ParticipantType.STUDENT)));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).join();
+        pipeline.shutdown();
+
+        System.out.printf("desks=%d submissions=%d%n", desks, desks * perDesk);
+        System.out.println(pipeline.getStats());
+    }
+}
@@ -0,0 +1,240 @@
+package eventmanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Walk-up registration pipeline. Any number of desks or threads submit into a bounded queue
+ * (blocking when it is full), workers validate submissions against the roster and commit them
+ * to the {@link DatabaseHelper} in batches, so a burst costs one save per batch instead of one per person.
+ */
+public class RegistrationPipeline {
+    private static final int LATENCY_SAMPLES = 10_000;
+
+    private final DatabaseHelper databaseHelper;
+    private final BlockingQueue<Pending> queue;
+    private final int maxBatch;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong firstSubmittedAt = new AtomicLong();
+    private volatile long lastCompletedAt;
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private long latencyCount;
+
+    public RegistrationPipeline(DatabaseHelper databaseHelper) {
+        this(databaseHelper, 1024, 1, 256);
+    }
+
+    public RegistrationPipeline(DatabaseHelper databaseHelper, int queueCapacity, int workerCount, int maxBatch) {
+        this.databaseHelper = databaseHelper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatch = maxBatch;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "registration-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Queues a registration, blocking while the queue is full. The future completes with the new
+     * participant, or exceptionally with an {@link IllegalArgumentException} when it is rejected.
+     */
+    public CompletableFuture<Participant> submit(Registration registration) throws InterruptedException {
+        Pending pending = newPending(registration);
+        queue.put(pending);
+        return queued(pending);
+    }
+
+    /**
+     * Like {@link #submit(Registration)}, but waits at most {@code timeout} for room in the queue, for callers
+     * that must not block such as the EDT. If there is none the future fails with a
+     * {@link RejectedExecutionException}.
+     */
+    public CompletableFuture<Participant> submit(Registration registration, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        Pending pending = newPending(registration);
+        if (!queue.offer(pending, timeout, unit)) {
+            pending.result.completeExceptionally(
+                    new RejectedExecutionException("Too many registrations are waiting; try again in a moment."));
+            return pending.result;
+        }
+        return queued(pending);
+    }
+
+    private Pending newPending(Registration registration) {
+        if (!running) {
+            throw new RejectedExecutionException("Registration pipeline is shut down");
+        }
+        Pending pending = new Pending(registration);
+        firstSubmittedAt.compareAndSet(0, pending.submittedAt);
+        return pending;
+    }
+
+    private CompletableFuture<Participant> queued(Pending pending) {
+        // A shutdown between the running check and the enqueue may have let every worker exit already
+        if (!running && queue.remove(pending)) {
+            pending.result.completeExceptionally(new RejectedExecutionException("Registration pipeline is shut down"));
+        }
+        return pending.result;
+    }
+
+    private void runWorker() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                batch.forEach(p -> p.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        List<Pending> accepted = validate(batch);
+        if (accepted.isEmpty()) {
+            return;
+        }
+        List<Registration> registrations = new ArrayList<>(accepted.size());
+        accepted.forEach(p -> registrations.add(p.registration));
+        List<Participant> results = databaseHelper.registerParticipants(registrations);
+        for (int i = 0; i < accepted.size(); i++) {
+            Participant participant = results.get(i);
+            if (participant == null) {
+                reject(accepted.get(i), "This participant is already registered for this event.");
+            } else {
+                complete(accepted.get(i), participant);
+            }
+        }
+    }
+
+    /**
+     * Rejects empty names, unknown events and duplicates, including duplicates within the batch itself.
+     */
+    private List<Pending> validate(List<Pending> batch) {
+        // Rosters are mutated under the store's monitor, so read them under it too
+        synchronized (databaseHelper) {
+            return validateLocked(batch);
+        }
+    }
+
+    private List<Pending> validateLocked(List<Pending> batch) {
+        List<Pending> accepted = new ArrayList<>(batch.size());
+        Map<String, UniversityEvent> events = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (Pending pending : batch) {
+            Registration registration = pending.registration;
+            String fullName = registration.fullName() == null ? "" : registration.fullName().trim();
+            if (fullName.isEmpty()) {
+                reject(pending, "Participant name is required.");
+                continue;
+            }
+            UniversityEvent event = events.computeIfAbsent(registration.eventId(),
+                    id -> databaseHelper.findEventById(id).orElse(null));
+            if (event == null) {
+                reject(pending, "No event with ID " + registration.eventId());
+                continue;
+            }
+            String key = event.getEventId() + "|" + fullName.toLowerCase(Locale.ROOT);
+            if (!seen.add(key) || event.hasParticipantNamed(fullName)) {
+                reject(pending, "This participant is already registered for this event.");
+                continue;
+            }
+            if (!fullName.equals(registration.fullName())) {
+                pending.registration = new Registration(registration.eventId(), fullName, registration.type());
+            }
+            accepted.add(pending);
+        }
+        return accepted;
+    }
+
+    private void complete(Pending pending, Participant participant) {
+        completed.incrementAndGet();
+        recordLatency(System.nanoTime() - pending.submittedAt);
+        pending.result.complete(participant);
+    }
+
+    private void reject(Pending pending, String message) {
+        rejected.incrementAndGet();
+        recordLatency(System.nanoTime() - pending.submittedAt);
+        pending.result.completeExceptionally(new IllegalArgumentException(message));
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        lastCompletedAt = System.nanoTime();
+        latencies[(int) (latencyCount++ % LATENCY_SAMPLES)] = nanos;
+    }
+
+    /**
+     * Sustained throughput from the first submission to the latest completion,
+     * and p99 latency over the most recent submissions.
+     */
+    public Stats getStats() {
+        long[] sample;
+        synchronized (this) {
+            sample = Arrays.copyOf(latencies, (int) Math.min(latencyCount, LATENCY_SAMPLES));
+        }
+        Arrays.sort(sample);
+        double p99Millis = sample.length == 0 ? 0 : sample[(int) Math.ceil(sample.length * 0.99) - 1] / 1e6;
+        double seconds = (lastCompletedAt - firstSubmittedAt.get()) / 1e9;
+        long done = completed.get();
+        return new Stats(done, rejected.get(), seconds > 0 ? done / seconds : 0, p99Millis, queue.size());
+    }
+
+    /**
+     * Stops accepting work and waits for queued registrations to be committed.
+     */
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    public record Stats(long completed, long rejected, double registrationsPerSecond,
+                        double p99LatencyMillis, int queued) {
+        @Override
+        public String toString() {
+            return String.format("%d registered, %d rejected, %.0f/s, p99 %.2f ms, %d queued",
+                    completed, rejected, registrationsPerSecond, p99LatencyMillis, queued);
+        }
+    }
+
+    private static class Pending {
+        // Replaced by the trimmed form once validated
+        Registration registration;
+        final long submittedAt = System.nanoTime();
+        final CompletableFuture<Participant> result = new CompletableFuture<>();
+
+        Pending(Registration registration) {
+            this.registration = registration;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package eventmanager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends reminders for one large event to a log file and to a local SMTP stand-in that accepts every message.
+ * Usage: java -cp bin eventmanager.ReminderBenchmark [participants] [messagesPerSecond]
+ */
+public class ReminderBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int participants = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        double rate = args.length > 1 ? Double.parseDouble(args[1]) : 2_000;
+
+        UniversityEvent event = new UniversityEvent("EVT-0001", "Annual Job & Career Fair",
+                LocalDate.now().plusDays(1), LocalTime.of(10, 0), "Bintumani Conference Center", "Sam",
+                "Career Fair");
+        List<Participant> recipients = new ArrayList<>();
+        for (int i = 1; i <= participants; i++) {
+            recipients.add(new Participant(String.format("PAR-%05d", i), "Guest " + i,
+                    Participant.ParticipantType.STUDENT));
+        }
+
+        Path log = Files.createTempDirectory("reminder-bench").resolve("reminders.log");
+        try (SmtpStandIn smtp = new SmtpStandIn()) {
+            List<NotificationSink> sinks = List.of(
+                    new LogFileNotificationSink(log),
+                    new SmtpNotificationSink("localhost", smtp.getPort(), "events@example.edu",
+                            p -> p.getParticipantId().toLowerCase() + "@example.edu"));
+            ReminderDispatcher dispatcher = new ReminderDispatcher(sinks, 100, rate, 8);
+            ReminderDispatcher.Result result = dispatcher.dispatch(event, event.getDate(), recipients).join();
+            dispatcher.shutdown();
+            System.out.println(result + " (" + sinks.size() + " sinks, limit " + (int) rate + "/s per sink)");
+            System.out.println("Log lines: " + Files.readAllLines(log).size() + ", SMTP messages accepted: "
+                    + smtp.getAccepted());
+        }
+    }
+
+    /**
+     * Minimal SMTP server that acknowledges every command and counts completed messages.
+     */
+    static class SmtpStandIn implements AutoCloseable {
+        private final ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        private final AtomicInteger accepted = new AtomicInteger();
+
+        SmtpStandIn() throws IOException {
+            Thread.ofVirtual().start(() -> {
+                while (!server.isClosed()) {
+                    try {
+                        Socket socket = server.accept();
+                        Thread.ofVirtual().start(() -> serve(socket));
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        int getPort() {
+            return server.getLocalPort();
+        }
+
+        int getAccepted() {
+            return accepted.get();
+        }
+
+        private void serve(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                 BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+                reply(out, "220 stand-in ready");
+                boolean inData = false;
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (inData) {
+                        if (line.equals(".")) {
+                            inData = false;
+                            accepted.incrementAndGet();
+                            reply(out, "250 queued");
+                        }
+                    } else if (line.startsWith("DATA")) {
+                        inData = true;
+                        reply(out, "354 end with .");
+                    } else if (line.startsWith("QUIT")) {
+                        reply(out, "221 bye");
+                        return;
+                    } else {
+                        reply(out, "250 ok");
+                    }
+                }
+            } catch (IOException ignored) {
+                // client went away
+            }
+        }
+
+        private static void reply(BufferedWriter out, String line) throws IOException {
+            out.write(line);
+            out.write("\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package eventmanager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans an upcoming-event reminder out to every participant through each {@link NotificationSink}.
+ * <p>
+ * Recipients are split into batches and every batch is sent on its own virtual thread. Per sink, a token
+ * bucket caps the message rate and a semaphore caps concurrent batches (e.g. open SMTP connections).
+ * A failed batch is retried once, from the first reminder the sink had not dealt with; reminders a sink
+ * refused for good are reported and not retried.
+ */
+public class ReminderDispatcher {
+    private static final Duration RETRY_DELAY = Duration.ofMillis(500);
+
+    /**
+     * {@code delivered} and {@code failed} count messages across all sinks, so each recipient counts once per sink;
+     * {@code rejected} are the failed ones a sink refused for good.
+     */
+    public record Result(int recipients, int delivered, int failed, int rejected, long elapsedMillis) {
+        @Override
+        public String toString() {
+            return String.format("%d recipient(s): %d message(s) delivered, %d failed (%d rejected) in %d ms",
+                    recipients, delivered, failed, rejected, elapsedMillis);
+        }
+    }
+
+    private final List<NotificationSink> sinks;
+    private final int batchSize;
+    private final Map<NotificationSink, TokenBucket> rateLimits = new HashMap<>();
+    private final Map<NotificationSink, Semaphore> batchLimits = new HashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ReminderDispatcher(List<NotificationSink> sinks) {
+        this(sinks, 100, 2_000, 8);
+    }
+
+    public ReminderDispatcher(List<NotificationSink> sinks, int batchSize, double messagesPerSecond,
+                              int maxConcurrentBatches) {
+        if (batchSize < 1 || messagesPerSecond <= 0 || maxConcurrentBatches < 1) {
+            throw new IllegalArgumentException("Batch size, rate and concurrency must be positive.");
+        }
+        this.sinks = List.copyOf(sinks);
+        this.batchSize = batchSize;
+        for (NotificationSink sink : this.sinks) {
+            rateLimits.put(sink, new TokenBucket(messagesPerSecond, Math.max(batchSize, messagesPerSecond)));
+            batchLimits.put(sink, new Semaphore(maxConcurrentBatches));
+        }
+    }
+
+    /**
+     * Sends a reminder about {@code event} on {@code day} to each of {@code recipients}; the future
+     * completes once every sink has handled every batch.
+     */
+    public CompletableFuture<Result> dispatch(UniversityEvent event, LocalDate day, List<Participant> recipients) {
+        long start = System.nanoTime();
+        LocalDateTime startsAt = LocalDateTime.of(day, event.getTime());
+        List<NotificationSink.Reminder> reminders = new ArrayList<>(recipients.size());
+        String eventId = event.getEventId();
+        String eventName = event.getName();
+        String venue = event.getVenue();
+        if (recipients instanceof ParticipantRoster roster) {
+            for (int i = 0; i < roster.size(); i++) {
+                reminders.add(new NotificationSink.Reminder(eventId, eventName, startsAt, venue,
+                        new Participant(roster.idAt(i), roster.nameAt(i), roster.typeAt(i))));
+            }
+        } else {
+            for (Participant participant : recipients) {
+                reminders.add(new NotificationSink.Reminder(eventId, eventName, startsAt, venue, participant));
+            }
+        }
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < reminders.size(); from += batchSize) {
+            List<NotificationSink.Reminder> batch = reminders.subList(from, Math.min(from + batchSize, reminders.size()));
+            for (NotificationSink sink : sinks) {
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    int[] outcome = sendWithRetry(sink, batch);
+                    delivered.addAndGet(outcome[0]);
+                    failed.addAndGet(batch.size() - outcome[0]);
+                    rejected.addAndGet(outcome[1]);
+                }, executor));
+            }
+        }
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> new Result(recipients.size(), delivered.get(), failed.get(), rejected.get(),
+                        (System.nanoTime() - start) / 1_000_000));
+    }
+
+    /**
+     * Returns how many reminders of {@code batch} were delivered and how many the sink refused for good.
+     */
+    private int[] sendWithRetry(NotificationSink sink, List<NotificationSink.Reminder> batch) {
+        Semaphore slots = batchLimits.get(sink);
+        int[] outcome = {0, 0};
+        List<NotificationSink.Reminder> pending = batch;
+        try {
+            slots.acquire();
+            try {
+                TokenBucket rate = rateLimits.get(sink);
+                for (int attempt = 0; ; attempt++) {
+                    // A retry sends its messages again, so it pays for them again
+                    rate.acquire(pending.size());
+                    try {
+                        List<NotificationSink.Reminder> refused = sink.send(pending);
+                        reject(sink, refused, outcome);
+                        outcome[0] += pending.size() - refused.size();
+                        return outcome;
+                    } catch (NotificationSink.PartialSendException e) {
+                        reject(sink, e.rejected(), outcome);
+                        outcome[0] += e.handled() - e.rejected().size();
+                        pending = pending.subList(e.handled(), pending.size());
+                        if (attempt > 0) {
+                            System.err.println("Reminder sink " + sink.getName() + " failed: " + e.getMessage());
+                            return outcome;
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        if (attempt > 0) {
+                            System.err.println("Reminder sink " + sink.getName() + " failed: " + e.getMessage());
+                            return outcome;
+                        }
+                    }
+                    Thread.sleep(RETRY_DELAY);
+                }
+            } finally {
+                slots.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return outcome;
+        }
+    }
+
+    private static void reject(NotificationSink sink, List<NotificationSink.Reminder> refused, int[] outcome) {
+        for (NotificationSink.Reminder reminder : refused) {
+            System.err.println("Reminder sink " + sink.getName() + " refused " + reminder.recipient().getParticipantId()
+                    + " for " + reminder.eventId());
+        }
+        outcome[1] += refused.size();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Tokens accrue at a fixed rate up to a burst size; a caller may overdraw and then sleeps off the debt,
+     * so concurrent callers are served in arrival order without holding a lock while waiting.
+     */
+    private static class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(double perSecond, double capacity) {
+            this.tokensPerNano = perSecond / 1e9;
+            this.capacity = capacity;
+            this.tokens = capacity;
+        }
+
+        void acquire(int permits) throws InterruptedException {
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+                refilledAt = now;
+                tokens -= permits;
+                waitNanos = tokens < 0 ? (long) (-tokens / tokensPerNano) : 0;
+            }
+            if (waitNanos > 0) {
+                Thread.sleep(Duration.ofNanos(waitNanos));
+            }
+        }
+    }
+}
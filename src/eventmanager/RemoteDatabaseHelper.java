@@ -0,0 +1,459 @@
+package eventmanager;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * {@link DatabaseHelper} that forwards every operation to a shared {@link EventService}.
+ * Returned events are cached by ID and patched in place, so the UI keeps working with the same instances.
+ */
+public class RemoteDatabaseHelper extends DatabaseHelper {
+    private final URI baseUri;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, UniversityEvent> cache = new HashMap<>();
+
+    public RemoteDatabaseHelper(String baseUrl) {
+        super(false);
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+    }
+
+    @Override
+    public synchronized List<UniversityEvent> loadEvents() {
+        return adopt(fetchEvents());
+    }
+
+    /**
+     * Every event as the service has it now, without touching the cache, so it can run on a background thread
+     * while the UI keeps using this helper; {@link #adopt} then takes the result over.
+     */
+    public List<UniversityEvent> fetchEvents() {
+        return JsonCodec.readEvents(send("GET", "events", null));
+    }
+
+    /**
+     * Takes over events returned by {@link #fetchEvents()}: cached instances are updated in place and events the
+     * service no longer has are dropped. Returns the cached instances in the service's order.
+     */
+    public synchronized List<UniversityEvent> adopt(List<UniversityEvent> fresh) {
+        Map<String, UniversityEvent> seen = new LinkedHashMap<>();
+        for (UniversityEvent event : fresh) {
+            seen.put(key(event.getEventId()), merge(event));
+        }
+        cache.keySet().retainAll(seen.keySet());
+        return new ArrayList<>(seen.values());
+    }
+
+    @Override
+    public synchronized void saveEvents(List<UniversityEvent> events) {
+        send("PUT", "events", JsonCodec.writeEvents(events));
+    }
+
+    /**
+     * The service announces the differences to its own listeners; here the cache is brought up to date.
+     */
+    @Override
+    public synchronized void replaceEvents(List<UniversityEvent> replacement) {
+        saveEvents(replacement);
+        loadEvents();
+    }
+
+    /**
+     * The service recovers its own file; there is nothing local to report.
+     */
+    @Override
+    public synchronized RecoveryReport getRecoveryReport() {
+        return null;
+    }
+
+    // Not synchronized: it reads no cached state, so a background poll never holds up the UI's calls
+    @Override
+    public long getRevision() {
+        Object revision = JsonCodec.readObject(send("GET", "revision", null)).get("revision");
+        return ((Number) revision).longValue();
+    }
+
+    @Override
+    public synchronized Optional<UniversityEvent> findEventById(String eventId) {
+        try {
+            return Optional.of(merge(JsonCodec.readEvent(send("GET", "events/" + encode(eventId), null))));
+        } catch (NoSuchElementException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Venue, category and dates are filtered by the service; a {@link EventQuery#matching} condition is applied
+     * here, so a page may come back shorter than the page size. Rosterless results are not merged into the cache.
+     */
+    @Override
+    public synchronized EventQuery.Page queryEvents(EventQuery query, String cursor) {
+        StringBuilder path = new StringBuilder("events/query?");
+        query.toParameters().forEach((name, value) -> path.append(name).append('=').append(encode(value)).append('&'));
+        if (cursor != null) {
+            path.append("after=").append(encode(cursor)).append('&');
+        }
+        path.setLength(path.length() - 1);
+        EventQuery.Page page = JsonCodec.readPage(send("GET", path.toString(), null));
+        List<UniversityEvent> events = new ArrayList<>(page.events().size());
+        for (UniversityEvent event : page.events()) {
+            if (query.testLocally(event)) {
+                events.add(query.includesParticipants() ? merge(event) : event);
+            }
+        }
+        return new EventQuery.Page(events, page.nextCursor());
+    }
+
+    /**
+     * Seats as the service counts them, since it alone holds the seat ledger and venue capacities.
+     */
+    @Override
+    public int seatsLeft(String eventId) {
+        try {
+            Object seats = JsonCodec.readObject(send("GET", "events/" + encode(eventId) + "/seats", null))
+                    .get("seatsLeft");
+            return seats instanceof Number number ? number.intValue() : -1;
+        } catch (NoSuchElementException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * A desk connected to a service keeps nothing on disk, so there is no file for logs or watchers to sit next to.
+     */
+    @Override
+    public Path getDataFile() {
+        throw new UnsupportedOperationException("A desk connected to an event service has no data file.");
+    }
+
+    @Override
+    public synchronized List<Participant> loadParticipants(String eventId) {
+        return JsonCodec.readParticipants(send("GET", "events/" + encode(eventId) + "/participants", null));
+    }
+
+    @Override
+    public synchronized boolean hasConflictingEvent(String eventId, LocalDate date, String venue) {
+        String path = "events/" + encode(eventId) + "/conflicts?date=" + date + "&venue=" + encode(venue);
+        return Boolean.TRUE.equals(JsonCodec.readObject(send("GET", path, null)).get("conflict"));
+    }
+
+    @Override
+    public synchronized void addEvent(UniversityEvent event) {
+        send("POST", "events", JsonCodec.writeEvent(event));
+        cache.put(key(event.getEventId()), event);
+        getEventBus().publish(new DomainEvent.EventAdded(event));
+    }
+
+    /**
+     * Sends the batch in one request, so the service adds all of it or, on a clash or taken ID, none of it.
+     */
+    @Override
+    public synchronized void addEvents(List<UniversityEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        send("POST", "events/additions", JsonCodec.writeEvents(batch));
+        for (UniversityEvent event : batch) {
+            cache.put(key(event.getEventId()), event);
+            getEventBus().publish(new DomainEvent.EventAdded(event));
+        }
+    }
+
+    /**
+     * Screened by the service against its own schedule in one request, so another desk cannot slip an event in
+     * between the check and the additions.
+     */
+    @Override
+    public synchronized List<String> importEvents(List<UniversityEvent> batch) {
+        if (batch.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> problems = JsonCodec.readStrings(send("POST", "events/imports", JsonCodec.writeEvents(batch)));
+        for (int i = 0; i < batch.size(); i++) {
+            if (problems.get(i) == null) {
+                UniversityEvent event = batch.get(i);
+                cache.put(key(event.getEventId()), event);
+                getEventBus().publish(new DomainEvent.EventAdded(event));
+            }
+        }
+        return problems;
+    }
+
+    @Override
+    public synchronized List<UniversityEvent> updateMatching(Predicate<UniversityEvent> filter,
+                                                             Consumer<UniversityEvent> change) {
+        List<UniversityEvent> changed = new ArrayList<>();
+        for (UniversityEvent event : loadEvents()) {
+            if (filter.test(event)) {
+                String previousId = event.getEventId();
+                UniversityEvent edited = JsonCodec.readEvent(JsonCodec.writeEvent(event));
+                change.accept(edited);
+                changed.add(updateEvent(previousId, edited));
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public synchronized UniversityEvent updateEvent(String eventId, long expectedVersion, UniversityEvent changes) {
+        UniversityEvent updated = JsonCodec.readEvent(
+                send("PUT", "events/" + encode(eventId), JsonCodec.writeEvent(changes), expectedVersion));
+        UniversityEvent local = cache.remove(key(eventId));
+        UniversityEvent result;
+        if (local == null) {
+            cache.put(key(updated.getEventId()), updated);
+            result = updated;
+        } else {
+            cache.put(key(updated.getEventId()), local);
+            result = merge(updated);
+        }
+        getEventBus().publish(new DomainEvent.EventUpdated(result, eventId));
+        return result;
+    }
+
+    @Override
+    public synchronized List<UniversityEvent> updateEvents(List<UniversityEvent> changes) {
+        List<UniversityEvent> updated = new ArrayList<>();
+        for (UniversityEvent received : JsonCodec.readEvents(
+                send("POST", "events/updates", JsonCodec.writeEvents(changes)))) {
+            updated.add(merge(received));
+        }
+        updated.forEach(event -> getEventBus().publish(new DomainEvent.EventUpdated(event, event.getEventId())));
+        return updated;
+    }
+
+    @Override
+    public synchronized List<UniversityEvent> deleteEvents(Collection<String> eventIds) {
+        send("POST", "events/deletions", JsonCodec.writeStrings(eventIds));
+        List<UniversityEvent> deleted = new ArrayList<>();
+        for (String eventId : eventIds) {
+            UniversityEvent local = cache.remove(key(eventId));
+            if (local != null) {
+                deleted.add(local);
+            }
+        }
+        deleted.forEach(event -> getEventBus().publish(new DomainEvent.EventDeleted(event)));
+        return deleted;
+    }
+
+    @Override
+    public synchronized void deleteEvent(String eventId) {
+        send("DELETE", "events/" + encode(eventId), null);
+        UniversityEvent local = cache.remove(key(eventId));
+        if (local != null) {
+            getEventBus().publish(new DomainEvent.EventDeleted(local));
+        }
+    }
+
+    @Override
+    public synchronized Participant registerParticipant(String eventId, long expectedVersion, String fullName,
+                                                        Participant.ParticipantType type) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("fullName", fullName);
+        body.put("type", type.name());
+        Participant participant = JsonCodec.readParticipant(
+                send("POST", "events/" + encode(eventId) + "/participants", JsonCodec.writeObject(body),
+                        expectedVersion));
+        UniversityEvent local = cache.get(key(eventId));
+        if (local != null) {
+            addLocally(local, participant);
+        }
+        return participant;
+    }
+
+    @Override
+    public synchronized List<Participant> registerParticipants(List<Registration> batch) {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < batch.size(); i++) {
+            Registration registration = batch.get(i);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("eventId", registration.eventId());
+            entry.put("fullName", registration.fullName());
+            entry.put("type", registration.type().name());
+            body.append(i > 0 ? "," : "").append(JsonCodec.writeObject(entry));
+        }
+        List<Participant> registered = JsonCodec.readParticipants(
+                send("POST", "events/registrations", body.append(']').toString()));
+        for (int i = 0; i < registered.size(); i++) {
+            Participant participant = registered.get(i);
+            if (participant == null) {
+                continue;
+            }
+            UniversityEvent local = cache.get(key(batch.get(i).eventId()));
+            if (local != null) {
+                addLocally(local, participant);
+            }
+        }
+        return registered;
+    }
+
+    @Override
+    public synchronized void removeParticipant(String eventId, String participantId) {
+        send("DELETE", "events/" + encode(eventId) + "/participants/" + encode(participantId), null);
+        UniversityEvent local = cache.get(key(eventId));
+        if (local == null) {
+            return;
+        }
+        List<Participant> before = new ArrayList<>(local.getParticipants());
+        List<Participant> waitingBefore = new ArrayList<>(local.getWaitlist());
+        // The service may have promoted someone from the waitlist into the freed seat
+        findEventById(eventId);
+        Set<String> beforeIds = idsOf(before);
+        Set<String> afterIds = idsOf(local.getParticipants());
+        Set<String> waitingAfterIds = idsOf(local.getWaitlist());
+        for (Participant participant : before) {
+            if (!afterIds.contains(participant.getParticipantId())) {
+                getEventBus().publish(new DomainEvent.ParticipantRemoved(local, participant));
+            }
+        }
+        for (Participant waiting : waitingBefore) {
+            if (!waitingAfterIds.contains(waiting.getParticipantId())) {
+                getEventBus().publish(new DomainEvent.LeftWaitlist(local, waiting));
+            }
+        }
+        for (Participant participant : local.getParticipants()) {
+            if (!beforeIds.contains(participant.getParticipantId())) {
+                getEventBus().publish(new DomainEvent.ParticipantAdded(local, participant));
+            }
+        }
+    }
+
+    private static Set<String> idsOf(List<Participant> participants) {
+        Set<String> ids = new HashSet<>(participants.size() * 2);
+        for (Participant participant : participants) {
+            ids.add(participant.getParticipantId());
+        }
+        return ids;
+    }
+
+    /**
+     * Mirrors a registration the service accepted, onto the roster or the waitlist as the service decided.
+     */
+    private void addLocally(UniversityEvent local, Participant participant) {
+        local.nextVersion();
+        if (participant.getParticipantId().startsWith(UniversityEvent.WAITLIST_ID_PREFIX)) {
+            local.addToWaitlist(participant);
+            getEventBus().publish(new DomainEvent.Waitlisted(local, participant));
+        } else {
+            local.addParticipant(participant);
+            getEventBus().publish(new DomainEvent.ParticipantAdded(local, participant));
+        }
+    }
+
+    /**
+     * Copies a freshly received event onto the cached instance with the same ID, or caches it if new.
+     */
+    private UniversityEvent merge(UniversityEvent received) {
+        UniversityEvent local = cache.get(key(received.getEventId()));
+        if (local == null) {
+            cache.put(key(received.getEventId()), received);
+            return received;
+        }
+        local.setEventId(received.getEventId());
+        local.setName(received.getName());
+        local.setDate(received.getDate());
+        local.setTime(received.getTime());
+        local.setVenue(received.getVenue());
+        local.setOrganizer(received.getOrganizer());
+        local.setCategory(received.getCategory());
+        local.setRecurrence(received.getRecurrence());
+        local.setCapacity(received.getCapacity());
+        local.setVersion(received.getVersion());
+        for (Participant participant : new ArrayList<>(local.getParticipants())) {
+            local.removeParticipant(participant);
+        }
+        received.getParticipants().forEach(local::addParticipant);
+        for (Participant waiting : new ArrayList<>(local.getWaitlist())) {
+            local.removeFromWaitlist(waiting.getParticipantId());
+        }
+        received.getWaitlist().forEach(local::addToWaitlist);
+        return local;
+    }
+
+    private String send(String method, String path, String body) {
+        return send(method, path, body, ANY_VERSION);
+    }
+
+    /**
+     * Sends a request, with an {@code If-Match} header unless {@code expectedVersion} is {@link #ANY_VERSION}.
+     */
+    private String send(String method, String path, String body, long expectedVersion) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json; charset=utf-8");
+        if (expectedVersion != ANY_VERSION) {
+            request.header("If-Match", Long.toString(expectedVersion));
+        }
+        request.method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to reach event service at " + baseUri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while contacting event service", e);
+        }
+        int status = response.statusCode();
+        if (status >= 200 && status < 300) {
+            return response.body();
+        }
+        if (status == 412) {
+            Map<String, Object> error = JsonCodec.readObject(response.body());
+            throw new StaleEventException((String) error.get("eventId"),
+                    ((Number) error.get("expectedVersion")).longValue(),
+                    ((Number) error.get("currentVersion")).longValue());
+        }
+        String message = errorMessage(response.body(), status);
+        if (status == 404) {
+            throw new NoSuchElementException(message);
+        }
+        if (status == 400 || status == 409) {
+            throw new IllegalArgumentException(message);
+        }
+        throw new IllegalStateException(message);
+    }
+
+    private static String errorMessage(String body, int status) {
+        try {
+            Object error = JsonCodec.readObject(body).get("error");
+            if (error != null) {
+                return error.toString();
+            }
+        } catch (IllegalArgumentException ignored) {
+            // Fall through to the generic message below.
+        }
+        return "Event service responded with HTTP " + status;
+    }
+
+    private static String key(String eventId) {
+        return eventId.toUpperCase();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
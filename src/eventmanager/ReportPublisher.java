@@ -0,0 +1,473 @@
+package eventmanager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Static HTML pages of a {@link DatabaseHelper} for an intranet site: one page per event, one per venue listing
+ * its events with participant counts, and an index of venues.
+ * <p>
+ * Changes reported on the store's {@link EventBus} are published on a background thread. Only the changed
+ * events are read (under the store's monitor); their pages, the pages of the venues they are or were held at
+ * and the index are rendered, and a page is written only when its SHA-256 differs from the one last written.
+ * A full publish starts from the hashes of the pages already on disk, so a restart rewrites nothing that is
+ * already current and removes pages of events deleted in the meantime.
+ */
+public class ReportPublisher {
+    private static final Metrics.Timer PUBLISH_TIMER = Metrics.timer("reports.publish");
+    private static final Metrics.Counter PAGES_WRITTEN = Metrics.counter("reports.pages.written");
+    private static final String INDEX_PAGE = "index.html";
+    private static final String NO_VENUE = "No venue";
+    private static final Comparator<Row> BY_START = Comparator
+            .comparing(Row::date, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Row::time, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Row::id);
+
+    // What the pages show of one event, copied under the store's monitor
+    private record Row(String id, String name, LocalDate date, LocalTime time, String repeat, String venue,
+                       String organizer, String category, int participants, int capacity, int waiting) {
+    }
+
+    private record VenueTotal(int events, int participants) {
+    }
+
+    private final DatabaseHelper databaseHelper;
+    private final Path directory;
+    // Upper-cased IDs of events added, changed or removed since the last publish
+    private final Set<String> dirtyIds = ConcurrentHashMap.newKeySet();
+    // Set while a publish is queued but not yet started, so a burst of changes is published once
+    private final AtomicBoolean queued = new AtomicBoolean();
+    private final Runnable unsubscribe;
+    private volatile ExecutorService executor;
+    // Rows last published by upper-cased event ID, or null before the first full publish
+    private Map<String, Row> rows;
+    // By venue as stored, which the venue vocabulary already keeps to one spelling; "" for events without one
+    private final Map<String, Set<String>> idsByVenue = new TreeMap<>();
+    private final Map<String, VenueTotal> venueTotals = new TreeMap<>();
+    // Page path relative to the directory -> SHA-256 of what was written there
+    private final Map<String, String> hashes = new HashMap<>();
+
+    public ReportPublisher(DatabaseHelper databaseHelper, Path directory) {
+        this.databaseHelper = databaseHelper;
+        this.directory = directory;
+        this.unsubscribe = databaseHelper.getEventBus().subscribeAll(this::markDirty);
+    }
+
+    private void markDirty(DomainEvent change) {
+        dirtyIds.add(key(change.event().getEventId()));
+        if (change instanceof DomainEvent.EventUpdated updated && updated.previousId() != null) {
+            dirtyIds.add(key(updated.previousId()));
+        }
+        ExecutorService running = executor;
+        if (running != null && queued.compareAndSet(false, true)) {
+            try {
+                running.execute(() -> {
+                    queued.set(false);
+                    publishQuietly(this::publishPending);
+                });
+            } catch (RejectedExecutionException e) {
+                // stopping: stop() publishes what is left
+            }
+        }
+    }
+
+    /**
+     * Publishes every page on a background thread, then keeps them current as the store changes.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "report-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(() -> publishQuietly(this::publishAll));
+    }
+
+    /**
+     * Stops listening and publishes whatever changed since the last publish.
+     */
+    public void stop() {
+        ExecutorService running;
+        synchronized (this) {
+            running = executor;
+            executor = null;
+        }
+        if (running != null) {
+            running.shutdown();
+            try {
+                running.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        unsubscribe.run();
+        publishPending();
+    }
+
+    private static void publishQuietly(Runnable publish) {
+        try {
+            publish.run();
+        } catch (IllegalStateException e) {
+            System.err.println("Report publishing failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Renders every page from the whole store, removes pages of events and venues that no longer exist,
+     * and returns the number of files written or deleted.
+     */
+    public synchronized int publishAll() {
+        Map<String, Row> all = new LinkedHashMap<>();
+        synchronized (databaseHelper) {
+            dirtyIds.clear();
+            for (UniversityEvent event : databaseHelper.loadEvents()) {
+                all.put(key(event.getEventId()), toRow(event));
+            }
+        }
+        hashPublishedPages();
+        rows = new HashMap<>();
+        idsByVenue.clear();
+        venueTotals.clear();
+        int changed = publishOrReset(all);
+        Set<String> current = new HashSet<>();
+        current.add(INDEX_PAGE);
+        rows.keySet().forEach(id -> current.add(eventPage(id)));
+        idsByVenue.keySet().forEach(venue -> current.add(venuePage(venue)));
+        for (String page : new ArrayList<>(hashes.keySet())) {
+            if (!current.contains(page) && deletePage(page)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Re-renders the pages affected by the events changed since the last publish and returns the number of
+     * files written or deleted; the first call publishes everything.
+     */
+    public synchronized int publishPending() {
+        if (rows == null) {
+            return publishAll();
+        }
+        Map<String, Row> changedRows = new LinkedHashMap<>();
+        synchronized (databaseHelper) {
+            for (Iterator<String> it = dirtyIds.iterator(); it.hasNext(); ) {
+                String id = it.next();
+                it.remove();
+                changedRows.put(id, databaseHelper.findEventById(id).map(this::toRow).orElse(null));
+            }
+        }
+        return changedRows.isEmpty() ? 0 : publishOrReset(changedRows);
+    }
+
+    /**
+     * Publishes {@code changedRows}; if a page cannot be written, what was published is no longer known, so the
+     * next publish starts over from the whole store and the changes taken from {@code dirtyIds} are not lost.
+     */
+    private int publishOrReset(Map<String, Row> changedRows) {
+        try {
+            return publish(changedRows);
+        } catch (RuntimeException e) {
+            rows = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Applies {@code changedRows} (null for a removed event) and renders the pages they touch.
+     */
+    private int publish(Map<String, Row> changedRows) {
+        long start = System.nanoTime();
+        FlightEvents.Report flight = new FlightEvents.Report();
+        flight.begin();
+        Set<String> venues = new TreeSet<>();
+        int changed = 0;
+        for (Map.Entry<String, Row> entry : changedRows.entrySet()) {
+            String id = entry.getKey();
+            Row row = entry.getValue();
+            Row old = row == null ? rows.remove(id) : rows.put(id, row);
+            if (old != null) {
+                venues.add(venueOf(old));
+                Set<String> before = idsByVenue.get(venueOf(old));
+                if (before != null) {
+                    before.remove(id);
+                }
+            }
+            if (row == null) {
+                changed += deletePage(eventPage(id)) ? 1 : 0;
+            } else {
+                venues.add(venueOf(row));
+                idsByVenue.computeIfAbsent(venueOf(row), v -> new HashSet<>()).add(id);
+                changed += writePage(eventPage(id), renderEvent(row)) ? 1 : 0;
+            }
+        }
+        for (String venue : venues) {
+            changed += publishVenue(venue) ? 1 : 0;
+        }
+        changed += writePage(INDEX_PAGE, renderIndex()) ? 1 : 0;
+        PUBLISH_TIMER.record(System.nanoTime() - start);
+        if (flight.shouldCommit()) {
+            flight.report = "HTML pages";
+            flight.events = changedRows.size();
+            flight.commit();
+        }
+        return changed;
+    }
+
+    private boolean publishVenue(String venue) {
+        Set<String> ids = idsByVenue.get(venue);
+        if (ids == null || ids.isEmpty()) {
+            idsByVenue.remove(venue);
+            venueTotals.remove(venue);
+            return deletePage(venuePage(venue));
+        }
+        List<Row> held = new ArrayList<>(ids.size());
+        int participants = 0;
+        for (String id : ids) {
+            Row row = rows.get(id);
+            held.add(row);
+            participants += row.participants();
+        }
+        held.sort(BY_START);
+        venueTotals.put(venue, new VenueTotal(held.size(), participants));
+        return writePage(venuePage(venue), renderVenue(venueName(venue), held));
+    }
+
+    private Row toRow(UniversityEvent event) {
+        return new Row(event.getEventId(), event.getName(), event.getDate(), event.getTime(),
+                event.isRecurring() ? event.getRecurrence().toString() : null, event.getVenue(),
+                event.getOrganizer(), event.getCategory(), event.getParticipantCount(),
+                databaseHelper.capacityOf(event), event.getWaitlist().size());
+    }
+
+    private String renderEvent(Row row) {
+        StringBuilder html = new StringBuilder(1024);
+        open(html, row.name());
+        html.append("<p><a href=\"../").append(INDEX_PAGE).append("\">All venues</a> &rsaquo; <a href=\"../")
+                .append(venuePage(venueOf(row))).append("\">").append(escape(venueName(venueOf(row))))
+                .append("</a></p>\n");
+        html.append("<h1>").append(escape(row.name())).append("</h1>\n<dl>\n");
+        field(html, "Event ID", row.id());
+        field(html, "Date", row.date() == null ? null : row.date().toString());
+        field(html, "Time", row.time() == null ? "All day" : row.time().toString());
+        if (row.repeat() != null) {
+            field(html, "Repeats", row.repeat());
+        }
+        field(html, "Venue", venueName(venueOf(row)));
+        field(html, "Organizer", row.organizer());
+        field(html, "Category", row.category());
+        field(html, "Participants", seats(row));
+        if (row.waiting() > 0) {
+            field(html, "Waitlist", String.valueOf(row.waiting()));
+        }
+        html.append("</dl>\n");
+        return close(html);
+    }
+
+    private String renderVenue(String venue, List<Row> held) {
+        StringBuilder html = new StringBuilder(256 + held.size() * 200);
+        open(html, venue);
+        html.append("<p><a href=\"../").append(INDEX_PAGE).append("\">All venues</a></p>\n");
+        html.append("<h1>").append(escape(venue)).append("</h1>\n");
+        html.append("<table>\n<tr><th>Date</th><th>Time</th><th>Event</th><th>Organizer</th><th>Category</th>")
+                .append("<th>Participants</th></tr>\n");
+        for (Row row : held) {
+            html.append("<tr><td>").append(row.date() == null ? "" : row.date())
+                    .append(row.repeat() == null ? "" : " (" + escape(row.repeat()) + ")")
+                    .append("</td><td>").append(row.time() == null ? "All day" : row.time())
+                    .append("</td><td><a href=\"../").append(eventPage(key(row.id()))).append("\">")
+                    .append(escape(row.name())).append("</a></td><td>").append(escape(row.organizer()))
+                    .append("</td><td>").append(escape(row.category()))
+                    .append("</td><td>").append(escape(seats(row))).append("</td></tr>\n");
+        }
+        html.append("</table>\n");
+        return close(html);
+    }
+
+    private String renderIndex() {
+        StringBuilder html = new StringBuilder(256 + venueTotals.size() * 120);
+        open(html, "Event Schedule");
+        int events = 0;
+        int participants = 0;
+        for (VenueTotal total : venueTotals.values()) {
+            events += total.events();
+            participants += total.participants();
+        }
+        html.append("<h1>Event Schedule</h1>\n<p>").append(events).append(" event(s), ")
+                .append(participants).append(" participant(s)</p>\n");
+        html.append("<table>\n<tr><th>Venue</th><th>Events</th><th>Participants</th></tr>\n");
+        venueTotals.forEach((venue, total) -> html.append("<tr><td><a href=\"").append(venuePage(venue))
+                .append("\">").append(escape(venueName(venue))).append("</a></td><td>").append(total.events())
+                .append("</td><td>").append(total.participants()).append("</td></tr>\n"));
+        html.append("</table>\n");
+        return close(html);
+    }
+
+    private static void open(StringBuilder html, String title) {
+        html.append("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n<meta charset=\"UTF-8\">\n<title>")
+                .append(escape(title)).append("</title>\n<style>")
+                .append("body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}")
+                .append("th,td{border:1px solid #ccc;padding:4px 8px;text-align:left}dt{font-weight:bold}")
+                .append("</style>\n</head>\n<body>\n");
+    }
+
+    private static String close(StringBuilder html) {
+        return html.append("</body>\n</html>\n").toString();
+    }
+
+    private static void field(StringBuilder html, String label, String value) {
+        html.append("<dt>").append(label).append("</dt><dd>").append(escape(value)).append("</dd>\n");
+    }
+
+    private static String seats(Row row) {
+        return row.capacity() > 0 ? row.participants() + " / " + row.capacity() : String.valueOf(row.participants());
+    }
+
+    private static String venueOf(Row row) {
+        return row.venue() == null || row.venue().isBlank() ? "" : row.venue();
+    }
+
+    private static String venueName(String venue) {
+        return venue.isEmpty() ? NO_VENUE : venue;
+    }
+
+    private static String eventPage(String id) {
+        return "events/" + fileName(id) + ".html";
+    }
+
+    private static String venuePage(String venue) {
+        return "venues/" + fileName(venue) + ".html";
+    }
+
+    /**
+     * Readable slug of {@code text} plus the start of the SHA-256 of its exact form, so keys that slug alike
+     * (e.g. {@code EVT-1/A} and {@code EVT-1-A}) still get pages of their own.
+     */
+    private static String fileName(String text) {
+        String slug = text.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+        String hash = sha256(text.getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+        return slug.isEmpty() ? hash : slug + "-" + hash;
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> sb.append("&amp;");
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '"' -> sb.append("&quot;");
+                case '\'' -> sb.append("&#39;");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes {@code html} to {@code page} unless the page already holds exactly that; returns whether it wrote.
+     */
+    private boolean writePage(String page, String html) {
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        String hash = sha256(bytes);
+        if (hash.equals(hashes.get(page))) {
+            return false;
+        }
+        Path file = directory.resolve(page);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(temp, bytes);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write report page " + page, e);
+        }
+        hashes.put(page, hash);
+        PAGES_WRITTEN.increment();
+        return true;
+    }
+
+    private boolean deletePage(String page) {
+        hashes.remove(page);
+        try {
+            return Files.deleteIfExists(directory.resolve(page));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to delete report page " + page, e);
+        }
+    }
+
+    /**
+     * Takes the hashes of the pages currently in the directory, so only pages that differ are written.
+     */
+    private void hashPublishedPages() {
+        hashes.clear();
+        List<Path> pages = new ArrayList<>();
+        pages.add(directory.resolve(INDEX_PAGE));
+        for (String folder : List.of("events", "venues")) {
+            Path dir = directory.resolve(folder);
+            if (Files.isDirectory(dir)) {
+                try (Stream<Path> files = Files.list(dir)) {
+                    files.filter(file -> file.getFileName().toString().endsWith(".html")).forEach(pages::add);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to list report pages in " + dir, e);
+                }
+            }
+        }
+        for (Path page : pages) {
+            if (Files.isRegularFile(page)) {
+                try {
+                    String name = directory.relativize(page).toString().replace('\\', '/');
+                    hashes.put(name, sha256(Files.readAllBytes(page)));
+                } catch (IOException e) {
+                    // Unreadable pages are simply written again
+                }
+            }
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String key(String eventId) {
+        return eventId == null ? "" : eventId.toUpperCase(Locale.ROOT);
+    }
+}
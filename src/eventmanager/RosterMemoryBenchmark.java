@@ -0,0 +1,54 @@
+package eventmanager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures retained heap of an object-per-participant list against the columnar {@link ParticipantRoster}.
+ * Usage: java -cp bin eventmanager.RosterMemoryBenchmark [participants]
+ */
+public class RosterMemoryBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        long before = usedHeap();
+        List<Participant> objects = new ArrayList<>();
+        fill(objects, count);
+        long objectBytes = usedHeap() - before;
+        int keepObjects = objects.size();
+        objects = null;
+
+        before = usedHeap();
+        ParticipantRoster roster = new ParticipantRoster();
+        fill(roster, count);
+        long rosterBytes = usedHeap() - before;
+
+        System.out.printf("participants=%d%n", count);
+        System.out.printf("ArrayList<Participant>: %,d bytes (%.1f per participant)%n",
+                objectBytes, (double) objectBytes / keepObjects);
+        System.out.printf("ParticipantRoster:      %,d bytes (%.1f per participant)%n",
+                rosterBytes, (double) rosterBytes / roster.size());
+        System.out.printf("saving: %.1f%%%n", 100.0 * (objectBytes - rosterBytes) / objectBytes);
+    }
+
+    private static void fill(List<Participant> target, int count) {
+        for (int i = 1; i <= count; i++) {
+            target.add(new Participant(ParticipantRoster.formatId(i), "Participant Number " + i,
+                    i % 5 == 0 ? Participant.ParticipantType.STAFF : Participant.ParticipantType.STUDENT));
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
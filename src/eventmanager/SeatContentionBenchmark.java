@@ -0,0 +1,84 @@
+package eventmanager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Many registrars on one hot event, each registering through a scratch store: first a single registrar, then
+ * all of them at once. Seats are decided by the lock-free {@link SeatLedger} and concurrent registrations share
+ * saves, so the saves column shows how many writes the registrations needed. Each run checks that exactly the
+ * capacity ends up on the roster and everyone else on the waitlist.
+ * Usage: java -cp bin eventmanager.SeatContentionBenchmark [threads] [capacity] [registrationsPerThread]
+ */
+public class SeatContentionBenchmark {
+    private static final String HOT = "EVT-0001";
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int perThread = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        System.out.printf("threads=%d capacity=%d%n", threads, capacity);
+
+        for (int round = 0; round < 3; round++) {
+            run(round + 1, 1, capacity, threads * perThread);
+            run(round + 1, threads, capacity, perThread);
+        }
+    }
+
+    private static void run(int round, int threads, int capacity, int perThread)
+            throws IOException, InterruptedException {
+        Path scratch = Files.createTempDirectory("seat-bench");
+        DatabaseHelper databaseHelper = new DatabaseHelper(scratch.resolve("events.dat"));
+        UniversityEvent event = new UniversityEvent(HOT, "Annual Job & Career Fair", LocalDate.now().plusDays(7),
+                LocalTime.of(10, 0), "Bintumani Conference Center", "Sam", "Career Fair");
+        event.setCapacity(capacity);
+        databaseHelper.addEvent(event);
+        AtomicInteger waitlisted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> registrars = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int desk = t;
+            registrars.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    Participant registered = databaseHelper.registerParticipant(HOT, "Desk " + desk + " Guest " + i,
+                            Participant.ParticipantType.STUDENT);
+                    if (registered.getParticipantId().startsWith(UniversityEvent.WAITLIST_ID_PREFIX)) {
+                        waitlisted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        long revision = databaseHelper.getRevision();
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread registrar : registrars) {
+            registrar.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        UniversityEvent stored = databaseHelper.findEventById(HOT).orElseThrow();
+        int requested = threads * perThread;
+        boolean consistent = stored.getParticipantCount() == Math.min(capacity, requested)
+                && stored.getWaitlist().size() == requested - stored.getParticipantCount()
+                && waitlisted.get() == stored.getWaitlist().size()
+                && databaseHelper.seatsLeft(HOT) == Math.max(0, capacity - requested);
+        System.out.printf("round %d, %2d registrar(s): %d registrations in %d ms (%,.0f/s), %d saves: "
+                        + "roster=%d waitlist=%d%s%n",
+                round, threads, requested, elapsed / 1_000_000, requested / (elapsed / 1e9),
+                databaseHelper.getRevision() - revision, stored.getParticipantCount(), stored.getWaitlist().size(),
+                consistent ? "" : " INCONSISTENT seat count");
+    }
+}
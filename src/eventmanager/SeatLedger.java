@@ -0,0 +1,124 @@
+package eventmanager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * Seat counts per event, claimed with a compare-and-set loop so registrars never block on each other or on the
+ * store to find out whether a seat is left.
+ * <p>
+ * A count is the roster size the store last reported plus the claims still in flight. A claim is either
+ * {@linkplain #commit committed} once the participant is on the roster or {@linkplain #release released}; the
+ * store then reports roster sizes through {@link #sync}, which only adds the difference, so claims in flight
+ * survive reloads. {@link DatabaseHelper} still re-checks the roster under its file lock, because other processes
+ * sharing the file take seats this ledger never sees.
+ */
+final class SeatLedger {
+
+    private static final class Seats {
+        final AtomicInteger taken;
+        // 0 means unlimited
+        volatile int capacity;
+        // Roster size at the last sync or commit; only touched under the store's lock
+        int recorded;
+
+        Seats(int count, int capacity) {
+            this.taken = new AtomicInteger(count);
+            this.recorded = count;
+            this.capacity = capacity;
+        }
+    }
+
+    private final Map<String, Seats> seats = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * Whether the store has reported its events yet; claims before that find no seats.
+     */
+    boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Takes a seat of the event stored under {@code key} unless it is full or unknown.
+     */
+    boolean tryClaim(String key) {
+        Seats entry = seats.get(key);
+        if (entry == null) {
+            return false;
+        }
+        while (true) {
+            int taken = entry.taken.get();
+            int capacity = entry.capacity;
+            if (capacity > 0 && taken >= capacity) {
+                return false;
+            }
+            if (entry.taken.compareAndSet(taken, taken + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a claim that did not end up on the roster.
+     */
+    void release(String key) {
+        Seats entry = seats.get(key);
+        if (entry != null) {
+            entry.taken.decrementAndGet();
+        }
+    }
+
+    /**
+     * Marks a claim as now being part of the roster, so the next {@link #sync} does not count it again.
+     */
+    void commit(String key) {
+        Seats entry = seats.get(key);
+        if (entry != null) {
+            entry.recorded++;
+        }
+    }
+
+    /**
+     * Seats still free, or {@link Integer#MAX_VALUE} for an event without a limit; -1 for an unknown event.
+     */
+    int seatsLeft(String key) {
+        Seats entry = seats.get(key);
+        if (entry == null) {
+            return -1;
+        }
+        int capacity = entry.capacity;
+        return capacity == 0 ? Integer.MAX_VALUE : Math.max(0, capacity - entry.taken.get());
+    }
+
+    /**
+     * Takes over the capacity and roster size of one event.
+     */
+    void sync(String key, int rosterSize, int capacity) {
+        Seats entry = seats.putIfAbsent(key, new Seats(rosterSize, capacity));
+        if (entry != null) {
+            entry.capacity = capacity;
+            entry.taken.addAndGet(rosterSize - entry.recorded);
+            entry.recorded = rosterSize;
+        }
+    }
+
+    /**
+     * Takes over every event of the store and drops the events no longer in it.
+     */
+    void syncAll(Collection<UniversityEvent> events, ToIntFunction<UniversityEvent> capacityOf) {
+        Set<String> present = new HashSet<>(events.size() * 2);
+        for (UniversityEvent event : events) {
+            String key = event.getEventId() == null ? "" : event.getEventId().toUpperCase();
+            present.add(key);
+            sync(key, event.getParticipantCount(), capacityOf.applyAsInt(event));
+        }
+        seats.keySet().retainAll(present);
+        ready = true;
+    }
+}
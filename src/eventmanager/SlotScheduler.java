@@ -0,0 +1,325 @@
+package eventmanager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Assigns clash-free date, time and venue slots to a batch of unscheduled events.
+ * <p>
+ * A greedy, most-constrained-first heuristic: events with the fewest feasible slots are placed first,
+ * each into the earliest slot on the least-used venue; an event that no longer fits may bump one earlier
+ * placement into another free slot. A recurring request needs its slot free on every occurrence up to the end
+ * of its series. Occupancy is tracked in hash sets of packed slot keys, so a full semester of a few hundred
+ * events schedules in milliseconds.
+ */
+public class SlotScheduler {
+
+    /**
+     * Whether an organizer can run an event at the given date and time.
+     */
+    public interface OrganizerAvailability {
+        OrganizerAvailability ALWAYS = (organizer, date, time) -> true;
+
+        boolean isAvailable(String organizer, LocalDate date, LocalTime time);
+    }
+
+    /**
+     * An event to place, the venues it may use and the inclusive window it must fall in.
+     */
+    public record Request(UniversityEvent event, Set<String> allowedVenues, LocalDate earliest, LocalDate latest) {
+    }
+
+    public record Result(List<UniversityEvent> scheduled, List<Request> unscheduled) {
+    }
+
+    private final List<LocalTime> slotTimes;
+    private final boolean weekdaysOnly;
+    private final OrganizerAvailability availability;
+
+    public SlotScheduler() {
+        this(defaultSlotTimes(), true, OrganizerAvailability.ALWAYS);
+    }
+
+    public SlotScheduler(List<LocalTime> slotTimes, boolean weekdaysOnly, OrganizerAvailability availability) {
+        this.slotTimes = List.copyOf(slotTimes);
+        this.weekdaysOnly = weekdaysOnly;
+        this.availability = availability;
+    }
+
+    /**
+     * Hourly slots from 09:00 to 16:00.
+     */
+    public static List<LocalTime> defaultSlotTimes() {
+        List<LocalTime> times = new ArrayList<>();
+        for (int hour = 9; hour <= 16; hour++) {
+            times.add(LocalTime.of(hour, 0));
+        }
+        return times;
+    }
+
+    /**
+     * Schedules {@code requests} around the already {@code existing} events. Placed events have their
+     * date, time and venue set; requests that cannot be placed are returned untouched.
+     */
+    public Result schedule(List<Request> requests, Collection<UniversityEvent> existing) {
+        Set<Long> venueSlots = new HashSet<>();
+        Set<Long> organizerSlots = new HashSet<>();
+        LocalDate windowStart = requests.stream().map(Request::earliest).min(LocalDate::compareTo).orElse(LocalDate.MIN);
+        LocalDate windowEnd = requests.stream().map(Request::latest).max(LocalDate::compareTo).orElse(LocalDate.MIN);
+        // A recurring request started late in its window still occupies the days its series runs on
+        LocalDate horizonEnd = windowEnd;
+        for (Request request : requests) {
+            LocalDate last = lastDay(request.event(), request.latest());
+            if (last.isAfter(horizonEnd)) {
+                horizonEnd = last;
+            }
+        }
+        for (UniversityEvent event : existing) {
+            int slot = slotTimes.indexOf(event.getTime());
+            if (slot < 0) {
+                continue;
+            }
+            // Recurring events block every occurrence inside the scheduling horizon
+            for (LocalDate day : event.occurrencesBetween(windowStart, horizonEnd)) {
+                venueSlots.add(key(day, slot, event.getVenueCode()));
+                if (event.getOrganizerCode() != Vocabulary.NONE) {
+                    organizerSlots.add(key(day, slot, event.getOrganizerCode()));
+                }
+            }
+        }
+
+        // Free slots left by the existing events; the sets are only read here, so the counts run in parallel.
+        LocalDate horizon = horizonEnd;
+        int[] flexibility = IntStream.range(0, requests.size()).parallel()
+                .map(i -> countCandidates(requests.get(i), venueSlots, organizerSlots, horizon))
+                .toArray();
+        List<Request> ordered = IntStream.range(0, requests.size()).boxed()
+                .sorted(Comparator.comparingInt(i -> flexibility[i]))
+                .map(requests::get)
+                .collect(Collectors.toList());
+
+        Map<Long, Integer> venueLoadPerDay = new HashMap<>();
+        Map<Long, Placement> placements = new HashMap<>();
+        List<UniversityEvent> scheduled = new ArrayList<>();
+        List<Request> unscheduled = new ArrayList<>();
+        for (Request request : ordered) {
+            Placement placement = findSlot(request, venueSlots, organizerSlots, venueLoadPerDay, horizonEnd);
+            if (placement == null) {
+                placement = bumpAndPlace(request, venueSlots, organizerSlots, venueLoadPerDay, placements, horizonEnd);
+            }
+            if (placement == null) {
+                unscheduled.add(request);
+                continue;
+            }
+            occupy(placement, venueSlots, organizerSlots, venueLoadPerDay);
+            placements.put(key(placement.date, placement.slot, placement.venueCode), placement);
+            scheduled.add(request.event());
+        }
+        for (Placement placement : placements.values()) {
+            UniversityEvent event = placement.request.event();
+            event.setDate(placement.date);
+            event.setTime(slotTimes.get(placement.slot));
+            event.setVenue(Vocabulary.VENUES.valueOf(placement.venueCode));
+        }
+        return new Result(scheduled, unscheduled);
+    }
+
+    private int countCandidates(Request request, Set<Long> venueSlots, Set<Long> organizerSlots,
+                                LocalDate horizonEnd) {
+        UniversityEvent event = request.event();
+        List<Integer> venues = venueCodes(request);
+        int count = 0;
+        for (LocalDate date = request.earliest(); !date.isAfter(request.latest()); date = date.plusDays(1)) {
+            if (!usableDay(date)) {
+                continue;
+            }
+            List<LocalDate> days = occupiedDays(event, date, horizonEnd);
+            for (int slot = 0; slot < slotTimes.size(); slot++) {
+                if (!organizerFree(event, days, slot, organizerSlots)) {
+                    continue;
+                }
+                for (int venue : venues) {
+                    if (venueFree(days, slot, venue, venueSlots)) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private Placement findSlot(Request request, Set<Long> venueSlots, Set<Long> organizerSlots,
+                               Map<Long, Integer> venueLoadPerDay, LocalDate horizonEnd) {
+        UniversityEvent event = request.event();
+        List<Integer> venues = venueCodes(request);
+        for (LocalDate date = request.earliest(); !date.isAfter(request.latest()); date = date.plusDays(1)) {
+            if (!usableDay(date)) {
+                continue;
+            }
+            LocalDate day = date;
+            List<LocalDate> days = occupiedDays(event, date, horizonEnd);
+            // Spread the day's events across halls: try the least-used venue first.
+            venues.sort(Comparator.comparingInt(v -> venueLoadPerDay.getOrDefault(key(day, 0, v), 0)));
+            for (int slot = 0; slot < slotTimes.size(); slot++) {
+                if (!organizerFree(event, days, slot, organizerSlots)) {
+                    continue;
+                }
+                for (int venue : venues) {
+                    if (venueFree(days, slot, venue, venueSlots)) {
+                        return new Placement(request, days, slot, venue);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean organizerFree(UniversityEvent event, List<LocalDate> days, int slot, Set<Long> organizerSlots) {
+        int organizer = event.getOrganizerCode();
+        for (LocalDate day : days) {
+            if ((organizer != Vocabulary.NONE && organizerSlots.contains(key(day, slot, organizer)))
+                    || !isAvailable(event, day, slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean venueFree(List<LocalDate> days, int slot, int venue, Set<Long> venueSlots) {
+        for (LocalDate day : days) {
+            if (venueSlots.contains(key(day, slot, venue))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Days {@code event} takes place on up to {@code horizonEnd} when its series starts on {@code start}.
+     */
+    private static List<LocalDate> occupiedDays(UniversityEvent event, LocalDate start, LocalDate horizonEnd) {
+        RecurrenceRule rule = event.getRecurrence();
+        if (rule == null) {
+            return List.of(start);
+        }
+        List<LocalDate> days = rule.occurrencesBetween(start, start, horizonEnd);
+        return days.isEmpty() ? List.of(start) : days;
+    }
+
+    /**
+     * Last day of {@code event}'s series when it starts on {@code start}; open-ended series are cut off like
+     * {@link UniversityEvent#getLastDate()} does.
+     */
+    private static LocalDate lastDay(UniversityEvent event, LocalDate start) {
+        RecurrenceRule rule = event.getRecurrence();
+        if (rule == null) {
+            return start;
+        }
+        LocalDate last = rule.lastOccurrence(start);
+        return last != null ? last : start.plusDays(RecurrenceRule.OPEN_ENDED_HORIZON_DAYS);
+    }
+
+    /**
+     * Frees one slot for {@code request} by moving an earlier placement from this batch to another free slot.
+     */
+    private Placement bumpAndPlace(Request request, Set<Long> venueSlots, Set<Long> organizerSlots,
+                                   Map<Long, Integer> venueLoadPerDay, Map<Long, Placement> placements,
+                                   LocalDate horizonEnd) {
+        LocalDate reach = lastDay(request.event(), request.latest());
+        for (Placement blocker : new ArrayList<>(placements.values())) {
+            // Only a placement on a day the request could take can be in its way
+            if (blocker.days.get(blocker.days.size() - 1).isBefore(request.earliest()) || blocker.date.isAfter(reach)
+                    || !request.allowedVenues().contains(Vocabulary.VENUES.valueOf(blocker.venueCode))) {
+                continue;
+            }
+            release(blocker, venueSlots, organizerSlots, venueLoadPerDay);
+            Placement candidate = findSlot(request, venueSlots, organizerSlots, venueLoadPerDay, horizonEnd);
+            if (candidate != null) {
+                occupy(candidate, venueSlots, organizerSlots, venueLoadPerDay);
+                Placement moved = findSlot(blocker.request, venueSlots, organizerSlots, venueLoadPerDay, horizonEnd);
+                release(candidate, venueSlots, organizerSlots, venueLoadPerDay);
+                if (moved != null) {
+                    placements.remove(key(blocker.date, blocker.slot, blocker.venueCode));
+                    occupy(moved, venueSlots, organizerSlots, venueLoadPerDay);
+                    placements.put(key(moved.date, moved.slot, moved.venueCode), moved);
+                    return candidate;
+                }
+            }
+            occupy(blocker, venueSlots, organizerSlots, venueLoadPerDay);
+        }
+        return null;
+    }
+
+    private void occupy(Placement p, Set<Long> venueSlots, Set<Long> organizerSlots,
+                        Map<Long, Integer> venueLoadPerDay) {
+        int organizer = p.request.event().getOrganizerCode();
+        for (LocalDate day : p.days) {
+            venueSlots.add(key(day, p.slot, p.venueCode));
+            if (organizer != Vocabulary.NONE) {
+                organizerSlots.add(key(day, p.slot, organizer));
+            }
+            venueLoadPerDay.merge(key(day, 0, p.venueCode), 1, Integer::sum);
+        }
+    }
+
+    private void release(Placement p, Set<Long> venueSlots, Set<Long> organizerSlots,
+                         Map<Long, Integer> venueLoadPerDay) {
+        int organizer = p.request.event().getOrganizerCode();
+        for (LocalDate day : p.days) {
+            venueSlots.remove(key(day, p.slot, p.venueCode));
+            organizerSlots.remove(key(day, p.slot, organizer));
+            venueLoadPerDay.merge(key(day, 0, p.venueCode), -1, Integer::sum);
+        }
+    }
+
+    private boolean isAvailable(UniversityEvent event, LocalDate date, int slot) {
+        return event.getOrganizer() == null || availability.isAvailable(event.getOrganizer(), date, slotTimes.get(slot));
+    }
+
+    private static List<Integer> venueCodes(Request request) {
+        List<Integer> codes = new ArrayList<>();
+        for (String venue : request.allowedVenues()) {
+            codes.add(Vocabulary.VENUES.codeOf(venue));
+        }
+        return codes;
+    }
+
+    private boolean usableDay(LocalDate date) {
+        return !weekdaysOnly || (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY);
+    }
+
+    /**
+     * Packs a day, slot index and dictionary code into one long.
+     */
+    private static long key(LocalDate date, int slot, int code) {
+        return (date.toEpochDay() << 24) | ((long) (slot & 0xFF) << 16) | (code & 0xFFFF);
+    }
+
+    private static class Placement {
+        final Request request;
+        final LocalDate date;
+        // The start date and, for a recurring request, every later occurrence up to the horizon
+        final List<LocalDate> days;
+        final int slot;
+        final int venueCode;
+
+        Placement(Request request, List<LocalDate> days, int slot, int venueCode) {
+            this.request = request;
+            this.date = days.get(0);
+            this.days = days;
+            this.slot = slot;
+            this.venueCode = venueCode;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package eventmanager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sends each reminder as a plain-text mail over SMTP, reusing one connection for a whole batch.
+ * Speaks only the commands a relay or local stand-in needs: HELO, MAIL, RCPT, DATA, QUIT.
+ */
+public class SmtpNotificationSink implements NotificationSink {
+    private static final int TIMEOUT_MILLIS = 10_000;
+
+    private final String host;
+    private final int port;
+    private final String from;
+    private final Function<Participant, String> addressOf;
+
+    /**
+     * {@code addressOf} maps a participant to a mailbox, since registrations carry no e-mail address.
+     */
+    public SmtpNotificationSink(String host, int port, String from, Function<Participant, String> addressOf) {
+        this.host = host;
+        this.port = port;
+        this.from = from;
+        this.addressOf = addressOf;
+    }
+
+    @Override
+    public String getName() {
+        return "smtp";
+    }
+
+    /**
+     * A recipient the server refuses with a 5xx reply is skipped and returned; a connection or 4xx failure
+     * part-way through throws {@link PartialSendException} counting the messages already dealt with.
+     */
+    @Override
+    public List<Reminder> send(List<Reminder> batch) throws IOException {
+        List<Reminder> rejected = new ArrayList<>();
+        int handled = 0;
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), TIMEOUT_MILLIS);
+            socket.setSoTimeout(TIMEOUT_MILLIS);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            check(reply(in), 220);
+            command(out, in, "HELO event-manager", 250);
+            for (Reminder reminder : batch) {
+                if (!deliver(out, in, reminder)) {
+                    rejected.add(reminder);
+                    command(out, in, "RSET", 250);
+                }
+                handled++;
+            }
+            try {
+                command(out, in, "QUIT", 221);
+            } catch (IOException e) {
+                // every message is through; a failed goodbye changes nothing
+            }
+        } catch (IOException e) {
+            if (handled == batch.size()) {
+                return rejected;
+            }
+            throw new PartialSendException(handled, rejected, e);
+        }
+        return rejected;
+    }
+
+    /**
+     * Sends one message; returns {@code false} if the server refused it for good.
+     */
+    private boolean deliver(BufferedWriter out, BufferedReader in, Reminder reminder) throws IOException {
+        command(out, in, "MAIL FROM:<" + singleLine(from) + ">", 250);
+        String reply = exchange(out, in, "RCPT TO:<" + singleLine(addressOf.apply(reminder.recipient())) + ">");
+        if (isPermanent(reply)) {
+            return false;
+        }
+        check(reply, 250);
+        reply = exchange(out, in, "DATA");
+        if (isPermanent(reply)) {
+            return false;
+        }
+        check(reply, 354);
+        writeMessage(out, reminder);
+        reply = exchange(out, in, ".");
+        if (isPermanent(reply)) {
+            return false;
+        }
+        check(reply, 250);
+        return true;
+    }
+
+    private void writeMessage(BufferedWriter out, Reminder reminder) throws IOException {
+        out.write("From: " + singleLine(from) + "\r\n");
+        out.write("To: " + singleLine(addressOf.apply(reminder.recipient())) + "\r\n");
+        out.write("Subject: Reminder: " + singleLine(reminder.eventName()) + "\r\n");
+        out.write("\r\n");
+        String body = "Dear " + reminder.recipient().getFullName() + ",\r\n\r\n"
+                + reminder.eventName() + " starts on " + reminder.startsAt().toLocalDate() + " at "
+                + reminder.startsAt().toLocalTime() + " in " + reminder.venue() + ".\r\n"
+                + "Your participant ID is " + reminder.recipient().getParticipantId() + ".\r\n";
+        for (String line : body.split("\r\n", -1)) {
+            // Dot-stuffing, so a line holding a single "." does not end the message early
+            out.write(line.startsWith(".") ? "." + line : line);
+            out.write("\r\n");
+        }
+    }
+
+    /**
+     * {@code value} with line breaks folded into spaces, so it cannot start a new header or command.
+     */
+    private static String singleLine(String value) {
+        return value == null ? "" : value.replaceAll("[\r\n]+", " ");
+    }
+
+    private static void command(BufferedWriter out, BufferedReader in, String line, int expected) throws IOException {
+        check(exchange(out, in, line), expected);
+    }
+
+    private static String exchange(BufferedWriter out, BufferedReader in, String line) throws IOException {
+        out.write(line);
+        out.write("\r\n");
+        out.flush();
+        return reply(in);
+    }
+
+    /**
+     * Last line of the next (possibly multi-line) reply.
+     */
+    private static String reply(BufferedReader in) throws IOException {
+        String reply;
+        do {
+            reply = in.readLine();
+            if (reply == null) {
+                throw new IOException("SMTP server closed the connection");
+            }
+        } while (reply.length() > 3 && reply.charAt(3) == '-');
+        return reply;
+    }
+
+    private static void check(String reply, int expected) throws IOException {
+        if (!reply.startsWith(Integer.toString(expected))) {
+            throw new IOException("SMTP server replied: " + reply);
+        }
+    }
+
+    private static boolean isPermanent(String reply) {
+        return reply.startsWith("5");
+    }
+}
@@ -0,0 +1,34 @@
+package eventmanager;
+
+/**
+ * Thrown by the compare-and-set operations of {@link DatabaseHelper} when the event was changed after the caller
+ * read it. Nothing was written; the caller should look at the current event and decide again. As an
+ * {@link IllegalStateException} it is still reported by code that does not handle it specifically.
+ */
+public class StaleEventException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    private final String eventId;
+    private final long expectedVersion;
+    private final long currentVersion;
+
+    public StaleEventException(String eventId, long expectedVersion, long currentVersion) {
+        super("Event " + eventId + " was changed by someone else (version " + currentVersion + ", expected "
+                + expectedVersion + "). Reload it and try again.");
+        this.eventId = eventId;
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,69 @@
+package eventmanager;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes {@link EventStatistics} by splitting the event list across a fork/join pool.
+ */
+public class StatisticsAggregator {
+    // Below this many events a slice is folded on the current thread.
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private final ForkJoinPool pool;
+
+    public StatisticsAggregator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public StatisticsAggregator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public EventStatistics aggregate(List<UniversityEvent> events) {
+        if (events.size() <= SEQUENTIAL_THRESHOLD) {
+            return aggregateSequential(events);
+        }
+        return pool.invoke(new AggregateTask(events, 0, events.size()));
+    }
+
+    public EventStatistics aggregateSequential(List<UniversityEvent> events) {
+        return fold(events, 0, events.size());
+    }
+
+    private static EventStatistics fold(List<UniversityEvent> events, int from, int to) {
+        EventStatistics stats = new EventStatistics();
+        for (int i = from; i < to; i++) {
+            stats.accept(events.get(i));
+        }
+        return stats;
+    }
+
+    private static class AggregateTask extends RecursiveTask<EventStatistics> {
+        private static final long serialVersionUID = 1L;
+
+        // Tasks never leave the pool, so the slice is not part of any serialized form
+        private final transient List<UniversityEvent> events;
+        private final int from;
+        private final int to;
+
+        AggregateTask(List<UniversityEvent> events, int from, int to) {
+            this.events = events;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected EventStatistics compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return fold(events, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(events, from, mid);
+            left.fork();
+            EventStatistics right = new AggregateTask(events, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
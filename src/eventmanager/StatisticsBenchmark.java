@@ -0,0 +1,79 @@
+package eventmanager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the sequential and fork/join statistics paths on synthetic data.
+ * Usage: java -cp bin eventmanager.StatisticsBenchmark [events] [participantsPerEvent]
+ */
+public class StatisticsBenchmark {
+    private static final String[] VENUES = Vocabulary.VENUES.seedValues();
+    private static final String[] ORGANIZERS = Vocabulary.ORGANIZERS.seedValues();
+    private static final String[] CATEGORIES = Vocabulary.CATEGORIES.seedValues();
+
+    // Every result is folded in here so the JIT cannot drop the aggregation as dead code
+    private static long sink;
+
+    public static void main(String[] args) {
+        int eventCount = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int perEvent = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        List<UniversityEvent> events = generate(eventCount, perEvent);
+        StatisticsAggregator aggregator = new StatisticsAggregator();
+
+        // Warm up both paths before measuring.
+        for (int i = 0; i < 5; i++) {
+            consume(aggregator.aggregateSequential(events));
+            consume(aggregator.aggregate(events));
+        }
+        long sequential = time(() -> consume(aggregator.aggregateSequential(events)));
+        long parallel = time(() -> consume(aggregator.aggregate(events)));
+
+        System.out.printf("events=%d participants=%d cores=%d%n",
+                eventCount, (long) eventCount * perEvent, Runtime.getRuntime().availableProcessors());
+        System.out.printf("sequential: %.2f ms%n", sequential / 1e6);
+        System.out.printf("fork/join:  %.2f ms (%.2fx)%n", parallel / 1e6, (double) sequential / parallel);
+        System.out.println("checksum: " + sink);
+    }
+
+    private static void consume(EventStatistics stats) {
+        sink += stats.getTotalParticipants() + stats.getStaffCount() + stats.getClashes().size()
+                + stats.getOrganizerLoad().size();
+    }
+
+    private static long time(Runnable task) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    static List<UniversityEvent> generate(int eventCount, int perEvent) {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.now();
+        List<UniversityEvent> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            UniversityEvent event = new UniversityEvent(
+                    String.format("EVT-%04d", i + 1),
+                    "Event " + i,
+                    start.plusDays(random.nextInt(365)),
+                    LocalTime.of(8 + random.nextInt(10), 0),
+                    VENUES[random.nextInt(VENUES.length)],
+                    ORGANIZERS[random.nextInt(ORGANIZERS.length)],
+                    CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            for (int p = 0; p < perEvent; p++) {
+                event.addParticipant(new Participant(String.format("PAR-%05d", p + 1), "Participant " + p,
+                        random.nextInt(5) == 0 ? Participant.ParticipantType.STAFF
+                                : Participant.ParticipantType.STUDENT));
+            }
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,72 @@
+package eventmanager;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Watches the directory of a {@link DatabaseHelper}'s data file and reloads the events another process
+ * saved. Saves replace the file by an atomic move, so both create and modify events are treated as a change;
+ * the helper's own saves are recognised by their generation stamp and cost only a header read.
+ */
+public class StoreWatcher implements AutoCloseable {
+    // Let a burst of events from one save settle before reading the file
+    private static final long SETTLE_MILLIS = 50;
+
+    private final DatabaseHelper databaseHelper;
+    private final Path fileName;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    public StoreWatcher(DatabaseHelper databaseHelper) throws IOException {
+        this.databaseHelper = databaseHelper;
+        Path dataFile = databaseHelper.getDataFile().toAbsolutePath();
+        this.fileName = dataFile.getFileName();
+        this.watchService = dataFile.getFileSystem().newWatchService();
+        dataFile.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::run, "store-watcher");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context());
+                }
+                key.reset();
+                if (changed) {
+                    Thread.sleep(SETTLE_MILLIS);
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private void reload() {
+        try {
+            databaseHelper.reloadIfChanged();
+        } catch (RuntimeException e) {
+            System.err.println("Unable to pick up external changes: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,38 @@
+package eventmanager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Shows one desktop notice per event occurrence, however many participants the reminder went to.
+ */
+public class TrayNotificationSink implements NotificationSink {
+    private final BiConsumer<String, String> notifier;
+    private final Set<String> shown = ConcurrentHashMap.newKeySet();
+
+    /**
+     * {@code notifier} receives a caption and a text, e.g. the frame's tray popup.
+     */
+    public TrayNotificationSink(BiConsumer<String, String> notifier) {
+        this.notifier = notifier;
+    }
+
+    @Override
+    public String getName() {
+        return "tray";
+    }
+
+    @Override
+    public List<Reminder> send(List<Reminder> batch) {
+        for (Reminder reminder : batch) {
+            if (shown.add(reminder.eventId() + "@" + reminder.startsAt())) {
+                notifier.accept("Upcoming event: " + reminder.eventName(),
+                        reminder.startsAt().toLocalDate() + " " + reminder.startsAt().toLocalTime()
+                                + " @ " + reminder.venue());
+            }
+        }
+        return List.of();
+    }
+}
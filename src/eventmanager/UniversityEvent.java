@@ -1,26 +1,59 @@
 package eventmanager;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Represents an event with its metadata and registered participants.
+ * Venue, organizer and category are held as {@link Vocabulary} codes.
  */
 public class UniversityEvent implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    // The serialized form keeps the original String fields; codes are resolved on the way in and out.
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("eventId", String.class),
+            new ObjectStreamField("name", String.class),
+            new ObjectStreamField("date", LocalDate.class),
+            new ObjectStreamField("time", LocalTime.class),
+            new ObjectStreamField("venue", String.class),
+            new ObjectStreamField("organizer", String.class),
+            new ObjectStreamField("category", String.class),
+            new ObjectStreamField("participants", List.class),
+            new ObjectStreamField("recurrence", RecurrenceRule.class),
+            new ObjectStreamField("capacity", int.class),
+            new ObjectStreamField("waitlist", List.class)
+    };
+
+    /**
+     * Prefix of the IDs given to people on the waitlist; they get a regular participant ID when promoted.
+     */
+    public static final String WAITLIST_ID_PREFIX = "WL-";
+
     private String eventId;
     private String name;
     private LocalDate date;
     private LocalTime time;
-    private String venue;
-    private String organizer;
-    private String category;
-    private final List<Participant> participants = new ArrayList<>();
+    private int venueCode;
+    private int organizerCode;
+    private int categoryCode;
+    private ParticipantRoster participants = new ParticipantRoster();
+    private RecurrenceRule recurrence;
+    // Seats, or 0 to use the venue's capacity
+    private int capacity;
+    // Registrants beyond capacity, in the order they asked
+    private ArrayList<Participant> waitlist = new ArrayList<>();
+    // Not part of the serialized form: versions count changes since the store was loaded
+    private long version;
 
     public UniversityEvent(String eventId,
                            String name,
@@ -33,9 +66,18 @@ public class UniversityEvent implements Serializable {
         this.name = name;
         this.date = date;
         this.time = time;
-        this.venue = venue;
-        this.organizer = organizer;
-        this.category = category;
+        this.venueCode = Vocabulary.VENUES.codeOf(venue);
+        this.organizerCode = Vocabulary.ORGANIZERS.codeOf(organizer);
+        this.categoryCode = Vocabulary.CATEGORIES.codeOf(category);
+    }
+
+    /**
+     * Sets the vocabulary codes directly, for readers that already resolved them.
+     */
+    void setVocabularyCodes(int venueCode, int organizerCode, int categoryCode) {
+        this.venueCode = venueCode;
+        this.organizerCode = organizerCode;
+        this.categoryCode = categoryCode;
     }
 
     public String getEventId() {
@@ -71,33 +113,141 @@ public class UniversityEvent implements Serializable {
     }
 
     public String getVenue() {
-        return venue;
+        return Vocabulary.VENUES.valueOf(venueCode);
+    }
+
+    public int getVenueCode() {
+        return venueCode;
     }
 
     public void setVenue(String venue) {
-        this.venue = venue;
+        this.venueCode = Vocabulary.VENUES.codeOf(venue);
     }
 
     public String getOrganizer() {
-        return organizer;
+        return Vocabulary.ORGANIZERS.valueOf(organizerCode);
+    }
+
+    public int getOrganizerCode() {
+        return organizerCode;
     }
 
     public void setOrganizer(String organizer) {
-        this.organizer = organizer;
+        this.organizerCode = Vocabulary.ORGANIZERS.codeOf(organizer);
     }
 
     public String getCategory() {
-        return category;
+        return Vocabulary.CATEGORIES.valueOf(categoryCode);
+    }
+
+    public int getCategoryCode() {
+        return categoryCode;
     }
 
     public void setCategory(String category) {
-        this.category = category;
+        this.categoryCode = Vocabulary.CATEGORIES.codeOf(category);
+    }
+
+    /**
+     * Repeat pattern starting on {@link #getDate()}, or {@code null} for a one-off event.
+     */
+    public RecurrenceRule getRecurrence() {
+        return recurrence;
+    }
+
+    public void setRecurrence(RecurrenceRule recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    public boolean isRecurring() {
+        return recurrence != null;
+    }
+
+    public boolean occursOn(LocalDate day) {
+        if (date == null || day == null) {
+            return false;
+        }
+        return recurrence == null ? date.equals(day) : recurrence.occursOn(date, day);
+    }
+
+    /**
+     * Dates this event takes place on within {@code [from, to]}; a one-off event yields at most its own date.
+     */
+    public List<LocalDate> occurrencesBetween(LocalDate from, LocalDate to) {
+        if (date == null) {
+            return List.of();
+        }
+        if (recurrence == null) {
+            return date.isBefore(from) || date.isAfter(to) ? List.of() : List.of(date);
+        }
+        return recurrence.occurrencesBetween(date, from, to);
+    }
+
+    /**
+     * Last date of the series. An open-ended series has none, so it is expanded up to
+     * {@link RecurrenceRule#OPEN_ENDED_HORIZON_DAYS} past today (or past its start, if that is later); the horizon
+     * moves with the calendar rather than ending a year after the series began.
+     */
+    public LocalDate getLastDate() {
+        if (recurrence == null || date == null) {
+            return date;
+        }
+        LocalDate last = recurrence.lastOccurrence(date);
+        if (last != null) {
+            return last;
+        }
+        LocalDate today = LocalDate.now();
+        return (date.isAfter(today) ? date : today).plusDays(RecurrenceRule.OPEN_ENDED_HORIZON_DAYS);
+    }
+
+    /**
+     * First occurrence on or after {@code day}, or {@code null} when the event is over.
+     */
+    public LocalDate nextOccurrence(LocalDate day) {
+        if (date == null) {
+            return null;
+        }
+        if (recurrence == null) {
+            return date.isBefore(day) ? null : date;
+        }
+        return recurrence.nextOccurrence(date, day);
+    }
+
+    /**
+     * Whether both events use the same venue at the same time on at least one common date.
+     */
+    public boolean clashesWith(UniversityEvent other) {
+        if (venueCode != other.venueCode || !Objects.equals(time, other.time)
+                || date == null || other.date == null) {
+            return false;
+        }
+        if (recurrence == null) {
+            return other.occursOn(date);
+        }
+        if (other.recurrence == null) {
+            return occursOn(other.date);
+        }
+        LocalDate from = date.isAfter(other.date) ? date : other.date;
+        LocalDate to = getLastDate().isBefore(other.getLastDate()) ? getLastDate() : other.getLastDate();
+        for (LocalDate day : occurrencesBetween(from, to)) {
+            if (other.occursOn(day)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public List<Participant> getParticipants() {
         return Collections.unmodifiableList(participants);
     }
 
+    /**
+     * The roster itself, for loops that read its columns; callers must not modify it.
+     */
+    ParticipantRoster roster() {
+        return participants;
+    }
+
     public void addParticipant(Participant participant) {
         participants.add(participant);
     }
@@ -109,5 +259,180 @@ public class UniversityEvent implements Serializable {
     public int getParticipantCount() {
         return participants.size();
     }
-}
 
+    /**
+     * Case-insensitive check against the roster without building participant views.
+     */
+    public boolean hasParticipantNamed(String fullName) {
+        return participants.containsName(fullName);
+    }
+
+    /**
+     * Number to use for the next participant ID of this event.
+     */
+    public int nextParticipantNumber() {
+        return participants.getMaxId() + 1;
+    }
+
+    /**
+     * Seats set for this event, or 0 when the venue's capacity applies.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * People waiting for a seat, first come first served.
+     */
+    public List<Participant> getWaitlist() {
+        return Collections.unmodifiableList(waitlist);
+    }
+
+    public void addToWaitlist(Participant participant) {
+        waitlist.add(participant);
+    }
+
+    public boolean removeFromWaitlist(String participantId) {
+        return waitlist.removeIf(p -> p.getParticipantId().equalsIgnoreCase(participantId));
+    }
+
+    /**
+     * Takes the longest-waiting person off the waitlist, or returns {@code null} if nobody is waiting.
+     */
+    public Participant pollWaitlist() {
+        return waitlist.isEmpty() ? null : waitlist.remove(0);
+    }
+
+    public boolean isWaitlisted(String fullName) {
+        return waitlist.stream().anyMatch(p -> p.getFullName().equalsIgnoreCase(fullName));
+    }
+
+    /**
+     * Number to use for the next waitlist ID of this event.
+     */
+    public int nextWaitlistNumber() {
+        int max = 0;
+        for (Participant waiting : waitlist) {
+            String id = waiting.getParticipantId();
+            try {
+                max = Math.max(max, Integer.parseInt(id.substring(WAITLIST_ID_PREFIX.length())));
+            } catch (RuntimeException e) {
+                // not a number we handed out
+            }
+        }
+        return max + 1;
+    }
+
+    /**
+     * Number of changes the store has made to this event since it loaded it. Compare-and-set operations in
+     * {@link DatabaseHelper} take the version the caller last saw and refuse to write if it moved on.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    void setVersion(long version) {
+        this.version = version;
+    }
+
+    void nextVersion() {
+        version++;
+    }
+
+    /**
+     * Takes over every field and the roster of {@code other}, e.g. a freshly read copy of this event.
+     */
+    public void copyFrom(UniversityEvent other) {
+        eventId = other.eventId;
+        name = other.name;
+        date = other.date;
+        time = other.time;
+        venueCode = other.venueCode;
+        organizerCode = other.organizerCode;
+        categoryCode = other.categoryCode;
+        recurrence = other.recurrence;
+        participants = new ParticipantRoster(other.participants);
+        capacity = other.capacity;
+        waitlist = new ArrayList<>(other.waitlist);
+    }
+
+    /**
+     * Copy of every field, the roster and the version, for {@link #restore} to put back.
+     */
+    UniversityEvent snapshot() {
+        UniversityEvent copy = copyWithoutParticipants();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Returns this event to the state a {@link #snapshot} was taken in.
+     */
+    void restore(UniversityEvent snapshot) {
+        copyFrom(snapshot);
+        version = snapshot.version;
+    }
+
+    /**
+     * New event with the same details and version and an empty roster, e.g. to stage an edit before it is stored.
+     */
+    public UniversityEvent copyWithoutParticipants() {
+        UniversityEvent copy = new UniversityEvent(eventId, name, date, time, null, null, null);
+        copy.venueCode = venueCode;
+        copy.organizerCode = organizerCode;
+        copy.categoryCode = categoryCode;
+        copy.recurrence = recurrence;
+        copy.capacity = capacity;
+        copy.version = version;
+        return copy;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("eventId", eventId);
+        fields.put("name", name);
+        fields.put("date", date);
+        fields.put("time", time);
+        // Canonical instances are written once per stream and back-referenced by handle afterwards
+        fields.put("venue", getVenue());
+        fields.put("organizer", getOrganizer());
+        fields.put("category", getCategory());
+        fields.put("participants", participants);
+        fields.put("recurrence", recurrence);
+        fields.put("capacity", capacity);
+        fields.put("waitlist", waitlist);
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        eventId = (String) fields.get("eventId", null);
+        name = (String) fields.get("name", null);
+        date = (LocalDate) fields.get("date", null);
+        time = (LocalTime) fields.get("time", null);
+        venueCode = Vocabulary.VENUES.codeOf((String) fields.get("venue", null));
+        organizerCode = Vocabulary.ORGANIZERS.codeOf((String) fields.get("organizer", null));
+        categoryCode = Vocabulary.CATEGORIES.codeOf((String) fields.get("category", null));
+        List<Participant> stored = (List<Participant>) fields.get("participants", null);
+        if (stored instanceof ParticipantRoster) {
+            participants = (ParticipantRoster) stored;
+        } else {
+            // Files written before the columnar roster hold a plain ArrayList
+            participants = stored == null ? new ParticipantRoster() : new ParticipantRoster(stored);
+        }
+        // Absent in files written before recurring events, which then read as one-off events
+        recurrence = (RecurrenceRule) fields.get("recurrence", null);
+        // Absent before capacities: no own limit and nobody waiting
+        capacity = fields.get("capacity", 0);
+        List<Participant> waiting = (List<Participant>) fields.get("waitlist", null);
+        waitlist = waiting == null ? new ArrayList<>() : new ArrayList<>(waiting);
+    }
+}
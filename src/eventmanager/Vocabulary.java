@@ -0,0 +1,94 @@
+package eventmanager;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared dictionary mapping the small venue, organizer and category vocabularies to integer codes.
+ * Codes are case-insensitive and every value resolves to one canonical String instance.
+ * <p>
+ * Values are never removed, so only values that end up on an event should go through {@link #codeOf};
+ * lookups such as filters and clash probes use {@link #find}, which never adds.
+ */
+public final class Vocabulary {
+    public static final int NONE = -1;
+
+    public static final Vocabulary VENUES = new Vocabulary(
+            "Gallery", "Library", "Innovation Hub", "Bintumani Conference Center");
+    public static final Vocabulary ORGANIZERS = new Vocabulary(
+            "Sam", "Ruben", "Mtheus", "Bruno");
+    public static final Vocabulary CATEGORIES = new Vocabulary(
+            "Seminar", "Sports", "Workshop", "Cultural Show", "Exhibition", "Orientation", "Career Fair");
+
+    private final String[] seeds;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    // Grows by doubling; a slot is filled before its code is published in codes
+    private volatile String[] values = new String[16];
+    private int size;
+
+    private Vocabulary(String... seeds) {
+        this.seeds = seeds.clone();
+        for (String seed : seeds) {
+            codeOf(seed);
+        }
+    }
+
+    /**
+     * Code for {@code value}, adding it to the dictionary if it has not been seen before.
+     */
+    public int codeOf(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codes.get(key(value));
+        return code != null ? code : register(value);
+    }
+
+    /**
+     * Code for {@code value} if it is already in the dictionary, otherwise {@link #NONE}; never adds it.
+     */
+    public int find(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codes.get(key(value));
+        return code != null ? code : NONE;
+    }
+
+    private synchronized int register(String value) {
+        Integer existing = codes.get(key(value));
+        if (existing != null) {
+            return existing;
+        }
+        String[] grown = size == values.length ? Arrays.copyOf(values, size * 2) : values;
+        int code = size++;
+        grown[code] = value;
+        values = grown;
+        codes.put(key(value), code);
+        return code;
+    }
+
+    public String valueOf(int code) {
+        return code == NONE ? null : values[code];
+    }
+
+    /**
+     * Canonical instance for {@code value}, so equal strings share one reference.
+     */
+    public String intern(String value) {
+        return valueOf(codeOf(value));
+    }
+
+    /**
+     * The built-in values offered by the editor's dropdowns, in display order.
+     */
+    public String[] seedValues() {
+        return seeds.clone();
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}